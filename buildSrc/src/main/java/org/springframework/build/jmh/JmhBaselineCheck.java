@@ -0,0 +1,139 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.build.jmh;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import groovy.json.JsonSlurper;
+import org.gradle.api.DefaultTask;
+import org.gradle.api.GradleException;
+import org.gradle.api.tasks.Input;
+import org.gradle.api.tasks.Internal;
+import org.gradle.api.tasks.TaskAction;
+
+/**
+ * Task that compares JMH results in JSON format against a baseline in the same format.
+ * <p>Benchmarks are matched by name and parameters. A benchmark regresses if its score
+ * is worse than the baseline score by more than the configured tolerance: lower for the
+ * throughput mode, higher for all other modes. Benchmarks without a baseline are reported
+ * but not checked.
+ *
+ * @author agent
+ */
+public class JmhBaselineCheck extends DefaultTask {
+
+	private static final String THROUGHPUT_MODE = "thrpt";
+
+	private File resultsFile;
+
+	private File baselineFile;
+
+	private double tolerance = 0.1;
+
+	public JmhBaselineCheck() {
+		// results and baseline are regular files that may not exist yet
+		getOutputs().upToDateWhen(task -> false);
+	}
+
+	@Internal
+	public File getResultsFile() {
+		return this.resultsFile;
+	}
+
+	public void setResultsFile(File resultsFile) {
+		this.resultsFile = resultsFile;
+	}
+
+	@Internal
+	public File getBaselineFile() {
+		return this.baselineFile;
+	}
+
+	public void setBaselineFile(File baselineFile) {
+		this.baselineFile = baselineFile;
+	}
+
+	@Input
+	public double getTolerance() {
+		return this.tolerance;
+	}
+
+	public void setTolerance(double tolerance) {
+		this.tolerance = tolerance;
+	}
+
+	@TaskAction
+	public void compare() {
+		if (!this.resultsFile.exists()) {
+			throw new GradleException("No JMH results found at " + this.resultsFile + ": run the 'jmh' task first");
+		}
+		if (!this.baselineFile.exists()) {
+			getLogger().lifecycle("No JMH baseline found at {}, skipping comparison", this.baselineFile);
+			return;
+		}
+		Map<String, Map<String, Object>> baseline = readResults(this.baselineFile);
+		List<String> regressions = new ArrayList<>();
+		readResults(this.resultsFile).forEach((key, result) -> {
+			Map<String, Object> baselineResult = baseline.get(key);
+			double score = getScore(result);
+			if (baselineResult == null) {
+				getLogger().lifecycle("{}: {} (no baseline)", key, score);
+				return;
+			}
+			double baselineScore = getScore(baselineResult);
+			double change = (baselineScore != 0 ? (score - baselineScore) / baselineScore : 0);
+			boolean throughput = THROUGHPUT_MODE.equals(result.get("mode"));
+			boolean regression = (throughput ? change < -this.tolerance : change > this.tolerance);
+			String line = String.format("%s: %.3f vs baseline %.3f (%+.1f%%)", key, score, baselineScore, change * 100);
+			getLogger().lifecycle((regression ? "REGRESSION " : "") + line);
+			if (regression) {
+				regressions.add(line);
+			}
+		});
+		if (!regressions.isEmpty()) {
+			throw new GradleException(regressions.size() + " benchmark(s) regressed by more than " +
+					Math.round(this.tolerance * 100) + "%: " + regressions);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private Map<String, Map<String, Object>> readResults(File file) {
+		List<Map<String, Object>> results = (List<Map<String, Object>>) new JsonSlurper().parse(file);
+		Map<String, Map<String, Object>> resultsByKey = new LinkedHashMap<>();
+		for (Map<String, Object> result : results) {
+			String key = result.get("benchmark").toString();
+			Map<String, Object> params = (Map<String, Object>) result.get("params");
+			if (params != null && !params.isEmpty()) {
+				key = key + new TreeMap<>(params);
+			}
+			resultsByKey.put(key, result);
+		}
+		return resultsByKey;
+	}
+
+	@SuppressWarnings("unchecked")
+	private double getScore(Map<String, Object> result) {
+		Map<String, Object> primaryMetric = (Map<String, Object>) result.get("primaryMetric");
+		return ((Number) primaryMetric.get("score")).doubleValue();
+	}
+
+}
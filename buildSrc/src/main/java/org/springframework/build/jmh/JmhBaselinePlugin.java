@@ -0,0 +1,78 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.build.jmh;
+
+import java.io.File;
+
+import org.gradle.api.Plugin;
+import org.gradle.api.Project;
+import org.gradle.api.plugins.JavaBasePlugin;
+import org.gradle.api.tasks.Copy;
+
+/**
+ * {@link Plugin} that adds baseline tasks for projects using the
+ * {@code "me.champeau.gradle.jmh"} plugin.
+ * <p>{@code "./gradlew :spring-core:jmh :spring-core:jmhBaselineCheck"} runs the benchmarks
+ * of a module and compares the JSON results against the baseline stored in
+ * {@code "src/jmh/baseline.json"}, failing the build for regressions beyond the tolerance
+ * given with {@code "-PjmhBaselineTolerance=0.1"} (10% by default).
+ * {@code "./gradlew :spring-core:jmh :spring-core:jmhBaselineUpdate"} stores the current
+ * results as the new baseline.
+ *
+ * @author agent
+ */
+public class JmhBaselinePlugin implements Plugin<Project> {
+
+	public static final String CHECK_TASK_NAME = "jmhBaselineCheck";
+
+	public static final String UPDATE_TASK_NAME = "jmhBaselineUpdate";
+
+	private static final String TOLERANCE_PROPERTY = "jmhBaselineTolerance";
+
+	private static final String JMH_PLUGIN_ID = "me.champeau.gradle.jmh";
+
+	private static final String JMH_TASK_NAME = "jmh";
+
+	@Override
+	public void apply(Project project) {
+		project.getPluginManager().withPlugin(JMH_PLUGIN_ID, plugin -> createBaselineTasks(project));
+	}
+
+	private void createBaselineTasks(Project project) {
+		File resultsFile = new File(project.getBuildDir(), "reports/jmh/results.json");
+		File baselineFile = project.file("src/jmh/baseline.json");
+		project.getTasks().register(CHECK_TASK_NAME, JmhBaselineCheck.class, check -> {
+			check.setDescription("Compares the JMH results against the stored baseline");
+			check.setGroup(JavaBasePlugin.VERIFICATION_GROUP);
+			check.setResultsFile(resultsFile);
+			check.setBaselineFile(baselineFile);
+			if (project.hasProperty(TOLERANCE_PROPERTY)) {
+				check.setTolerance(Double.parseDouble(project.property(TOLERANCE_PROPERTY).toString()));
+			}
+			check.mustRunAfter(JMH_TASK_NAME);
+		});
+		project.getTasks().register(UPDATE_TASK_NAME, Copy.class, update -> {
+			update.setDescription("Stores the JMH results as the new baseline");
+			update.setGroup(JavaBasePlugin.VERIFICATION_GROUP);
+			update.from(resultsFile);
+			update.into(baselineFile.getParentFile());
+			update.rename(name -> baselineFile.getName());
+			update.mustRunAfter(JMH_TASK_NAME);
+		});
+	}
+
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for property access through {@link BeanWrapperImpl}, covering
+ * primitive, String and nested properties as used in data binding.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class BeanWrapperBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Person target;
+
+		public BeanWrapperImpl beanWrapper;
+
+		@Setup
+		public void setup() {
+			this.target = new Person();
+			this.target.setAddress(new Address());
+			this.beanWrapper = new BeanWrapperImpl(this.target);
+		}
+	}
+
+
+	@Benchmark
+	public Person setPrimitiveProperty(BenchmarkState state) {
+		state.beanWrapper.setPropertyValue("age", 42);
+		return state.target;
+	}
+
+	@Benchmark
+	public Person setPrimitivePropertyFromString(BenchmarkState state) {
+		state.beanWrapper.setPropertyValue("age", "42");
+		return state.target;
+	}
+
+	@Benchmark
+	public Object getPrimitiveProperty(BenchmarkState state) {
+		return state.beanWrapper.getPropertyValue("age");
+	}
+
+	@Benchmark
+	public Person setStringProperty(BenchmarkState state) {
+		state.beanWrapper.setPropertyValue("name", "Juergen");
+		return state.target;
+	}
+
+	@Benchmark
+	public Person setNestedProperty(BenchmarkState state) {
+		state.beanWrapper.setPropertyValue("address.city", "Linz");
+		return state.target;
+	}
+
+	@Benchmark
+	public Object getNestedProperty(BenchmarkState state) {
+		return state.beanWrapper.getPropertyValue("address.city");
+	}
+
+	@Benchmark
+	public Person newBeanWrapperAndSetProperty(BenchmarkState state) {
+		new BeanWrapperImpl(state.target).setPropertyValue("age", 42);
+		return state.target;
+	}
+
+
+	public static class Person {
+
+		private String name;
+
+		private int age;
+
+		private Address address;
+
+		public String getName() {
+			return this.name;
+		}
+
+		public void setName(String name) {
+			this.name = name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+
+		public void setAge(int age) {
+			this.age = age;
+		}
+
+		public Address getAddress() {
+			return this.address;
+		}
+
+		public void setAddress(Address address) {
+			this.address = address;
+		}
+	}
+
+
+	public static class Address {
+
+		private String city;
+
+		public String getCity() {
+			return this.city;
+		}
+
+		public void setCity(String city) {
+			this.city = city;
+		}
+	}
+
+}
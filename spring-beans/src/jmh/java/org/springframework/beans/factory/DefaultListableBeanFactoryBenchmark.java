@@ -0,0 +1,106 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.beans.factory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+/**
+ * Benchmark for singleton lookups against a {@link DefaultListableBeanFactory},
+ * comparing a frozen configuration with a non-frozen one.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DefaultListableBeanFactoryBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"frozen", "unfrozen"})
+		public String mode;
+
+		@Param({"10", "1000"})
+		public int beanCount;
+
+		public DefaultListableBeanFactory beanFactory;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.beanFactory = new DefaultListableBeanFactory();
+			for (int i = 0; i < this.beanCount; i++) {
+				this.beanFactory.registerBeanDefinition("bean" + i, new RootBeanDefinition(Object.class));
+			}
+			this.beanFactory.registerBeanDefinition("testBean", new RootBeanDefinition(TestServiceImpl.class));
+			this.beanFactory.registerAlias("testBean", "testBeanAlias");
+			if (this.mode.equals("frozen")) {
+				this.beanFactory.freezeConfiguration();
+			}
+			this.beanFactory.preInstantiateSingletons();
+		}
+
+		@TearDown(Level.Trial)
+		public void tearDown() {
+			this.beanFactory.destroySingletons();
+		}
+	}
+
+
+	@Benchmark
+	public Object getBeanByName(BenchmarkState state) {
+		return state.beanFactory.getBean("testBean");
+	}
+
+	@Benchmark
+	public Object getBeanByAlias(BenchmarkState state) {
+		return state.beanFactory.getBean("testBeanAlias");
+	}
+
+	@Benchmark
+	public TestService getBeanByNameAndType(BenchmarkState state) {
+		return state.beanFactory.getBean("testBean", TestService.class);
+	}
+
+	@Benchmark
+	public TestService getBeanByType(BenchmarkState state) {
+		return state.beanFactory.getBean(TestService.class);
+	}
+
+	@Benchmark
+	public TestService getBeanViaProvider(BenchmarkState state) {
+		return state.beanFactory.getBeanProvider(TestService.class).getObject();
+	}
+
+
+	public interface TestService {
+	}
+
+
+	public static class TestServiceImpl implements TestService {
+	}
+
+}
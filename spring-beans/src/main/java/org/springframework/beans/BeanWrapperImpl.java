@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -212,11 +212,20 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 			throw new InvalidPropertyException(getRootClass(), getNestedPath() + propertyName,
 					"No property '" + propertyName + "' found");
 		}
+		return convertForProperty(propertyName, null, value, typeDescriptor(cachedIntrospectionResults, pd));
+	}
+
+	/**
+	 * Obtain the {@link TypeDescriptor} for the given property descriptor,
+	 * reusing the instance cached in the given introspection results
+	 * (rather than building a new {@link Property} and descriptor per access).
+	 */
+	private TypeDescriptor typeDescriptor(CachedIntrospectionResults cachedIntrospectionResults, PropertyDescriptor pd) {
 		TypeDescriptor td = cachedIntrospectionResults.getTypeDescriptor(pd);
 		if (td == null) {
 			td = cachedIntrospectionResults.addTypeDescriptor(pd, new TypeDescriptor(property(pd)));
 		}
-		return convertForProperty(propertyName, null, value, td);
+		return td;
 	}
 
 	private Property property(PropertyDescriptor pd) {
@@ -277,7 +286,7 @@ public class BeanWrapperImpl extends AbstractNestablePropertyAccessor implements
 
 		@Override
 		public TypeDescriptor toTypeDescriptor() {
-			return new TypeDescriptor(property(this.pd));
+			return typeDescriptor(getCachedIntrospectionResults(), this.pd);
 		}
 
 		@Override
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -601,9 +601,19 @@ public class AutowiredAnnotationBeanPostProcessor extends InstantiationAwareBean
 
 	/**
 	 * Resolve the specified cached method argument or field value.
+	 * <p>A shortcut to an already instantiated singleton is resolved through a
+	 * plain {@code getBean} call, bypassing the lazy-resolution and injection point
+	 * handling in {@code resolveDependency} which is only relevant for bean creation.
 	 */
 	@Nullable
 	private Object resolvedCachedArgument(@Nullable String beanName, @Nullable Object cachedArgument) {
+		if (cachedArgument instanceof ShortcutDependencyDescriptor) {
+			ShortcutDependencyDescriptor shortcut = (ShortcutDependencyDescriptor) cachedArgument;
+			Assert.state(this.beanFactory != null, "No BeanFactory available");
+			if (this.beanFactory.containsSingleton(shortcut.shortcut)) {
+				return shortcut.resolveShortcut(this.beanFactory);
+			}
+		}
 		if (cachedArgument instanceof DependencyDescriptor) {
 			DependencyDescriptor descriptor = (DependencyDescriptor) cachedArgument;
 			Assert.state(this.beanFactory != null, "No BeanFactory available");
@@ -25,6 +25,7 @@ import java.lang.annotation.Annotation;
 import java.lang.ref.Reference;
 import java.lang.ref.WeakReference;
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.ArrayList;
@@ -177,6 +178,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Map of singleton-only bean names, keyed by dependency type. */
 	private final Map<Class<?>, String[]> singletonBeanNamesByType = new ConcurrentHashMap<>(64);
 
+	/** Map of singleton and non-singleton bean names, keyed by generic dependency type. */
+	private final Map<GenericTypeKey, String[]> allBeanNamesByGenericType = new ConcurrentHashMap<>(64);
+
+	/** Map of singleton-only bean names, keyed by generic dependency type. */
+	private final Map<GenericTypeKey, String[]> singletonBeanNamesByGenericType = new ConcurrentHashMap<>(64);
+
 	/** List of bean definition names, in registration order. 用来保证注册的顺序 */
 	private volatile List<String> beanDefinitionNames = new ArrayList<>(256);
 
@@ -190,6 +197,12 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	/** Whether bean definition metadata may be cached for all beans. */
 	private volatile boolean configurationFrozen = false;
 
+	/** Map from bean name or alias to fully initialized singleton, in case of frozen configuration. */
+	private final Map<String, Object> frozenSingletonsByName = new ConcurrentHashMap<>(256);
+
+	/** Map from raw type to uniquely resolved singleton, in case of frozen configuration. */
+	private final Map<Class<?>, Object> frozenSingletonsByType = new ConcurrentHashMap<>(64);
+
 
 	/**
 	 * Create a new DefaultListableBeanFactory.
@@ -343,6 +356,29 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	// Implementation of remaining BeanFactory methods
 	//---------------------------------------------------------------------
 
+	@Override
+	public Object getBean(String name) throws BeansException {
+		Object frozenSingleton = this.frozenSingletonsByName.get(name);
+		if (frozenSingleton != null) {
+			return frozenSingleton;
+		}
+		Object bean = super.getBean(name);
+		cacheFrozenSingletonByName(name, bean);
+		return bean;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public <T> T getBean(String name, Class<T> requiredType) throws BeansException {
+		Object frozenSingleton = this.frozenSingletonsByName.get(name);
+		if (requiredType.isInstance(frozenSingleton)) {
+			return (T) frozenSingleton;
+		}
+		T bean = super.getBean(name, requiredType);
+		cacheFrozenSingletonByName(name, bean);
+		return bean;
+	}
+
 	@Override
 	public <T> T getBean(Class<T> requiredType) throws BeansException {
 		// 通过名称查找见父类 AbstractBeanFactory
@@ -421,11 +457,27 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		};
 	}
 
+	@SuppressWarnings("unchecked")
 	@Nullable
 	private <T> T resolveBean(ResolvableType requiredType, @Nullable Object[] args, boolean nonUniqueAsNull) {
+		Class<?> rawType = (args == null && requiredType.getType() instanceof Class ?
+				(Class<?>) requiredType.getType() : null);
+		if (rawType != null) {
+			Object frozenSingleton = this.frozenSingletonsByType.get(rawType);
+			if (frozenSingleton != null) {
+				return (T) frozenSingleton;
+			}
+		}
 		NamedBeanHolder<T> namedBean = resolveNamedBean(requiredType, args, nonUniqueAsNull);
 		if (namedBean != null) {
-			return namedBean.getBeanInstance();
+			T bean = namedBean.getBeanInstance();
+			if (rawType != null && rawType.isInstance(bean) && isFrozenSingleton(namedBean.getBeanName(), bean)) {
+				this.frozenSingletonsByType.put(rawType, bean);
+				if (!isFrozenSingleton(namedBean.getBeanName(), bean)) {
+					this.frozenSingletonsByType.remove(rawType);
+				}
+			}
+			return bean;
 		}
 		BeanFactory parent = getParentBeanFactory();
 		if (parent instanceof DefaultListableBeanFactory) {
@@ -447,6 +499,40 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		return BeanFactoryUtils.beanNamesForTypeIncludingAncestors(this, requiredType);
 	}
 
+	/**
+	 * Remember the given bean for lock-free retrieval by the given name
+	 * if it is a fully initialized singleton of a frozen configuration.
+	 * @param name the name that the bean has been retrieved with
+	 * (may be an alias or a factory dereference)
+	 * @param bean the bean instance that has been returned for the name
+	 * @see #freezeConfiguration()
+	 */
+	private void cacheFrozenSingletonByName(String name, Object bean) {
+		if (this.configurationFrozen) {
+			String beanName = transformedBeanName(name);
+			if (isFrozenSingleton(beanName, bean)) {
+				this.frozenSingletonsByName.put(name, bean);
+				// Re-check against concurrent destruction of the singleton in the meantime,
+				// as well as against an alias having been re-registered or removed
+				if (!isFrozenSingleton(beanName, bean) || !beanName.equals(transformedBeanName(name))) {
+					this.frozenSingletonsByName.remove(name);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Determine whether the given bean instance is the fully initialized singleton
+	 * registered under the given bean name in this factory, with the configuration
+	 * being frozen. Only then is the instance going to be returned for every
+	 * subsequent lookup, until the bean definition or the singleton changes.
+	 * <p>Note that the exposed object of a {@link FactoryBean} does not qualify.
+	 */
+	private boolean isFrozenSingleton(String beanName, Object bean) {
+		return (this.configurationFrozen && !isSingletonCurrentlyInCreation(beanName) &&
+				getSingleton(beanName, false) == bean);
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of ListableBeanFactory interface
@@ -485,9 +571,54 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		if (resolved != null && !type.hasGenerics()) {
 			return getBeanNamesForType(resolved, includeNonSingletons, allowEagerInit);
 		}
-		else {
+		if (!isConfigurationFrozen() || resolved == null || !allowEagerInit) {
 			return doGetBeanNamesForType(type, includeNonSingletons, allowEagerInit);
 		}
+		GenericTypeKey key = getGenericTypeKey(type);
+		if (key == null) {
+			return doGetBeanNamesForType(type, includeNonSingletons, true);
+		}
+		Map<GenericTypeKey, String[]> cache =
+				(includeNonSingletons ? this.allBeanNamesByGenericType : this.singletonBeanNamesByGenericType);
+		String[] resolvedBeanNames = cache.get(key);
+		if (resolvedBeanNames != null) {
+			return resolvedBeanNames;
+		}
+		resolvedBeanNames = doGetBeanNamesForType(type, includeNonSingletons, true);
+		cache.put(key, resolvedBeanNames);
+		return resolvedBeanNames;
+	}
+
+	/**
+	 * Build a by-type cache key for the given generic type from its resolved
+	 * classes, independent of where the type has been declared.
+	 * @return the key, or {@code null} if the type is not suitable as a cache
+	 * key: if it is not resolvable against cache-safe classes, or if it contains
+	 * type variables, wildcards, raw generic classes or generic arrays, whose
+	 * matching semantics go beyond the resolved classes
+	 */
+	@Nullable
+	private GenericTypeKey getGenericTypeKey(ResolvableType type) {
+		Class<?> resolved = type.resolve();
+		if (resolved == null || !ClassUtils.isCacheSafe(resolved, getBeanClassLoader())) {
+			return null;
+		}
+		if (type.getType() instanceof Class) {
+			// A raw generic class may still get its type variables resolved against the declaring type
+			return (resolved.getTypeParameters().length == 0 ? new GenericTypeKey(resolved, null) : null);
+		}
+		if (!(type.getType() instanceof ParameterizedType)) {
+			return null;
+		}
+		ResolvableType[] generics = type.getGenerics();
+		GenericTypeKey[] genericKeys = new GenericTypeKey[generics.length];
+		for (int i = 0; i < generics.length; i++) {
+			genericKeys[i] = getGenericTypeKey(generics[i]);
+			if (genericKeys[i] == null) {
+				return null;
+			}
+		}
+		return new GenericTypeKey(resolved, genericKeys);
 	}
 
 	@Override
@@ -1076,6 +1207,18 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+	@Override
+	public void registerAlias(String name, String alias) {
+		super.registerAlias(name, alias);
+		this.frozenSingletonsByName.remove(alias);
+	}
+
+	@Override
+	public void removeAlias(String alias) {
+		super.removeAlias(alias);
+		this.frozenSingletonsByName.remove(alias);
+	}
+
 	/**
 	 * Only allows alias overriding if bean definition overriding is allowed.
 	 */
@@ -1140,6 +1283,10 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 	private void clearByTypeCache() {
 		this.allBeanNamesByType.clear();
 		this.singletonBeanNamesByType.clear();
+		this.allBeanNamesByGenericType.clear();
+		this.singletonBeanNamesByGenericType.clear();
+		this.frozenSingletonsByName.clear();
+		this.frozenSingletonsByType.clear();
 	}
 
 
@@ -2086,4 +2233,42 @@ public class DefaultListableBeanFactory extends AbstractAutowireCapableBeanFacto
 		}
 	}
 
+
+	/**
+	 * Cache key for a generic type, consisting of its resolved class
+	 * and the keys of its generics.
+	 */
+	private static final class GenericTypeKey {
+
+		private final Class<?> resolved;
+
+		@Nullable
+		private final GenericTypeKey[] generics;
+
+		private final int hashCode;
+
+		GenericTypeKey(Class<?> resolved, @Nullable GenericTypeKey[] generics) {
+			this.resolved = resolved;
+			this.generics = generics;
+			this.hashCode = 31 * resolved.hashCode() + Arrays.hashCode(generics);
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof GenericTypeKey)) {
+				return false;
+			}
+			GenericTypeKey otherKey = (GenericTypeKey) other;
+			return (this.resolved == otherKey.resolved && Arrays.equals(this.generics, otherKey.generics));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -23,6 +23,7 @@ import java.util.Optional;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.testfixture.beans.TestBean;
+import org.springframework.core.convert.TypeDescriptor;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -73,6 +74,17 @@ public class BeanWrapperTests extends AbstractPropertyAccessorTests {
 		assertThat(accessor.getPropertyValue("aliasedName")).isEqualTo("tom");
 	}
 
+	@Test
+	public void propertyTypeDescriptorIsReusedAcrossAccessors() {
+		TypeDescriptor td = createAccessor(new TestBean()).getPropertyTypeDescriptor("age");
+		assertThat(td.getType()).isEqualTo(int.class);
+		assertThat(createAccessor(new TestBean()).getPropertyTypeDescriptor("age")).isSameAs(td);
+
+		BeanWrapper accessor = createAccessor(new TestBean());
+		accessor.setPropertyValue("age", "42");
+		assertThat(accessor.getPropertyValue("age")).isEqualTo(42);
+	}
+
 	@Test
 	public void setValidAndInvalidPropertyValuesShouldContainExceptionDetails() {
 		TestBean target = new TestBean();
@@ -26,6 +26,7 @@ import java.security.Principal;
 import java.security.PrivilegedAction;
 import java.text.NumberFormat;
 import java.text.ParseException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Iterator;
@@ -37,6 +38,7 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -1453,6 +1455,102 @@ class DefaultListableBeanFactoryTests {
 		assertThat(bean.getBeanName()).isEqualTo("bd1");
 	}
 
+	@Test
+	void getBeanAgainstFrozenWithReplacedDefinition() {
+		lbf.registerBeanDefinition("bd1", new RootBeanDefinition(TestBean.class));
+		lbf.registerAlias("bd1", "alias1");
+		lbf.freezeConfiguration();
+		lbf.preInstantiateSingletons();
+		TestBean bean = lbf.getBean(TestBean.class);
+		assertThat(lbf.getBean("bd1")).isSameAs(bean);
+		assertThat(lbf.getBean("alias1")).isSameAs(bean);
+		assertThat(lbf.getBean("bd1", ITestBean.class)).isSameAs(bean);
+		assertThat(lbf.getBeanProvider(TestBean.class).getObject()).isSameAs(bean);
+
+		lbf.registerBeanDefinition("bd1", new RootBeanDefinition(DerivedTestBean.class));
+		TestBean replaced = lbf.getBean(TestBean.class);
+		assertThat(replaced).isNotSameAs(bean).isInstanceOf(DerivedTestBean.class);
+		assertThat(lbf.getBean("bd1")).isSameAs(replaced);
+		assertThat(lbf.getBean("alias1")).isSameAs(replaced);
+
+		lbf.registerBeanDefinition("bd2", new RootBeanDefinition(TestBean.class));
+		assertThatExceptionOfType(NoUniqueBeanDefinitionException.class).isThrownBy(() ->
+				lbf.getBean(TestBean.class));
+	}
+
+	@Test
+	void getBeanByAliasAgainstFrozenWithConcurrentlyReplacedAlias() {
+		AtomicBoolean replaceAlias = new AtomicBoolean();
+		DefaultListableBeanFactory lbf = new DefaultListableBeanFactory() {
+			@Override
+			protected Object getSingleton(String beanName, boolean allowEarlyReference) {
+				if (!allowEarlyReference && replaceAlias.compareAndSet(true, false)) {
+					// Simulate another thread re-registering the alias while the bean is being cached
+					registerAlias("bd2", "alias1");
+				}
+				return super.getSingleton(beanName, allowEarlyReference);
+			}
+		};
+		lbf.registerBeanDefinition("bd1", new RootBeanDefinition(TestBean.class));
+		lbf.registerBeanDefinition("bd2", new RootBeanDefinition(TestBean.class));
+		lbf.registerAlias("bd1", "alias1");
+		lbf.freezeConfiguration();
+		lbf.preInstantiateSingletons();
+
+		replaceAlias.set(true);
+		assertThat(lbf.getBean("alias1")).isSameAs(lbf.getBean("bd1"));
+		assertThat(replaceAlias.get()).isFalse();
+		assertThat(lbf.getBean("alias1")).isSameAs(lbf.getBean("bd2"));
+	}
+
+	@Test
+	void getPrototypeAgainstFrozen() {
+		RootBeanDefinition bd1 = new RootBeanDefinition(TestBean.class);
+		bd1.setScope(BeanDefinition.SCOPE_PROTOTYPE);
+		lbf.registerBeanDefinition("bd1", bd1);
+		lbf.freezeConfiguration();
+		assertThat(lbf.getBean("bd1")).isNotSameAs(lbf.getBean("bd1"));
+		assertThat(lbf.getBean(TestBean.class)).isNotSameAs(lbf.getBean(TestBean.class));
+	}
+
+	@Test
+	void getBeanNamesForGenericTypeAgainstFrozen() {
+		RootBeanDefinition bd1 = new RootBeanDefinition(ArrayList.class);
+		bd1.setTargetType(ResolvableType.forClassWithGenerics(List.class, String.class));
+		lbf.registerBeanDefinition("bd1", bd1);
+		lbf.freezeConfiguration();
+		ResolvableType stringList = ResolvableType.forClassWithGenerics(List.class, String.class);
+		ResolvableType integerList = ResolvableType.forClassWithGenerics(List.class, Integer.class);
+		assertThat(lbf.getBeanNamesForType(stringList)).containsExactly("bd1");
+		assertThat(lbf.getBeanNamesForType(stringList)).containsExactly("bd1");
+		assertThat(lbf.getBeanNamesForType(integerList)).isEmpty();
+
+		RootBeanDefinition bd2 = new RootBeanDefinition(ArrayList.class);
+		bd2.setTargetType(ResolvableType.forClassWithGenerics(List.class, Integer.class));
+		lbf.registerBeanDefinition("bd2", bd2);
+		assertThat(lbf.getBeanNamesForType(stringList)).containsExactly("bd1");
+		assertThat(lbf.getBeanNamesForType(integerList)).containsExactly("bd2");
+	}
+
+	@Test
+	void getBeanNamesForDeclaredGenericTypeAgainstFrozen() throws Exception {
+		RootBeanDefinition bd1 = new RootBeanDefinition(ArrayList.class);
+		bd1.setTargetType(ResolvableType.forClassWithGenerics(List.class, String.class));
+		lbf.registerBeanDefinition("bd1", bd1);
+		RootBeanDefinition bd2 = new RootBeanDefinition(ArrayList.class);
+		bd2.setTargetType(ResolvableType.forClassWithGenerics(List.class, StringBuilder.class));
+		lbf.registerBeanDefinition("bd2", bd2);
+		lbf.freezeConfiguration();
+		ResolvableType stringList = ResolvableType.forField(GenericFieldHolder.class.getField("stringList"));
+		ResolvableType otherStringList = ResolvableType.forField(GenericFieldHolder.class.getField("otherStringList"));
+		ResolvableType charSequenceList = ResolvableType.forField(GenericFieldHolder.class.getField("charSequenceList"));
+		assertThat(lbf.getBeanNamesForType(stringList)).containsExactly("bd1");
+		assertThat(lbf.getBeanNamesForType(otherStringList)).containsExactly("bd1");
+		assertThat(lbf.getBeanNamesForType(charSequenceList)).containsExactly("bd1", "bd2");
+		assertThat(lbf.getBeanNamesForType(charSequenceList)).containsExactly("bd1", "bd2");
+		assertThat(lbf.getBeanNamesForType(stringList)).containsExactly("bd1");
+	}
+
 	@Test
 	void getBeanByTypeDefinedInParent() {
 		DefaultListableBeanFactory parent = new DefaultListableBeanFactory();
@@ -3386,4 +3484,14 @@ class DefaultListableBeanFactoryTests {
 		}
 	}
 
+
+	static class GenericFieldHolder {
+
+		public List<String> stringList;
+
+		public List<String> otherStringList;
+
+		public List<? extends CharSequence> charSequenceList;
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,15 +22,19 @@ import java.util.Set;
 import org.springframework.beans.factory.annotation.AnnotatedBeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.config.BeanDefinitionHolder;
+import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.beans.factory.support.AbstractBeanDefinition;
 import org.springframework.beans.factory.support.BeanDefinitionDefaults;
 import org.springframework.beans.factory.support.BeanDefinitionReaderUtils;
 import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.beans.factory.support.BeanNameGenerator;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.EnvironmentCapable;
 import org.springframework.core.env.StandardEnvironment;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.PatternMatchUtils;
@@ -272,31 +276,55 @@ public class ClassPathBeanDefinitionScanner extends ClassPathScanningCandidateCo
 	protected Set<BeanDefinitionHolder> doScan(String... basePackages) {
 		Assert.notEmpty(basePackages, "At least one base package must be specified");
 		Set<BeanDefinitionHolder> beanDefinitions = new LinkedHashSet<>();
+		ApplicationStartup applicationStartup = getApplicationStartup();
 		for (String basePackage : basePackages) {
-			// 核心扫描
-			Set<BeanDefinition> candidates = findCandidateComponents(basePackage);
-			for (BeanDefinition candidate : candidates) {
-				ScopeMetadata scopeMetadata = this.scopeMetadataResolver.resolveScopeMetadata(candidate);
-				candidate.setScope(scopeMetadata.getScopeName());
-				String beanName = this.beanNameGenerator.generateBeanName(candidate, this.registry);
-				if (candidate instanceof AbstractBeanDefinition) {
-					postProcessBeanDefinition((AbstractBeanDefinition) candidate, beanName);
-				}
-				if (candidate instanceof AnnotatedBeanDefinition) {
-					AnnotationConfigUtils.processCommonDefinitionAnnotations((AnnotatedBeanDefinition) candidate);
-				}
-				if (checkCandidate(beanName, candidate)) {
-					BeanDefinitionHolder definitionHolder = new BeanDefinitionHolder(candidate, beanName);
-					definitionHolder =
-							AnnotationConfigUtils.applyScopedProxyMode(scopeMetadata, definitionHolder, this.registry);
-					beanDefinitions.add(definitionHolder);
-					registerBeanDefinition(definitionHolder, this.registry);
+			StartupStep scanPackage = applicationStartup.start("spring.context.base-packages.scan")
+					.tag("package", basePackage);
+			try {
+				// 核心扫描
+				Set<BeanDefinition> candidates = findCandidateComponents(basePackage);
+				scanPackage.tag("candidateCount", () -> String.valueOf(candidates.size()));
+				for (BeanDefinition candidate : candidates) {
+					ScopeMetadata scopeMetadata = this.scopeMetadataResolver.resolveScopeMetadata(candidate);
+					candidate.setScope(scopeMetadata.getScopeName());
+					String beanName = this.beanNameGenerator.generateBeanName(candidate, this.registry);
+					if (candidate instanceof AbstractBeanDefinition) {
+						postProcessBeanDefinition((AbstractBeanDefinition) candidate, beanName);
+					}
+					if (candidate instanceof AnnotatedBeanDefinition) {
+						AnnotationConfigUtils.processCommonDefinitionAnnotations((AnnotatedBeanDefinition) candidate);
+					}
+					if (checkCandidate(beanName, candidate)) {
+						BeanDefinitionHolder definitionHolder = new BeanDefinitionHolder(candidate, beanName);
+						definitionHolder =
+								AnnotationConfigUtils.applyScopedProxyMode(scopeMetadata, definitionHolder, this.registry);
+						beanDefinitions.add(definitionHolder);
+						registerBeanDefinition(definitionHolder, this.registry);
+					}
 				}
 			}
+			finally {
+				scanPackage.end();
+			}
 		}
+		saveScanCache();
 		return beanDefinitions;
 	}
 
+	/**
+	 * Determine the {@link ApplicationStartup} to record scanning steps with,
+	 * derived from the target registry if possible.
+	 */
+	private ApplicationStartup getApplicationStartup() {
+		if (this.registry instanceof ConfigurableApplicationContext) {
+			return ((ConfigurableApplicationContext) this.registry).getApplicationStartup();
+		}
+		if (this.registry instanceof ConfigurableBeanFactory) {
+			return ((ConfigurableBeanFactory) this.registry).getApplicationStartup();
+		}
+		return ApplicationStartup.DEFAULT;
+	}
+
 	/**
 	 * Apply further settings to the given bean definition,
 	 * beyond the contents retrieved from scanning the component class.
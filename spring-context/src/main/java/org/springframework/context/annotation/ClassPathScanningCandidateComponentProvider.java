@@ -18,6 +18,7 @@ package org.springframework.context.annotation;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.nio.file.Paths;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -35,6 +36,7 @@ import org.springframework.beans.factory.support.BeanDefinitionRegistry;
 import org.springframework.context.ResourceLoaderAware;
 import org.springframework.context.index.CandidateComponentsIndex;
 import org.springframework.context.index.CandidateComponentsIndexLoader;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.annotation.AnnotationUtils;
 import org.springframework.core.env.Environment;
 import org.springframework.core.env.EnvironmentCapable;
@@ -48,6 +50,7 @@ import org.springframework.core.type.AnnotationMetadata;
 import org.springframework.core.type.classreading.CachingMetadataReaderFactory;
 import org.springframework.core.type.classreading.MetadataReader;
 import org.springframework.core.type.classreading.MetadataReaderFactory;
+import org.springframework.core.type.classreading.PersistentMetadataReaderFactory;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.core.type.filter.TypeFilter;
@@ -59,6 +62,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 import org.springframework.util.ClassUtils;
+import org.springframework.util.StringUtils;
 
 /**
  * A component provider that provides candidate components from a base package. Can
@@ -88,6 +92,19 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 
 	static final String DEFAULT_RESOURCE_PATTERN = "**/*.class";
 
+	/**
+	 * System property that instructs Spring to keep the class metadata read
+	 * during classpath scanning in a cache file at the given location, so that
+	 * unchanged class files are not parsed again on subsequent startups.
+	 * <p>Not set by default. Only applies to the default metadata reader factory
+	 * created in {@link #setResourceLoader}. All scanners for the same location
+	 * share the cached entries, and the cache file is written whenever a
+	 * {@link ClassPathBeanDefinitionScanner} completes a scan.
+	 * @since 5.3
+	 * @see PersistentMetadataReaderFactory
+	 */
+	public static final String SCAN_CACHE_LOCATION_PROPERTY_NAME = "spring.context.scanCache.location";
+
 
 	protected final Log logger = LogFactory.getLog(getClass());
 
@@ -263,10 +280,18 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	@Override
 	public void setResourceLoader(@Nullable ResourceLoader resourceLoader) {
 		this.resourcePatternResolver = ResourcePatternUtils.getResourcePatternResolver(resourceLoader);
-		this.metadataReaderFactory = new CachingMetadataReaderFactory(resourceLoader);
+		this.metadataReaderFactory = createMetadataReaderFactory(resourceLoader);
 		this.componentsIndex = CandidateComponentsIndexLoader.loadIndex(this.resourcePatternResolver.getClassLoader());
 	}
 
+	private static MetadataReaderFactory createMetadataReaderFactory(@Nullable ResourceLoader resourceLoader) {
+		String scanCacheLocation = SpringProperties.getProperty(SCAN_CACHE_LOCATION_PROPERTY_NAME);
+		if (StringUtils.hasText(scanCacheLocation)) {
+			return new PersistentMetadataReaderFactory(Paths.get(scanCacheLocation), resourceLoader);
+		}
+		return new CachingMetadataReaderFactory(resourceLoader);
+	}
+
 	/**
 	 * Return the ResourceLoader that this component provider uses.
 	 */
@@ -284,7 +309,9 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 	/**
 	 * Set the {@link MetadataReaderFactory} to use.
 	 * <p>Default is a {@link CachingMetadataReaderFactory} for the specified
-	 * {@linkplain #setResourceLoader resource loader}.
+	 * {@linkplain #setResourceLoader resource loader}, or a
+	 * {@link PersistentMetadataReaderFactory} if the
+	 * {@value #SCAN_CACHE_LOCATION_PROPERTY_NAME} property is set.
 	 * <p>Call this setter method <i>after</i> {@link #setResourceLoader} in order
 	 * for the given MetadataReaderFactory to override the default factory.
 	 */
@@ -471,6 +498,25 @@ public class ClassPathScanningCandidateComponentProvider implements EnvironmentC
 		return candidates;
 	}
 
+	/**
+	 * Write the scan cache file if the metadata reader factory keeps one,
+	 * typically once all base packages of a scan have been processed.
+	 * @see PersistentMetadataReaderFactory#save()
+	 */
+	void saveScanCache() {
+		if (this.metadataReaderFactory instanceof PersistentMetadataReaderFactory) {
+			PersistentMetadataReaderFactory factory = (PersistentMetadataReaderFactory) this.metadataReaderFactory;
+			try {
+				factory.save();
+			}
+			catch (IOException ex) {
+				if (logger.isWarnEnabled()) {
+					logger.warn("Failed to write scan cache file " + factory.getCacheFile(), ex);
+				}
+			}
+		}
+	}
+
 
 	/**
 	 * Resolve the specified base package into a pattern specification for
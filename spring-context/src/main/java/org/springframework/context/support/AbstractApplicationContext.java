@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -77,6 +77,8 @@ import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
+import org.springframework.core.metrics.ApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
@@ -221,6 +223,9 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	@Nullable
 	private Set<ApplicationEvent> earlyApplicationEvents;
 
+	/** Application startup metrics. */
+	private ApplicationStartup applicationStartup = ApplicationStartup.DEFAULT;
+
 
 	/**
 	 * Create a new AbstractApplicationContext with no parent.
@@ -320,6 +325,22 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		return this.environment;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>The given {@code ApplicationStartup} is also propagated to the
+	 * internal bean factory when preparing it for refresh.
+	 */
+	@Override
+	public void setApplicationStartup(ApplicationStartup applicationStartup) {
+		Assert.notNull(applicationStartup, "ApplicationStartup must not be null");
+		this.applicationStartup = applicationStartup;
+	}
+
+	@Override
+	public ApplicationStartup getApplicationStartup() {
+		return this.applicationStartup;
+	}
+
 	/**
 	 * Create and return a new {@link StandardEnvironment}.
 	 * <p>Subclasses may override this method in order to supply
@@ -519,20 +540,29 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	public void refresh() throws BeansException, IllegalStateException {
 		// 加锁，因为 ApplicationContext 对象可以在任意的代码中进行创建，例如多线程环境
 		synchronized (this.startupShutdownMonitor) {
-			// Prepare this context for refreshing.
-			// 准备过程
-			// 其中会初始化 earlyApplicationEvents Set 集合对象，解决事件在 PostProcessors 提前触发的问题
-			prepareRefresh();
+			StartupStep contextRefresh = this.applicationStartup.start("spring.context.refresh");
 
-			// Tell the subclass to refresh the internal bean factory.
-			// 获取 BeanFactory
-			// 上下文的创建阶段
-			ConfigurableListableBeanFactory beanFactory = obtainFreshBeanFactory();
-
-			// Prepare the bean factory for use in this context.
-			// 加入一些内建对象，非 bean 对象等
-			// 上下文准备阶段
-			prepareBeanFactory(beanFactory);
+			ConfigurableListableBeanFactory beanFactory;
+			try {
+				// Prepare this context for refreshing.
+				// 准备过程
+				// 其中会初始化 earlyApplicationEvents Set 集合对象，解决事件在 PostProcessors 提前触发的问题
+				prepareRefresh();
+
+				// Tell the subclass to refresh the internal bean factory.
+				// 获取 BeanFactory
+				// 上下文的创建阶段
+				beanFactory = obtainFreshBeanFactory();
+
+				// Prepare the bean factory for use in this context.
+				// 加入一些内建对象，非 bean 对象等
+				// 上下文准备阶段
+				prepareBeanFactory(beanFactory);
+			}
+			catch (RuntimeException | Error ex) {
+				contextRefresh.end();
+				throw ex;
+			}
 
 			try {
 				// Allows post-processing of the bean factory in context subclasses.
@@ -540,13 +570,19 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				// BeanFactory 后置处理阶段
 				postProcessBeanFactory(beanFactory);
 
-				// Invoke factory processors registered as beans in the context.
-				// 执行 PostProcessor 扩展 BeanFactory
-				invokeBeanFactoryPostProcessors(beanFactory);
+				StartupStep beanPostProcess = this.applicationStartup.start("spring.context.beans.post-process");
+				try {
+					// Invoke factory processors registered as beans in the context.
+					// 执行 PostProcessor 扩展 BeanFactory
+					invokeBeanFactoryPostProcessors(beanFactory);
 
-				// Register bean processors that intercept bean creation.
-				// IoC 中 Bean 的扩展，之前是对容器 BeanFactory 的扩展
-				registerBeanPostProcessors(beanFactory);
+					// Register bean processors that intercept bean creation.
+					// IoC 中 Bean 的扩展，之前是对容器 BeanFactory 的扩展
+					registerBeanPostProcessors(beanFactory);
+				}
+				finally {
+					beanPostProcess.end();
+				}
 
 				// Initialize message source for this context.
 				// 国际化
@@ -592,6 +628,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 				// Reset common introspection caches in Spring's core, since we
 				// might not ever need metadata for singleton beans anymore...
 				resetCommonCaches();
+				contextRefresh.end();
 			}
 		}
 	}
@@ -684,6 +721,7 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 	protected void prepareBeanFactory(ConfigurableListableBeanFactory beanFactory) {
 		// Tell the internal bean factory to use the context's class loader etc.
 		beanFactory.setBeanClassLoader(getClassLoader());
+		beanFactory.setApplicationStartup(getApplicationStartup());
 		beanFactory.setBeanExpressionResolver(new StandardBeanExpressionResolver(beanFactory.getBeanClassLoader()));
 		beanFactory.addPropertyEditorRegistrar(new ResourceEditorRegistrar(this, getEnvironment()));
 
@@ -1403,6 +1441,19 @@ public abstract class AbstractApplicationContext extends DefaultResourceLoader
 		return this.resourcePatternResolver.getResources(locationPattern);
 	}
 
+	/**
+	 * Also clears the jar entry listings of the context's
+	 * {@link PathMatchingResourcePatternResolver}, if any.
+	 * @see PathMatchingResourcePatternResolver#clearCache()
+	 */
+	@Override
+	public void clearResourceCaches() {
+		super.clearResourceCaches();
+		if (this.resourcePatternResolver instanceof PathMatchingResourcePatternResolver) {
+			((PathMatchingResourcePatternResolver) this.resourcePatternResolver).clearCache();
+		}
+	}
+
 
 	//---------------------------------------------------------------------
 	// Implementation of Lifecycle interface
@@ -16,6 +16,10 @@
 
 package org.springframework.context.annotation;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import example.scannable.CustomComponent;
 import example.scannable.FooService;
 import example.scannable.FooServiceImpl;
@@ -23,6 +27,7 @@ import example.scannable.NamedStubDao;
 import example.scannable.StubFooDao;
 import org.aspectj.lang.annotation.Aspect;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import org.springframework.beans.BeanInstantiationException;
 import org.springframework.beans.factory.BeanCreationException;
@@ -35,9 +40,14 @@ import org.springframework.beans.factory.support.StaticListableBeanFactory;
 import org.springframework.beans.testfixture.beans.TestBean;
 import org.springframework.context.MessageSource;
 import org.springframework.context.annotation2.NamedStubDao2;
+import org.springframework.context.annotation5.OtherFooDao;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.context.testfixture.index.CandidateComponentsTestClassLoader;
+import org.springframework.core.SpringProperties;
 import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.metrics.BufferingApplicationStartup;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.core.type.classreading.PersistentMetadataReaderFactory;
 import org.springframework.core.type.filter.AnnotationTypeFilter;
 import org.springframework.core.type.filter.AssignableTypeFilter;
 import org.springframework.stereotype.Component;
@@ -213,6 +223,21 @@ public class ClassPathBeanDefinitionScannerTests {
 			.withMessageContaining(StubFooDao.class.getName());
 	}
 
+	@Test
+	public void testFailingScanEndsStartupStep() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(100);
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.setApplicationStartup(applicationStartup);
+		ClassPathBeanDefinitionScanner scanner = new ClassPathBeanDefinitionScanner(context);
+		scanner.setIncludeAnnotationConfig(false);
+		scanner.scan("org.springframework.context.annotation3");
+		assertThatIllegalStateException().isThrownBy(() -> scanner.scan(BASE_PACKAGE));
+
+		assertThat(applicationStartup.getBufferedSteps()).extracting(StartupStep::getName)
+				.containsExactly("spring.context.base-packages.scan", "spring.context.base-packages.scan");
+		assertThat(applicationStartup.start("next").getParentId()).isNull();
+	}
+
 	@Test
 	public void testSimpleScanWithDefaultFiltersAndOverriddenEqualNamedBean() {
 		GenericApplicationContext context = new GenericApplicationContext();
@@ -526,6 +551,31 @@ public class ClassPathBeanDefinitionScannerTests {
 			.satisfies(ex -> assertThat(ex.getMostSpecificCause()).isInstanceOf(NoSuchBeanDefinitionException.class));
 	}
 
+	@Test
+	public void testScannersWithSameScanCacheLocation(@TempDir Path tempDir) throws IOException {
+		Path cacheFile = tempDir.resolve("scan.cache");
+		SpringProperties.setProperty(
+				ClassPathScanningCandidateComponentProvider.SCAN_CACHE_LOCATION_PROPERTY_NAME, cacheFile.toString());
+		try {
+			GenericApplicationContext context = new GenericApplicationContext();
+			new ClassPathBeanDefinitionScanner(context).scan(BASE_PACKAGE);
+			new ClassPathBeanDefinitionScanner(context).scan("org.springframework.context.annotation5");
+		}
+		finally {
+			SpringProperties.setProperty(
+					ClassPathScanningCandidateComponentProvider.SCAN_CACHE_LOCATION_PROPERTY_NAME, null);
+		}
+
+		// The cache file keeps the entries of both scanners: no changes to write on the next run
+		Path nextRunCacheFile = Files.copy(cacheFile, tempDir.resolve("next-run.cache"));
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(nextRunCacheFile);
+		factory.getMetadataReader(FooServiceImpl.class.getName());
+		factory.getMetadataReader(OtherFooDao.class.getName());
+		Files.delete(nextRunCacheFile);
+		factory.save();
+		assertThat(nextRunCacheFile).doesNotExist();
+	}
+
 
 	private static class TestBeanNameGenerator extends AnnotationBeanNameGenerator {
 
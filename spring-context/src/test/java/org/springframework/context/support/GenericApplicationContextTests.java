@@ -16,6 +16,8 @@
 
 package org.springframework.context.support;
 
+import java.util.List;
+
 import org.junit.jupiter.api.Test;
 
 import org.springframework.beans.factory.NoUniqueBeanDefinitionException;
@@ -23,6 +25,9 @@ import org.springframework.beans.factory.config.BeanDefinition;
 import org.springframework.beans.factory.support.RootBeanDefinition;
 import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.metrics.BufferingApplicationStartup;
+import org.springframework.core.metrics.BufferingApplicationStartup.BufferedStartupStep;
+import org.springframework.core.metrics.StartupStep;
 import org.springframework.util.ObjectUtils;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -201,6 +206,24 @@ public class GenericApplicationContextTests {
 		assertThat(context.getBeansOfType(BeanC.class).values().iterator().next()).isSameAs(context.getBean(BeanC.class));
 	}
 
+	@Test
+	public void refreshWithApplicationStartup() {
+		BufferingApplicationStartup applicationStartup = new BufferingApplicationStartup(100);
+		GenericApplicationContext context = new GenericApplicationContext();
+		context.setApplicationStartup(applicationStartup);
+		context.registerBeanDefinition("testBean", new RootBeanDefinition(String.class));
+		context.refresh();
+
+		assertThat(context.getBeanFactory().getApplicationStartup()).isSameAs(applicationStartup);
+		List<BufferedStartupStep> steps = applicationStartup.getBufferedSteps();
+		assertThat(steps).extracting(StartupStep::getName)
+				.contains("spring.context.beans.post-process", "spring.beans.instantiate", "spring.context.refresh");
+		BufferedStartupStep refresh = steps.get(steps.size() - 1);
+		assertThat(refresh.getName()).isEqualTo("spring.context.refresh");
+		assertThat(steps).filteredOn(step -> step.getName().equals("spring.beans.instantiate"))
+				.allSatisfy(step -> assertThat(step.getParentId()).isNotNull());
+	}
+
 
 	static class BeanA {
 
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link MethodInvocationStrategy} implementations, compared with
+ * a plain {@link Method#invoke} call as performed by the current handler and AOP
+ * invocation paths.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class MethodInvocationStrategyBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"REFLECTION", "METHOD_HANDLES"})
+		public String strategy;
+
+		public Method method;
+
+		public MethodInvocationStrategy invocationStrategy;
+
+		public final TestController target = new TestController();
+
+		public final Object[] args = new Object[] {"spring", 42};
+
+		@Setup
+		public void setup() throws Exception {
+			this.method = TestController.class.getMethod("handle", String.class, int.class);
+			this.method.setAccessible(true);
+			this.invocationStrategy = ("METHOD_HANDLES".equals(this.strategy) ?
+					MethodInvocationStrategy.METHOD_HANDLES : MethodInvocationStrategy.REFLECTION);
+		}
+	}
+
+
+	@Benchmark
+	public Object methodInvoke(BenchmarkState state) throws Exception {
+		return state.method.invoke(state.target, state.args);
+	}
+
+	@Benchmark
+	public Object invoker(BenchmarkState state) throws Exception {
+		return state.invocationStrategy.getInvoker(state.method).invoke(state.target, state.args);
+	}
+
+
+	public static class TestController {
+
+		public String handle(String name, int count) {
+			return name;
+		}
+	}
+
+}
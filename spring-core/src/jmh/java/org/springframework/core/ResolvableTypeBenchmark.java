@@ -0,0 +1,87 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link ResolvableType} creation and generics resolution,
+ * as performed for generic injection points and codec type checks.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class ResolvableTypeBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Field mapField;
+
+		public MethodParameter returnType;
+
+		@Setup
+		public void setup() throws Exception {
+			this.mapField = GenericHolder.class.getField("map");
+			Method method = GenericHolder.class.getMethod("list");
+			this.returnType = new MethodParameter(method, -1);
+		}
+	}
+
+
+	@Benchmark
+	public Class<?> forClassResolve() {
+		return ResolvableType.forClass(GenericHolder.class).resolve();
+	}
+
+	@Benchmark
+	public Class<?> forFieldResolveGeneric(BenchmarkState state) {
+		return ResolvableType.forField(state.mapField).resolveGeneric(1, 0);
+	}
+
+	@Benchmark
+	public Class<?> forMethodParameterAsCollection(BenchmarkState state) {
+		return ResolvableType.forMethodParameter(state.returnType).asCollection().resolveGeneric();
+	}
+
+	@Benchmark
+	public boolean isAssignableFromGeneric(BenchmarkState state) {
+		return ResolvableType.forClassWithGenerics(List.class, String.class)
+				.isAssignableFrom(ResolvableType.forMethodParameter(state.returnType));
+	}
+
+
+	public static class GenericHolder {
+
+		public Map<String, List<Integer>> map;
+
+		public List<String> list() {
+			return null;
+		}
+	}
+
+}
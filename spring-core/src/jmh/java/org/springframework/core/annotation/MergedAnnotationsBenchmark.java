@@ -0,0 +1,141 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+
+/**
+ * Benchmarks for merged annotation lookups through {@link AnnotatedElementUtils},
+ * {@link AnnotationUtils} and {@link MergedAnnotations}, for present as well as
+ * absent annotations on classes and methods.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class MergedAnnotationsBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public Class<?> annotatedClass;
+
+		public Method annotatedMethod;
+
+		public Method plainMethod;
+
+		@Setup
+		public void setup() throws Exception {
+			this.annotatedClass = AnnotatedType.class;
+			this.annotatedMethod = AnnotatedType.class.getMethod("annotatedMethod");
+			this.plainMethod = AnnotatedType.class.getMethod("plainMethod");
+		}
+	}
+
+
+	@Benchmark
+	public Mapping findMergedAnnotationOnClass(BenchmarkState state) {
+		return AnnotatedElementUtils.findMergedAnnotation(state.annotatedClass, Mapping.class);
+	}
+
+	@Benchmark
+	public Mapping findMergedAnnotationOnMethod(BenchmarkState state) {
+		return AnnotatedElementUtils.findMergedAnnotation(state.annotatedMethod, Mapping.class);
+	}
+
+	@Benchmark
+	public Mapping findMergedAnnotationOnPlainMethod(BenchmarkState state) {
+		return AnnotatedElementUtils.findMergedAnnotation(state.plainMethod, Mapping.class);
+	}
+
+	@Benchmark
+	public boolean hasAnnotationOnMethod(BenchmarkState state) {
+		return AnnotatedElementUtils.hasAnnotation(state.annotatedMethod, Mapping.class);
+	}
+
+	@Benchmark
+	public Mapping findAnnotationOnMethod(BenchmarkState state) {
+		return AnnotationUtils.findAnnotation(state.annotatedMethod, Mapping.class);
+	}
+
+	@Benchmark
+	public MergedAnnotation<Mapping> mergedAnnotationsGet(BenchmarkState state) {
+		return MergedAnnotations.from(state.annotatedMethod, SearchStrategy.TYPE_HIERARCHY).get(Mapping.class);
+	}
+
+	@Benchmark
+	public Mapping mergedAnnotationsSynthesize(BenchmarkState state) {
+		return MergedAnnotations.from(state.annotatedMethod, SearchStrategy.TYPE_HIERARCHY)
+				.get(Mapping.class).synthesize();
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD, ElementType.ANNOTATION_TYPE})
+	public @interface Mapping {
+
+		@AliasFor("path")
+		String value() default "";
+
+		@AliasFor("value")
+		String path() default "";
+
+		String method() default "";
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@Target({ElementType.TYPE, ElementType.METHOD})
+	@Mapping(method = "GET")
+	public @interface GetMapping {
+
+		@AliasFor(annotation = Mapping.class)
+		String value() default "";
+	}
+
+
+	public interface AnnotatedInterface {
+
+		@GetMapping("/interface")
+		void annotatedMethod();
+	}
+
+
+	@Mapping("/type")
+	public static class AnnotatedType implements AnnotatedInterface {
+
+		@Override
+		public void annotatedMethod() {
+		}
+
+		public void plainMethod() {
+		}
+	}
+
+}
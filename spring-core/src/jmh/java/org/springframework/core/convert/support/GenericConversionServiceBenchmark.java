@@ -0,0 +1,86 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.convert.support;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.core.convert.TypeDescriptor;
+
+/**
+ * Benchmarks for converter lookup and conversion in {@link GenericConversionService},
+ * for plain class pairs as used by data binding and SpEL, as well as for
+ * annotated type descriptors.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class GenericConversionServiceBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public DefaultConversionService conversionService;
+
+		public TypeDescriptor annotatedTarget;
+
+		@Setup
+		public void setup() throws Exception {
+			this.conversionService = new DefaultConversionService();
+			this.annotatedTarget = new TypeDescriptor(Target.class.getField("value"));
+		}
+	}
+
+
+	@Benchmark
+	public Object convertStringToInteger(BenchmarkState state) {
+		return state.conversionService.convert("42", Integer.class);
+	}
+
+	@Benchmark
+	public Object convertStringToEnum(BenchmarkState state) {
+		return state.conversionService.convert("SECOND", Level.class);
+	}
+
+	@Benchmark
+	public boolean canConvertUnrelatedTypes(BenchmarkState state) {
+		return state.conversionService.canConvert(Target.class, Level.class);
+	}
+
+	@Benchmark
+	public Object convertStringToAnnotatedInteger(BenchmarkState state) {
+		return state.conversionService.convert("42", TypeDescriptor.valueOf(String.class), state.annotatedTarget);
+	}
+
+
+	public enum Level {
+
+		FIRST, SECOND
+	}
+
+
+	public static class Target {
+
+		@Deprecated
+		public Integer value;
+	}
+
+}
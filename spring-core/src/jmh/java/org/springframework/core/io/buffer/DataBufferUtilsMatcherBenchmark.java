@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks for {@link DataBufferUtils#matcher(byte[])} splitting a buffer of
+ * newline-delimited lines, compared to a byte-at-a-time scan through
+ * {@link DataBuffer#getByte(int)} as performed by the previous matcher.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DataBufferUtilsMatcherBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"\n", "\r\n"})
+		public String delimiter;
+
+		@Param({"16", "128", "1024"})
+		public int lineLength;
+
+		public byte[] delimiterBytes;
+
+		public DataBuffer dataBuffer;
+
+		@Setup(Level.Trial)
+		public void setup() {
+			this.delimiterBytes = this.delimiter.getBytes(StandardCharsets.UTF_8);
+			byte[] line = new byte[this.lineLength];
+			Arrays.fill(line, (byte) 'x');
+			int lineCount = (64 * 1024) / (this.lineLength + this.delimiterBytes.length);
+			this.dataBuffer = new DefaultDataBufferFactory().allocateBuffer();
+			for (int i = 0; i < lineCount; i++) {
+				this.dataBuffer.write(line);
+				this.dataBuffer.write(this.delimiterBytes);
+			}
+		}
+	}
+
+
+	@Benchmark
+	public int matcher(BenchmarkState state) {
+		DataBuffer dataBuffer = state.dataBuffer;
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher(state.delimiterBytes);
+		int count = 0;
+		dataBuffer.readPosition(0);
+		int endIdx;
+		while ((endIdx = matcher.match(dataBuffer)) != -1) {
+			dataBuffer.readPosition(endIdx + 1);
+			count++;
+		}
+		return count;
+	}
+
+	@Benchmark
+	public int byteAtATime(BenchmarkState state) {
+		DataBuffer dataBuffer = state.dataBuffer;
+		byte[] delimiter = state.delimiterBytes;
+		int count = 0;
+		int matches = 0;
+		for (int i = 0; i < dataBuffer.writePosition(); i++) {
+			byte b = dataBuffer.getByte(i);
+			if (b == delimiter[matches]) {
+				matches++;
+				if (matches == delimiter.length) {
+					matches = 0;
+					count++;
+				}
+			}
+			else {
+				matches = (b == delimiter[0] ? 1 : 0);
+			}
+		}
+		return count;
+	}
+
+}
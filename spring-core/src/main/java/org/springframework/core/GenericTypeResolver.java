@@ -45,7 +45,7 @@ public final class GenericTypeResolver {
 
 	/** Cache from Class to TypeVariable Map. */
 	@SuppressWarnings("rawtypes")
-	private static final Map<Class<?>, Map<TypeVariable, Type>> typeVariableCache = new ConcurrentReferenceHashMap<>();
+	private static final Map<Class<?>, Map<TypeVariable, Type>> typeVariableCache = ConcurrentReferenceHashMap.forCache(16);
 
 
 	private GenericTypeResolver() {
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.util.Map;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link MethodInvocationStrategy} that binds each method once to a
+ * {@link MethodHandle} of type {@code (Object, Object[])Object}.
+ *
+ * <p>Exceptions thrown by the target method are wrapped in an
+ * {@link InvocationTargetException} within the handle itself, so that they
+ * can be told apart from argument conversion failures which are reported
+ * as {@link IllegalArgumentException}, just like with {@link Method#invoke}.
+ *
+ * @author agent
+ * @since 5.3
+ * @see MethodInvocationStrategy#METHOD_HANDLES
+ */
+final class MethodHandleInvocationStrategy implements MethodInvocationStrategy {
+
+	private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+	private static final MethodHandle invocationTargetExceptionConstructor;
+
+	static {
+		try {
+			invocationTargetExceptionConstructor = lookup.findConstructor(InvocationTargetException.class,
+					MethodType.methodType(void.class, Throwable.class));
+		}
+		catch (NoSuchMethodException | IllegalAccessException ex) {
+			throw new IllegalStateException("Cannot access InvocationTargetException constructor", ex);
+		}
+	}
+
+
+	private final Map<Method, Invoker> invokerCache = new ConcurrentReferenceHashMap<>(256);
+
+
+	@Override
+	public Invoker getInvoker(Method method) {
+		Invoker invoker = this.invokerCache.get(method);
+		if (invoker == null) {
+			invoker = createInvoker(method);
+			this.invokerCache.put(method, invoker);
+		}
+		return invoker;
+	}
+
+	private static Invoker createInvoker(Method method) {
+		ReflectionUtils.makeAccessible(method);
+		MethodHandle handle;
+		try {
+			handle = lookup.unreflect(method).asFixedArity();
+		}
+		catch (IllegalAccessException ex) {
+			// Not accessible from here: let reflection deal with it.
+			return method::invoke;
+		}
+		boolean isStatic = Modifier.isStatic(method.getModifiers());
+		if (isStatic) {
+			handle = MethodHandles.dropArguments(handle, 0, Object.class);
+		}
+
+		// Wrap exceptions thrown by the method itself, before any argument conversion
+		MethodType type = handle.type();
+		MethodHandle rethrow = MethodHandles.filterArguments(
+				MethodHandles.throwException(type.returnType(), InvocationTargetException.class),
+				0, invocationTargetExceptionConstructor);
+		rethrow = MethodHandles.dropArguments(rethrow, 1, type.parameterList());
+		handle = MethodHandles.catchException(handle, Throwable.class, rethrow);
+
+		int parameterCount = method.getParameterCount();
+		handle = handle.asType(MethodType.genericMethodType(parameterCount + 1))
+				.asSpreader(Object[].class, parameterCount);
+		return new MethodHandleInvoker(method, handle, isStatic);
+	}
+
+
+	/**
+	 * {@link Invoker} backed by a spread {@link MethodHandle}.
+	 */
+	private static class MethodHandleInvoker implements Invoker {
+
+		private static final Object[] EMPTY_ARGS = new Object[0];
+
+		private final Method method;
+
+		private final MethodHandle handle;
+
+		private final boolean isStatic;
+
+		MethodHandleInvoker(Method method, MethodHandle handle, boolean isStatic) {
+			this.method = method;
+			this.handle = handle;
+			this.isStatic = isStatic;
+		}
+
+		@Override
+		@Nullable
+		public Object invoke(@Nullable Object target, @Nullable Object... args) throws InvocationTargetException {
+			if (!this.isStatic) {
+				if (target == null) {
+					throw new NullPointerException("Target must not be null for method: " + this.method);
+				}
+				if (!this.method.getDeclaringClass().isInstance(target)) {
+					throw new IllegalArgumentException("Object is not an instance of declaring class: " +
+							this.method.getDeclaringClass().getName());
+				}
+			}
+			Object[] argsToUse = (args != null ? args : EMPTY_ARGS);
+			if (argsToUse.length != this.method.getParameterCount()) {
+				throw new IllegalArgumentException("Wrong number of arguments: expected " +
+						this.method.getParameterCount() + ", got " + argsToUse.length);
+			}
+			try {
+				return (Object) this.handle.invokeExact(target, argsToUse);
+			}
+			catch (InvocationTargetException ex) {
+				throw ex;
+			}
+			catch (ClassCastException | NullPointerException | WrongMethodTypeException ex) {
+				// Argument conversion failure: the method itself has not been invoked
+				throw new IllegalArgumentException("Argument type mismatch for method: " + this.method, ex);
+			}
+			catch (RuntimeException | Error ex) {
+				throw ex;
+			}
+			catch (Throwable ex) {
+				throw new UndeclaredThrowableException(ex);
+			}
+		}
+	}
+
+}
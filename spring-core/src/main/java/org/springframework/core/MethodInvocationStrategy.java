@@ -0,0 +1,103 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Strategy for invoking a given {@link Method}, binding each method once
+ * to a reusable {@link Invoker}.
+ *
+ * <p>Two strategies are available: plain {@link #REFLECTION reflection} via
+ * {@link Method#invoke}, and {@link #METHOD_HANDLES method handles} which bind
+ * each method to a spread {@link java.lang.invoke.MethodHandle} once and avoid
+ * the reflective dispatch afterwards. The {@link #DEFAULT} strategy used by the
+ * framework's handler and AOP invocation paths can be switched through the
+ * {@value #STRATEGY_PROPERTY_NAME} property.
+ *
+ * <p>Either way, an {@link Invoker} has the exception semantics of
+ * {@link Method#invoke}, so callers can switch between strategies transparently.
+ *
+ * @author agent
+ * @since 5.3
+ * @see SpringProperties
+ */
+public interface MethodInvocationStrategy {
+
+	/**
+	 * System property that selects the {@link #DEFAULT} strategy:
+	 * "reflection" (the default) or "methodhandles".
+	 * @see SpringProperties
+	 */
+	String STRATEGY_PROPERTY_NAME = "spring.core.methodInvocationStrategy";
+
+	/**
+	 * Strategy invoking methods through {@link Method#invoke}.
+	 */
+	MethodInvocationStrategy REFLECTION = new ReflectionInvocationStrategy();
+
+	/**
+	 * Strategy invoking methods through a {@link java.lang.invoke.MethodHandle}
+	 * bound once per method, falling back to reflection if a method cannot be
+	 * unreflected.
+	 */
+	MethodInvocationStrategy METHOD_HANDLES = new MethodHandleInvocationStrategy();
+
+	/**
+	 * The strategy used by default, as selected through the
+	 * {@value #STRATEGY_PROPERTY_NAME} property.
+	 */
+	MethodInvocationStrategy DEFAULT =
+			("methodhandles".equalsIgnoreCase(SpringProperties.getProperty(STRATEGY_PROPERTY_NAME)) ?
+					METHOD_HANDLES : REFLECTION);
+
+
+	/**
+	 * Return an {@link Invoker} for the given method.
+	 * <p>The method will be made accessible if necessary.
+	 * @param method the method to invoke
+	 * @return the corresponding invoker, cached per method so that callers
+	 * on a hot path do not allocate an invoker per invocation
+	 */
+	Invoker getInvoker(Method method);
+
+
+	/**
+	 * Callback for invoking a specific method.
+	 */
+	@FunctionalInterface
+	interface Invoker {
+
+		/**
+		 * Invoke the underlying method on the given target.
+		 * @param target the target instance ({@code null} for static methods)
+		 * @param args the method arguments
+		 * @return the method's return value, or {@code null} for a {@code void} method
+		 * @throws IllegalAccessException if the method is not accessible
+		 * @throws IllegalArgumentException if the target or arguments do not match
+		 * @throws InvocationTargetException wrapping an exception thrown by the method
+		 * @see Method#invoke
+		 */
+		@Nullable
+		Object invoke(@Nullable Object target, @Nullable Object... args)
+				throws IllegalAccessException, InvocationTargetException;
+	}
+
+}
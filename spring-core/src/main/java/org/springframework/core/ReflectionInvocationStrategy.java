@@ -0,0 +1,48 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link MethodInvocationStrategy} that invokes methods through {@link Method#invoke}.
+ *
+ * @author agent
+ * @since 5.3
+ * @see MethodInvocationStrategy#REFLECTION
+ */
+final class ReflectionInvocationStrategy implements MethodInvocationStrategy {
+
+	private final Map<Method, Invoker> invokerCache = new ConcurrentReferenceHashMap<>(256);
+
+
+	@Override
+	public Invoker getInvoker(Method method) {
+		Invoker invoker = this.invokerCache.get(method);
+		if (invoker == null) {
+			ReflectionUtils.makeAccessible(method);
+			invoker = method::invoke;
+			this.invokerCache.put(method, invoker);
+		}
+		return invoker;
+	}
+
+}
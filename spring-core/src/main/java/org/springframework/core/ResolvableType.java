@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -92,7 +92,10 @@ public class ResolvableType implements Serializable {
 	private static final ResolvableType[] EMPTY_TYPES_ARRAY = new ResolvableType[0];
 
 	private static final ConcurrentReferenceHashMap<ResolvableType, ResolvableType> cache =
-			new ConcurrentReferenceHashMap<>(256);
+			ConcurrentReferenceHashMap.forCache(256);
+
+	private static final ConcurrentReferenceHashMap<OwnerKey, ResolvableType> ownerCache =
+			ConcurrentReferenceHashMap.forCache(256);
 
 
 	/**
@@ -133,6 +136,13 @@ public class ResolvableType implements Serializable {
 	@Nullable
 	private volatile ResolvableType[] generics;
 
+	/**
+	 * The equal, cached instance that this type shares its lazily
+	 * resolved supertype, interfaces and generics with, if any.
+	 */
+	@Nullable
+	private transient ResolvableType canonicalType;
+
 
 	/**
 	 * Private constructor used to create a new {@link ResolvableType} for cache key purposes,
@@ -469,7 +479,8 @@ public class ResolvableType implements Serializable {
 		}
 		ResolvableType superType = this.superType;
 		if (superType == null) {
-			superType = forType(resolved.getGenericSuperclass(), this);
+			superType = (this.canonicalType != null ? this.canonicalType.getSuperType() :
+					forType(resolved.getGenericSuperclass(), this));
 			this.superType = superType;
 		}
 		return superType;
@@ -488,6 +499,10 @@ public class ResolvableType implements Serializable {
 			return EMPTY_TYPES_ARRAY;
 		}
 		ResolvableType[] interfaces = this.interfaces;
+		if (interfaces == null && this.canonicalType != null) {
+			interfaces = this.canonicalType.getInterfaces();
+			this.interfaces = interfaces;
+		}
 		if (interfaces == null) {
 			Type[] genericIfcs = resolved.getGenericInterfaces();
 			interfaces = new ResolvableType[genericIfcs.length];
@@ -692,7 +707,10 @@ public class ResolvableType implements Serializable {
 		}
 		ResolvableType[] generics = this.generics;
 		if (generics == null) {
-			if (this.type instanceof Class) {
+			if (this.canonicalType != null) {
+				generics = this.canonicalType.getGenerics();
+			}
+			else if (this.type instanceof Class) {
 				Type[] typeParams = ((Class<?>) this.type).getTypeParameters();
 				generics = new ResolvableType[typeParams.length];
 				for (int i = 0; i < generics.length; i++) {
@@ -1038,7 +1056,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forClass(Class<?> baseType, Class<?> implementationClass) {
 		Assert.notNull(baseType, "Base type must not be null");
-		ResolvableType asType = forType(implementationClass).as(baseType);
+		ResolvableType asType = forOwner(implementationClass, baseType);
 		return (asType == NONE ? forType(baseType) : asType);
 	}
 
@@ -1127,7 +1145,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forField(Field field, Class<?> implementationClass) {
 		Assert.notNull(field, "Field must not be null");
-		ResolvableType owner = forType(implementationClass).as(field.getDeclaringClass());
+		ResolvableType owner = forOwner(implementationClass, field.getDeclaringClass());
 		return forType(null, new FieldTypeProvider(field), owner.asVariableResolver());
 	}
 
@@ -1175,7 +1193,7 @@ public class ResolvableType implements Serializable {
 	 */
 	public static ResolvableType forField(Field field, int nestingLevel, @Nullable Class<?> implementationClass) {
 		Assert.notNull(field, "Field must not be null");
-		ResolvableType owner = forType(implementationClass).as(field.getDeclaringClass());
+		ResolvableType owner = forOwner(implementationClass, field.getDeclaringClass());
 		return forType(null, new FieldTypeProvider(field), owner.asVariableResolver()).getNested(nestingLevel);
 	}
 
@@ -1289,9 +1307,9 @@ public class ResolvableType implements Serializable {
 			@Nullable ResolvableType implementationType) {
 
 		Assert.notNull(methodParameter, "MethodParameter must not be null");
-		implementationType = (implementationType != null ? implementationType :
-				forType(methodParameter.getContainingClass()));
-		ResolvableType owner = implementationType.as(methodParameter.getDeclaringClass());
+		ResolvableType owner = (implementationType != null ?
+				implementationType.as(methodParameter.getDeclaringClass()) :
+				forOwner(methodParameter.getContainingClass(), methodParameter.getDeclaringClass()));
 		return forType(null, new MethodParameterTypeProvider(methodParameter), owner.asVariableResolver()).
 				getNested(methodParameter.getNestingLevel(), methodParameter.typeIndexesPerLevel);
 	}
@@ -1323,7 +1341,7 @@ public class ResolvableType implements Serializable {
 	static ResolvableType forMethodParameter(
 			MethodParameter methodParameter, @Nullable Type targetType, int nestingLevel) {
 
-		ResolvableType owner = forType(methodParameter.getContainingClass()).as(methodParameter.getDeclaringClass());
+		ResolvableType owner = forOwner(methodParameter.getContainingClass(), methodParameter.getDeclaringClass());
 		return forType(targetType, new MethodParameterTypeProvider(methodParameter), owner.asVariableResolver()).
 				getNested(nestingLevel, methodParameter.typeIndexesPerLevel);
 	}
@@ -1426,15 +1444,40 @@ public class ResolvableType implements Serializable {
 			cache.put(cachedType, cachedType);
 		}
 		resultType.resolved = cachedType.resolved;
+		resultType.canonicalType = cachedType;
 		return resultType;
 	}
 
+	/**
+	 * Return the given implementation class as the given declaring class,
+	 * for resolving the type variables of a member of the declaring class.
+	 * <p>The result is cached per implementation and declaring class, so that
+	 * the type hierarchy is only traversed once and all members resolved against
+	 * it share the same owner, including its lazily resolved generics.
+	 * @param implementationClass the implementation class or {@code null}
+	 * @param declaringClass the class declaring the member to resolve
+	 * @return the owner type (or {@link #NONE} if not resolvable)
+	 */
+	private static ResolvableType forOwner(@Nullable Class<?> implementationClass, Class<?> declaringClass) {
+		if (implementationClass == null) {
+			return NONE;
+		}
+		OwnerKey key = new OwnerKey(implementationClass, declaringClass);
+		ResolvableType owner = ownerCache.get(key);
+		if (owner == null) {
+			owner = forType(implementationClass).as(declaringClass);
+			ownerCache.put(key, owner);
+		}
+		return owner;
+	}
+
 	/**
 	 * Clear the internal {@code ResolvableType}/{@code SerializableTypeWrapper} cache.
 	 * @since 4.2
 	 */
 	public static void clearCache() {
 		cache.clear();
+		ownerCache.clear();
 		SerializableTypeWrapper.cache.clear();
 	}
 
@@ -1664,6 +1707,40 @@ public class ResolvableType implements Serializable {
 	}
 
 
+	/**
+	 * Cache key for an implementation class as seen from a declaring class.
+	 */
+	private static final class OwnerKey {
+
+		private final Class<?> implementationClass;
+
+		private final Class<?> declaringClass;
+
+		OwnerKey(Class<?> implementationClass, Class<?> declaringClass) {
+			this.implementationClass = implementationClass;
+			this.declaringClass = declaringClass;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof OwnerKey)) {
+				return false;
+			}
+			OwnerKey otherKey = (OwnerKey) other;
+			return (this.implementationClass == otherKey.implementationClass &&
+					this.declaringClass == otherKey.declaringClass);
+		}
+
+		@Override
+		public int hashCode() {
+			return this.implementationClass.hashCode() * 31 + this.declaringClass.hashCode();
+		}
+	}
+
+
 	/**
 	 * Internal {@link Type} used to represent an empty value.
 	 */
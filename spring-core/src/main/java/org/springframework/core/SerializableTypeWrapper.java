@@ -59,7 +59,7 @@ final class SerializableTypeWrapper {
 	private static final Class<?>[] SUPPORTED_SERIALIZABLE_TYPES = {
 			GenericArrayType.class, ParameterizedType.class, TypeVariable.class, WildcardType.class};
 
-	static final ConcurrentReferenceHashMap<Type, Type> cache = new ConcurrentReferenceHashMap<>(256);
+	static final ConcurrentReferenceHashMap<Type, Type> cache = ConcurrentReferenceHashMap.forCache(256);
 
 
 	private SerializableTypeWrapper() {
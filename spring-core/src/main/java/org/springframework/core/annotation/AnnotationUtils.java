@@ -113,7 +113,7 @@ public abstract class AnnotationUtils {
 			AnnotationFilter.packages("java.lang.annotation");
 
 	private static final Map<Class<? extends Annotation>, Map<String, DefaultValueHolder>> defaultValuesCache =
-			new ConcurrentReferenceHashMap<>();
+			ConcurrentReferenceHashMap.forCache(16);
 
 
 	/**
@@ -1289,6 +1289,81 @@ public abstract class AnnotationUtils {
 	public static void clearCache() {
 		AnnotationTypeMappings.clearCache();
 		AnnotationsScanner.clearCache();
+		MergedAnnotationCache.clearCache();
+	}
+
+	/**
+	 * Return a snapshot of the statistics of the cache for merged annotations
+	 * as resolved by {@link AnnotatedElementUtils#getMergedAnnotation} and
+	 * {@link AnnotatedElementUtils#findMergedAnnotation}, e.g. for monitoring
+	 * its hit ratio or for tuning its maximum size.
+	 * @since 5.3
+	 * @see #clearCache()
+	 */
+	public static CacheStatistics getMergedAnnotationCacheStatistics() {
+		return new CacheStatistics(MergedAnnotationCache.size(), MergedAnnotationCache.getHitCount(),
+				MergedAnnotationCache.getMissCount(), MergedAnnotationCache.getEvictionCount());
+	}
+
+
+	/**
+	 * Snapshot of the statistics of an internal annotation cache.
+	 * <p>Counts accumulate since the cache was created and are not reset by
+	 * {@link #clearCache()}.
+	 * @since 5.3
+	 * @see #getMergedAnnotationCacheStatistics()
+	 */
+	public static final class CacheStatistics {
+
+		private final int size;
+
+		private final long hitCount;
+
+		private final long missCount;
+
+		private final long evictionCount;
+
+		CacheStatistics(int size, long hitCount, long missCount, long evictionCount) {
+			this.size = size;
+			this.hitCount = hitCount;
+			this.missCount = missCount;
+			this.evictionCount = evictionCount;
+		}
+
+		/**
+		 * Return the number of entries in the cache.
+		 */
+		public int getSize() {
+			return this.size;
+		}
+
+		/**
+		 * Return the number of lookups that were served from the cache.
+		 */
+		public long getHitCount() {
+			return this.hitCount;
+		}
+
+		/**
+		 * Return the number of lookups that had to be resolved.
+		 */
+		public long getMissCount() {
+			return this.missCount;
+		}
+
+		/**
+		 * Return the number of entries evicted to keep the cache within its
+		 * maximum size.
+		 */
+		public long getEvictionCount() {
+			return this.evictionCount;
+		}
+
+		@Override
+		public String toString() {
+			return "CacheStatistics[size=" + this.size + ", hits=" + this.hitCount +
+					", misses=" + this.missCount + ", evictions=" + this.evictionCount + "]";
+		}
 	}
 
 
@@ -51,10 +51,10 @@ abstract class AnnotationsScanner {
 
 
 	private static final Map<AnnotatedElement, Annotation[]> declaredAnnotationCache =
-			new ConcurrentReferenceHashMap<>(256);
+			ConcurrentReferenceHashMap.forCache(256);
 
 	private static final Map<Class<?>, Method[]> baseTypeMethodsCache =
-			new ConcurrentReferenceHashMap<>(256);
+			ConcurrentReferenceHashMap.forCache(256);
 
 
 	private AnnotationsScanner() {
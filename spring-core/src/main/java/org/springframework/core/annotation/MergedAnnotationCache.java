@@ -0,0 +1,151 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Member;
+import java.util.function.Supplier;
+
+import org.springframework.core.annotation.MergedAnnotations.SearchStrategy;
+import org.springframework.lang.Nullable;
+import org.springframework.util.ConcurrentReferenceHashMap;
+
+/**
+ * Cache of merged, synthesized annotations per annotated element, annotation
+ * type and search strategy, as resolved by {@link AnnotatedElementUtils} on
+ * hot runtime paths such as transaction attribute or request mapping lookups.
+ *
+ * <p>The absence of an annotation is cached as well, so that repeated lookups
+ * on elements without the annotation return without scanning. Only classes and
+ * class members are cached since their equality is well-defined.
+ *
+ * <p>The cache is bounded to {@value #MAXIMUM_SIZE} entries, evicting the
+ * least recently used entries, and keeps track of its hit, miss and eviction
+ * counts.
+ *
+ * @author agent
+ * @since 5.3
+ * @see AnnotationUtils#clearCache()
+ * @see AnnotationUtils#getMergedAnnotationCacheStatistics()
+ */
+abstract class MergedAnnotationCache {
+
+	static final int MAXIMUM_SIZE = 4096;
+
+	private static final Object NOT_PRESENT = new Object();
+
+	private static final ConcurrentReferenceHashMap<Key, Object> cache =
+			ConcurrentReferenceHashMap.forCache(256, MAXIMUM_SIZE);
+
+
+	private MergedAnnotationCache() {
+	}
+
+
+	/**
+	 * Return the cached merged annotation for the given element, resolving
+	 * and caching it on first access.
+	 * @param element the annotated element
+	 * @param annotationType the annotation type to find
+	 * @param searchStrategy the search strategy that the resolver applies
+	 * @param resolver the resolver for the merged, synthesized annotation
+	 * @return the merged annotation, or {@code null} if not present
+	 */
+	@Nullable
+	@SuppressWarnings("unchecked")
+	static <A extends Annotation> A get(AnnotatedElement element, Class<A> annotationType,
+			SearchStrategy searchStrategy, Supplier<A> resolver) {
+
+		if (!(element instanceof Class || element instanceof Member)) {
+			return resolver.get();
+		}
+		Key key = new Key(element, annotationType, searchStrategy);
+		Object cached = cache.get(key);
+		if (cached == null) {
+			A annotation = resolver.get();
+			cached = (annotation != null ? annotation : NOT_PRESENT);
+			cache.put(key, cached);
+		}
+		return (cached != NOT_PRESENT ? (A) cached : null);
+	}
+
+	static int size() {
+		return cache.size();
+	}
+
+	static long getHitCount() {
+		return cache.getHitCount();
+	}
+
+	static long getMissCount() {
+		return cache.getMissCount();
+	}
+
+	static long getEvictionCount() {
+		return cache.getEvictionCount();
+	}
+
+	static void clearCache() {
+		cache.clear();
+	}
+
+
+	/**
+	 * Cache key for an annotated element, annotation type and search strategy.
+	 */
+	private static final class Key {
+
+		private final AnnotatedElement element;
+
+		private final Class<? extends Annotation> annotationType;
+
+		private final SearchStrategy searchStrategy;
+
+		Key(AnnotatedElement element, Class<? extends Annotation> annotationType, SearchStrategy searchStrategy) {
+			this.element = element;
+			this.annotationType = annotationType;
+			this.searchStrategy = searchStrategy;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof Key)) {
+				return false;
+			}
+			Key otherKey = (Key) other;
+			return (this.annotationType == otherKey.annotationType &&
+					this.searchStrategy == otherKey.searchStrategy &&
+					this.element.equals(otherKey.element));
+		}
+
+		@Override
+		public int hashCode() {
+			return (this.element.hashCode() * 31 + this.annotationType.hashCode()) * 31 +
+					this.searchStrategy.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			return this.annotationType.getName() + " on " + this.element + " (" + this.searchStrategy + ")";
+		}
+	}
+
+}
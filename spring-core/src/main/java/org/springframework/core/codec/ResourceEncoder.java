@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,6 +16,8 @@
 
 package org.springframework.core.codec;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.Map;
 
 import reactor.core.publisher.Flux;
@@ -46,6 +48,8 @@ public class ResourceEncoder extends AbstractSingleValueEncoder<Resource> {
 
 	private final int bufferSize;
 
+	private long memoryMappingThreshold = -1;
+
 
 	public ResourceEncoder() {
 		this(DEFAULT_BUFFER_SIZE);
@@ -58,6 +62,28 @@ public class ResourceEncoder extends AbstractSingleValueEncoder<Resource> {
 	}
 
 
+	/**
+	 * Set the file size in bytes from which file-based resources are
+	 * {@linkplain DataBufferUtils#readByMapping memory-mapped} rather than
+	 * read into buffers.
+	 * <p>By default this is set to -1, in which case resources are always read.
+	 * @param memoryMappingThreshold the minimum file size to map, or -1
+	 * to disable memory mapping
+	 * @since 5.3
+	 */
+	public void setMemoryMappingThreshold(long memoryMappingThreshold) {
+		this.memoryMappingThreshold = memoryMappingThreshold;
+	}
+
+	/**
+	 * Return the {@link #setMemoryMappingThreshold configured} memory mapping threshold.
+	 * @since 5.3
+	 */
+	public long getMemoryMappingThreshold() {
+		return this.memoryMappingThreshold;
+	}
+
+
 	@Override
 	public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
 		Class<?> clazz = elementType.toClass();
@@ -72,6 +98,18 @@ public class ResourceEncoder extends AbstractSingleValueEncoder<Resource> {
 			String logPrefix = Hints.getLogPrefix(hints);
 			logger.debug(logPrefix + "Writing [" + resource + "]");
 		}
+		if (this.memoryMappingThreshold >= 0 && resource.isFile()) {
+			try {
+				File file = resource.getFile();
+				long length = file.length();
+				if (length >= this.memoryMappingThreshold) {
+					return DataBufferUtils.readByMapping(file.toPath(), 0, length, bufferFactory, this.bufferSize);
+				}
+			}
+			catch (IOException ex) {
+				// fall back to regular read, below
+			}
+		}
 		return DataBufferUtils.read(resource, bufferFactory, this.bufferSize);
 	}
 
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -18,6 +18,7 @@ package org.springframework.core.codec;
 
 import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
 import java.util.Map;
 import java.util.OptionalLong;
 
@@ -58,6 +59,8 @@ public class ResourceRegionEncoder extends AbstractEncoder<ResourceRegion> {
 
 	private final int bufferSize;
 
+	private long memoryMappingThreshold = -1;
+
 
 	public ResourceRegionEncoder() {
 		this(DEFAULT_BUFFER_SIZE);
@@ -69,6 +72,28 @@ public class ResourceRegionEncoder extends AbstractEncoder<ResourceRegion> {
 		this.bufferSize = bufferSize;
 	}
 
+
+	/**
+	 * Set the region size in bytes from which regions of file-based resources
+	 * are {@linkplain DataBufferUtils#readByMapping memory-mapped} rather than
+	 * read into buffers.
+	 * <p>By default this is set to -1, in which case regions are always read.
+	 * @param memoryMappingThreshold the minimum region size to map, or -1
+	 * to disable memory mapping
+	 * @since 5.3
+	 */
+	public void setMemoryMappingThreshold(long memoryMappingThreshold) {
+		this.memoryMappingThreshold = memoryMappingThreshold;
+	}
+
+	/**
+	 * Return the {@link #setMemoryMappingThreshold configured} memory mapping threshold.
+	 * @since 5.3
+	 */
+	public long getMemoryMappingThreshold() {
+		return this.memoryMappingThreshold;
+	}
+
 	@Override
 	public boolean canEncode(ResolvableType elementType, @Nullable MimeType mimeType) {
 		return super.canEncode(elementType, mimeType)
@@ -129,6 +154,16 @@ public class ResourceRegionEncoder extends AbstractEncoder<ResourceRegion> {
 					"Writing region " + position + "-" + (position + count) + " of [" + resource + "]");
 		}
 
+		if (this.memoryMappingThreshold >= 0 && count >= this.memoryMappingThreshold && resource.isFile()) {
+			try {
+				Path path = resource.getFile().toPath();
+				return DataBufferUtils.readByMapping(path, position, count, bufferFactory, this.bufferSize);
+			}
+			catch (IOException ex) {
+				// fall back to regular read, below
+			}
+		}
+
 		Flux<DataBuffer> in = DataBufferUtils.read(resource, position, bufferFactory, this.bufferSize);
 		return DataBufferUtils.takeUntilByteCount(in, count);
 	}
@@ -78,6 +78,9 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	private final Map<ConverterCacheKey, GenericConverter> converterCache = new ConcurrentReferenceHashMap<>(64);
 
+	private final Map<Class<?>, Map<Class<?>, GenericConverter>> plainConverterCache =
+			new ConcurrentReferenceHashMap<>(64);
+
 
 	// ConverterRegistry implementation
 
@@ -240,7 +243,9 @@ public class GenericConversionService implements ConfigurableConversionService {
 
 	/**
 	 * Hook method to lookup the converter for a given sourceType/targetType pair.
-	 * First queries this ConversionService's converter cache.
+	 * First queries this ConversionService's converter cache: by source and target
+	 * class for plain types without annotations and element types, and by type
+	 * descriptor pair otherwise.
 	 * On a cache miss, then performs an exhaustive search for a matching converter.
 	 * If no converter matches, returns the default converter.
 	 * @param sourceType the source type to convert from
@@ -251,24 +256,29 @@ public class GenericConversionService implements ConfigurableConversionService {
 	 */
 	@Nullable
 	protected GenericConverter getConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
-		ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
-		GenericConverter converter = this.converterCache.get(key);
-		if (converter != null) {
+		if (isPlainType(sourceType) && isPlainType(targetType)) {
+			// Fast path: no cache key needed for a plain class pair
+			Map<Class<?>, GenericConverter> convertersForSource = this.plainConverterCache.get(sourceType.getType());
+			GenericConverter converter = (convertersForSource != null ?
+					convertersForSource.get(targetType.getType()) : null);
+			if (converter == null) {
+				converter = findConverter(sourceType, targetType);
+				if (convertersForSource == null) {
+					convertersForSource = this.plainConverterCache.computeIfAbsent(
+							sourceType.getType(), key -> new ConcurrentReferenceHashMap<>(16));
+				}
+				convertersForSource.put(targetType.getType(), converter);
+			}
 			return (converter != NO_MATCH ? converter : null);
 		}
 
-		converter = this.converters.find(sourceType, targetType);
+		ConverterCacheKey key = new ConverterCacheKey(sourceType, targetType);
+		GenericConverter converter = this.converterCache.get(key);
 		if (converter == null) {
-			converter = getDefaultConverter(sourceType, targetType);
-		}
-
-		if (converter != null) {
+			converter = findConverter(sourceType, targetType);
 			this.converterCache.put(key, converter);
-			return converter;
 		}
-
-		this.converterCache.put(key, NO_MATCH);
-		return null;
+		return (converter != NO_MATCH ? converter : null);
 	}
 
 	/**
@@ -302,8 +312,33 @@ public class GenericConversionService implements ConfigurableConversionService {
 		return generics;
 	}
 
+	/**
+	 * Perform an exhaustive search for a matching converter, falling back to
+	 * the default converter.
+	 * @return the converter, or {@code NO_MATCH} if none found
+	 */
+	private GenericConverter findConverter(TypeDescriptor sourceType, TypeDescriptor targetType) {
+		GenericConverter converter = this.converters.find(sourceType, targetType);
+		if (converter == null) {
+			converter = getDefaultConverter(sourceType, targetType);
+		}
+		return (converter != null ? converter : NO_MATCH);
+	}
+
+	/**
+	 * Determine whether the given type descriptor is fully described by its
+	 * class, i.e. equal to {@link TypeDescriptor#valueOf} for its type.
+	 * Generics are not considered by type descriptor equality and therefore
+	 * do not need to be checked here.
+	 */
+	private static boolean isPlainType(TypeDescriptor typeDescriptor) {
+		return (!typeDescriptor.isCollection() && !typeDescriptor.isArray() && !typeDescriptor.isMap() &&
+				typeDescriptor.getAnnotations().length == 0);
+	}
+
 	private void invalidateCache() {
 		this.converterCache.clear();
+		this.plainConverterCache.clear();
 	}
 
 	@Nullable
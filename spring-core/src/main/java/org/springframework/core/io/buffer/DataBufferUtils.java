@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,10 +21,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.AsynchronousFileChannel;
 import java.nio.channels.Channel;
 import java.nio.channels.Channels;
 import java.nio.channels.CompletionHandler;
+import java.nio.channels.FileChannel;
 import java.nio.channels.ReadableByteChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.file.OpenOption;
@@ -229,6 +232,55 @@ public abstract class DataBufferUtils {
 		return position == 0 ? result : skipUntilByteCount(result, position);
 	}
 
+	/**
+	 * Read a region of the given file {@code Path} into a {@code Flux} of
+	 * {@code DataBuffer}s by mapping it into memory, rather than copying its
+	 * contents into buffers allocated from the factory.
+	 * <p>The region is mapped in windows of up to 1 GB, each of which is
+	 * {@linkplain DataBufferFactory#wrap(ByteBuffer) wrapped} in slices of
+	 * {@code bufferSize} bytes. The file channel is closed when the flux is
+	 * terminated, while the mapped slices remain valid until garbage collected.
+	 * <p>Note that the file must not be truncated while its mapped slices are
+	 * in use, and that mapped files may not be deletable on some platforms
+	 * until the mapping has been garbage collected.
+	 * @param path the path to read bytes from
+	 * @param position the position within the file to start reading from
+	 * @param count the maximum number of bytes to read
+	 * @param bufferFactory the factory to wrap mapped slices with
+	 * @param bufferSize the maximum size of the data buffers
+	 * @return a Flux of data buffers backed by the mapped file region
+	 * @since 5.3
+	 */
+	public static Flux<DataBuffer> readByMapping(
+			Path path, long position, long count, DataBufferFactory bufferFactory, int bufferSize) {
+
+		Assert.notNull(path, "Path must not be null");
+		Assert.notNull(bufferFactory, "BufferFactory must not be null");
+		Assert.isTrue(position >= 0, "'position' must be >= 0");
+		Assert.isTrue(count >= 0, "'count' must be >= 0");
+		Assert.isTrue(bufferSize > 0, "'bufferSize' must be > 0");
+
+		return Flux.using(() -> FileChannel.open(path, StandardOpenOption.READ),
+				channel -> Flux.generate(
+						() -> new MappedRegion(position, Math.min(position + count, channel.size())),
+						(region, sink) -> {
+							try {
+								DataBuffer dataBuffer = region.next(channel, bufferFactory, bufferSize);
+								if (dataBuffer != null) {
+									sink.next(dataBuffer);
+								}
+								else {
+									sink.complete();
+								}
+							}
+							catch (IOException ex) {
+								sink.error(ex);
+							}
+							return region;
+						}),
+				DataBufferUtils::closeChannel);
+	}
+
 
 	//---------------------------------------------------------------------
 	// Writing
@@ -886,19 +938,38 @@ public abstract class DataBufferUtils {
 
 	/**
 	 * Implementation of {@link Matcher} that uses the Knuth-Morris-Pratt algorithm.
+	 * <p>While no partial match is in progress, the matcher skips ahead to the
+	 * next occurrence of the first delimiter byte by scanning the underlying
+	 * {@link ByteBuffer} a {@code long} word at a time, rather than inspecting
+	 * each byte through {@link DataBuffer#getByte(int)}.
 	 * @see <a href="https://www.nayuki.io/page/knuth-morris-pratt-string-matching">Knuth-Morris-Pratt string matching</a>
 	 */
 	private static class KnuthMorrisPrattMatcher implements Matcher {
 
+		private static final int BULK_SCAN_THRESHOLD = 2 * Long.BYTES;
+
+		private static final long LOW_SEVEN_BITS = 0x7F7F7F7F7F7F7F7FL;
+
 		private final byte[] delimiter;
 
 		private final int[] table;
 
+		private final long firstBytePattern;
+
 		private int matches = 0;
 
+		@Nullable
+		private DataBuffer scannedBuffer;
+
+		@Nullable
+		private ByteBuffer scanView;
+
+		private int scanOffset;
+
 		public KnuthMorrisPrattMatcher(byte[] delimiter) {
 			this.delimiter = Arrays.copyOf(delimiter, delimiter.length);
 			this.table = longestSuffixPrefixTable(delimiter);
+			this.firstBytePattern = (delimiter[0] & 0xFFL) * 0x0101010101010101L;
 		}
 
 		private static int[] longestSuffixPrefixTable(byte[] delimiter) {
@@ -919,7 +990,14 @@ public abstract class DataBufferUtils {
 
 		@Override
 		public int match(DataBuffer dataBuffer) {
-			for (int i = dataBuffer.readPosition(); i < dataBuffer.writePosition(); i++) {
+			int end = dataBuffer.writePosition();
+			for (int i = dataBuffer.readPosition(); i < end; i++) {
+				if (this.matches == 0 && end - i >= BULK_SCAN_THRESHOLD) {
+					i = indexOfFirstByte(dataBuffer, i, end);
+					if (i == -1) {
+						break;
+					}
+				}
 				byte b = dataBuffer.getByte(i);
 
 				while (this.matches > 0 && b != this.delimiter[this.matches]) {
@@ -934,6 +1012,44 @@ public abstract class DataBufferUtils {
 					}
 				}
 			}
+			// Buffer exhausted: no need to hold on to it any longer
+			this.scannedBuffer = null;
+			this.scanView = null;
+			return -1;
+		}
+
+		/**
+		 * Find the index of the first delimiter byte in the given range, using
+		 * SWAR ("SIMD within a register") comparisons on eight bytes at a time.
+		 * The {@code ByteBuffer} view is kept across calls for the same data
+		 * buffer, since callers typically match repeatedly until it is consumed.
+		 */
+		private int indexOfFirstByte(DataBuffer dataBuffer, int from, int end) {
+			ByteBuffer view = this.scanView;
+			if (view == null || this.scannedBuffer != dataBuffer ||
+					from < this.scanOffset || end > this.scanOffset + view.limit()) {
+				view = dataBuffer.asByteBuffer(from, end - from).order(ByteOrder.BIG_ENDIAN);
+				this.scannedBuffer = dataBuffer;
+				this.scanView = view;
+				this.scanOffset = from;
+			}
+			int offset = this.scanOffset;
+			int i = from - offset;
+			int limit = end - offset;
+			for (; i + Long.BYTES <= limit; i += Long.BYTES) {
+				long word = view.getLong(i) ^ this.firstBytePattern;
+				// High bit set in each byte that is zero, i.e. equal to the first delimiter byte
+				long found = ~(((word & LOW_SEVEN_BITS) + LOW_SEVEN_BITS) | word | LOW_SEVEN_BITS);
+				if (found != 0) {
+					return offset + i + (Long.numberOfLeadingZeros(found) >>> 3);
+				}
+			}
+			byte first = this.delimiter[0];
+			for (; i < limit; i++) {
+				if (view.get(i) == first) {
+					return offset + i;
+				}
+			}
 			return -1;
 		}
 
@@ -1003,4 +1119,45 @@ public abstract class DataBufferUtils {
 		}
 	}
 
+
+	/**
+	 * Mutable state for {@link #readByMapping}: the current mapped window and
+	 * the position of the next slice within the file.
+	 */
+	private static class MappedRegion {
+
+		private static final long MAX_MAPPING_SIZE = 1 << 30;
+
+		private long position;
+
+		private final long end;
+
+		@Nullable
+		private MappedByteBuffer mapped;
+
+		MappedRegion(long position, long end) {
+			this.position = position;
+			this.end = end;
+		}
+
+		@Nullable
+		DataBuffer next(FileChannel channel, DataBufferFactory bufferFactory, int bufferSize) throws IOException {
+			if (this.position >= this.end) {
+				return null;
+			}
+			MappedByteBuffer mapped = this.mapped;
+			if (mapped == null || !mapped.hasRemaining()) {
+				long size = Math.min(this.end - this.position, MAX_MAPPING_SIZE);
+				mapped = channel.map(FileChannel.MapMode.READ_ONLY, this.position, size);
+				this.mapped = mapped;
+			}
+			int length = Math.min(bufferSize, mapped.remaining());
+			ByteBuffer slice = mapped.slice();
+			slice.limit(length);
+			mapped.position(mapped.position() + length);
+			this.position += length;
+			return bufferFactory.wrap(slice);
+		}
+	}
+
 }
@@ -0,0 +1,238 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+import org.springframework.lang.Nullable;
+
+/**
+ * Reference-counted {@link DataBuffer} allocated by a {@link PoolingDataBufferFactory},
+ * returning its memory to the factory's pool once released.
+ *
+ * <p>{@linkplain #slice Slices} share the reference count of the buffer they
+ * have been created from. A buffer must not be accessed after it has been
+ * released, since its memory may have been handed out again in the meantime.
+ *
+ * @author agent
+ * @since 5.3
+ */
+public class PoolingDataBuffer extends DataBufferWrapper implements PooledDataBuffer {
+
+	private final PoolingDataBufferFactory dataBufferFactory;
+
+	private final PoolingDataBufferFactory.Allocation allocation;
+
+
+	PoolingDataBuffer(PoolingDataBufferFactory dataBufferFactory, DataBuffer delegate,
+			PoolingDataBufferFactory.Allocation allocation) {
+
+		super(delegate);
+		this.dataBufferFactory = dataBufferFactory;
+		this.allocation = allocation;
+	}
+
+
+	@Override
+	public PoolingDataBufferFactory factory() {
+		return this.dataBufferFactory;
+	}
+
+	@Override
+	public boolean isAllocated() {
+		return this.allocation.isAllocated();
+	}
+
+	@Override
+	public PoolingDataBuffer retain() {
+		this.allocation.retain();
+		return this;
+	}
+
+	@Override
+	public boolean release() {
+		return this.allocation.release();
+	}
+
+	private void checkAllocated() {
+		if (!this.allocation.isAllocated()) {
+			throw new IllegalStateException("Buffer has already been released");
+		}
+	}
+
+
+	@Override
+	public PoolingDataBuffer capacity(int capacity) {
+		checkAllocated();
+		dataBuffer().capacity(capacity);
+		return this;
+	}
+
+	@Override
+	public PoolingDataBuffer ensureCapacity(int capacity) {
+		checkAllocated();
+		dataBuffer().ensureCapacity(capacity);
+		return this;
+	}
+
+	@Override
+	public PoolingDataBuffer readPosition(int readPosition) {
+		dataBuffer().readPosition(readPosition);
+		return this;
+	}
+
+	@Override
+	public PoolingDataBuffer writePosition(int writePosition) {
+		dataBuffer().writePosition(writePosition);
+		return this;
+	}
+
+	@Override
+	public PoolingDataBuffer read(byte[] destination) {
+		checkAllocated();
+		dataBuffer().read(destination);
+		return this;
+	}
+
+	@Override
+	public PoolingDataBuffer read(byte[] destination, int offset, int length) {
+		checkAllocated();
+		dataBuffer().read(destination, offset, length);
+		return this;
+	}
+
+	@Override
+	public PoolingDataBuffer write(byte b) {
+		checkAllocated();
+		dataBuffer().write(b);
+		return this;
+	}
+
+	@Override
+	public PoolingDataBuffer write(byte[] source) {
+		checkAllocated();
+		dataBuffer().write(source);
+		return this;
+	}
+
+	@Override
+	public PoolingDataBuffer write(byte[] source, int offset, int length) {
+		checkAllocated();
+		dataBuffer().write(source, offset, length);
+		return this;
+	}
+
+	@Override
+	public PoolingDataBuffer write(DataBuffer... buffers) {
+		checkAllocated();
+		dataBuffer().write(buffers);
+		return this;
+	}
+
+	@Override
+	public PoolingDataBuffer write(ByteBuffer... buffers) {
+		checkAllocated();
+		dataBuffer().write(buffers);
+		return this;
+	}
+
+	@Override
+	public PoolingDataBuffer write(CharSequence charSequence, Charset charset) {
+		checkAllocated();
+		dataBuffer().write(charSequence, charset);
+		return this;
+	}
+
+	@Override
+	public PoolingDataBuffer slice(int index, int length) {
+		checkAllocated();
+		return new PoolingDataBuffer(this.dataBufferFactory, dataBuffer().slice(index, length), this.allocation);
+	}
+
+	@Override
+	public PoolingDataBuffer retainedSlice(int index, int length) {
+		PoolingDataBuffer slice = slice(index, length);
+		this.allocation.retain();
+		return slice;
+	}
+
+	@Override
+	public ByteBuffer asByteBuffer() {
+		checkAllocated();
+		return dataBuffer().asByteBuffer();
+	}
+
+	@Override
+	public ByteBuffer asByteBuffer(int index, int length) {
+		checkAllocated();
+		return dataBuffer().asByteBuffer(index, length);
+	}
+
+	@Override
+	public InputStream asInputStream() {
+		checkAllocated();
+		return dataBuffer().asInputStream();
+	}
+
+	@Override
+	public InputStream asInputStream(boolean releaseOnClose) {
+		InputStream inputStream = asInputStream();
+		if (!releaseOnClose) {
+			return inputStream;
+		}
+		return new FilterInputStream(inputStream) {
+			private boolean closed;
+			@Override
+			public void close() throws IOException {
+				if (!this.closed) {
+					this.closed = true;
+					DataBufferUtils.release(PoolingDataBuffer.this);
+				}
+			}
+		};
+	}
+
+	@Override
+	public OutputStream asOutputStream() {
+		checkAllocated();
+		return dataBuffer().asOutputStream();
+	}
+
+
+	@Override
+	public boolean equals(@Nullable Object other) {
+		return (this == other || (other instanceof PoolingDataBuffer &&
+				dataBuffer().equals(((PoolingDataBuffer) other).dataBuffer())));
+	}
+
+	@Override
+	public int hashCode() {
+		return dataBuffer().hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return "PoolingDataBuffer (r: " + readPosition() + ", w: " + writePosition() +
+				", c: " + capacity() + ")";
+	}
+
+}
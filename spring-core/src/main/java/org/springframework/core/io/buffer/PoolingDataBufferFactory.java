@@ -0,0 +1,385 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.lang.ref.PhantomReference;
+import java.lang.ref.ReferenceQueue;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link DataBufferFactory} that pools direct memory for runtimes without
+ * a pooled allocator of their own, e.g. Servlet containers and Undertow.
+ *
+ * <p>Memory is handed out in power-of-two size classes from 256 bytes up to
+ * the {@linkplain #PoolingDataBufferFactory(int, long) maximum pooled buffer
+ * size}, with a bounded number of idle buffers retained per size class.
+ * Allocated buffers are {@link PoolingDataBuffer PoolingDataBuffers} which are
+ * reference counted: once {@linkplain DataBufferUtils#release released},
+ * their memory returns to the pool. Larger requests as well as
+ * {@linkplain #wrap(ByteBuffer) wrapped} buffers are not pooled.
+ *
+ * <p>If {@linkplain #setLeakDetection leak detection} is enabled, buffers
+ * that are garbage collected without having been released are logged and
+ * counted. Their memory is not returned to the pool, since views of it, e.g.
+ * obtained through {@link DataBuffer#asByteBuffer()}, may still be in use.
+ * The {@linkplain #getAllocatedBufferCount() number of allocated buffers}
+ * that have not been released is tracked regardless.
+ *
+ * <p>To use this factory with a server, set it on the corresponding adapter,
+ * e.g. via {@code ServletHttpHandlerAdapter#setDataBufferFactory} or
+ * {@code UndertowHttpHandlerAdapter#setDataBufferFactory}.
+ *
+ * @author agent
+ * @since 5.3
+ * @see PoolingDataBuffer
+ */
+public class PoolingDataBufferFactory implements DataBufferFactory {
+
+	/**
+	 * The default maximum size of pooled buffers.
+	 */
+	public static final int DEFAULT_MAX_POOLED_BUFFER_SIZE = 64 * 1024;
+
+	/**
+	 * The default maximum number of idle bytes retained per size class.
+	 */
+	public static final long DEFAULT_MAX_IDLE_BYTES_PER_SIZE_CLASS = 4 * 1024 * 1024;
+
+	private static final int MIN_SIZE_CLASS_SHIFT = 8;
+
+	private static final Log logger = LogFactory.getLog(PoolingDataBufferFactory.class);
+
+
+	private final DefaultDataBufferFactory delegateFactory = new DefaultDataBufferFactory(true);
+
+	private final SizeClass[] sizeClasses;
+
+	private final int maxPooledBufferSize;
+
+	private volatile boolean leakDetection;
+
+	private final ReferenceQueue<Allocation> leakQueue = new ReferenceQueue<>();
+
+	private final Set<LeakTracker> leakTrackers = ConcurrentHashMap.newKeySet();
+
+	private final AtomicInteger leakCount = new AtomicInteger();
+
+	private final AtomicInteger allocatedCount = new AtomicInteger();
+
+
+	/**
+	 * Create a new {@code PoolingDataBufferFactory} with default settings.
+	 */
+	public PoolingDataBufferFactory() {
+		this(DEFAULT_MAX_POOLED_BUFFER_SIZE, DEFAULT_MAX_IDLE_BYTES_PER_SIZE_CLASS);
+	}
+
+	/**
+	 * Create a new {@code PoolingDataBufferFactory}.
+	 * @param maxPooledBufferSize the maximum size of pooled buffers,
+	 * a power of two of at least 256
+	 * @param maxIdleBytesPerSizeClass the maximum number of bytes retained
+	 * in idle buffers per size class
+	 */
+	public PoolingDataBufferFactory(int maxPooledBufferSize, long maxIdleBytesPerSizeClass) {
+		Assert.isTrue(maxPooledBufferSize >= (1 << MIN_SIZE_CLASS_SHIFT) &&
+				Integer.bitCount(maxPooledBufferSize) == 1,
+				"'maxPooledBufferSize' should be a power of two of at least 256");
+		Assert.isTrue(maxIdleBytesPerSizeClass >= 0, "'maxIdleBytesPerSizeClass' should not be negative");
+		this.maxPooledBufferSize = maxPooledBufferSize;
+		int count = Integer.numberOfTrailingZeros(maxPooledBufferSize) - MIN_SIZE_CLASS_SHIFT + 1;
+		this.sizeClasses = new SizeClass[count];
+		for (int i = 0; i < count; i++) {
+			int size = 1 << (MIN_SIZE_CLASS_SHIFT + i);
+			this.sizeClasses[i] = new SizeClass(size, (int) Math.min(maxIdleBytesPerSizeClass / size, Integer.MAX_VALUE));
+		}
+	}
+
+
+	/**
+	 * Enable or disable leak detection for buffers allocated from now on.
+	 * <p>Default is {@code false}. Leak detection registers a phantom reference
+	 * per allocated buffer, so it is primarily intended for development and tests.
+	 */
+	public void setLeakDetection(boolean leakDetection) {
+		this.leakDetection = leakDetection;
+	}
+
+	/**
+	 * Return whether leak detection is enabled.
+	 */
+	public boolean isLeakDetection() {
+		return this.leakDetection;
+	}
+
+	/**
+	 * Return the number of idle buffers currently retained in the pool.
+	 */
+	public int getIdleBufferCount() {
+		int count = 0;
+		for (SizeClass sizeClass : this.sizeClasses) {
+			count += sizeClass.idleCount.get();
+		}
+		return count;
+	}
+
+	/**
+	 * Return the number of buffers allocated from this factory that have not
+	 * been released yet, including buffers that have been garbage collected
+	 * without having been released. Wrapped buffers are not included.
+	 */
+	public int getAllocatedBufferCount() {
+		return this.allocatedCount.get();
+	}
+
+	/**
+	 * Return the number of buffers that have been garbage collected without
+	 * having been released. Only tracked if leak detection is enabled.
+	 * @see #setLeakDetection
+	 */
+	public int getLeakCount() {
+		detectLeaks();
+		return this.leakCount.get();
+	}
+
+
+	@Override
+	public PoolingDataBuffer allocateBuffer() {
+		return allocateBuffer(DefaultDataBufferFactory.DEFAULT_INITIAL_CAPACITY);
+	}
+
+	@Override
+	public PoolingDataBuffer allocateBuffer(int initialCapacity) {
+		Assert.isTrue(initialCapacity >= 0, "'initialCapacity' should not be negative");
+		detectLeaks();
+		this.allocatedCount.incrementAndGet();
+		if (initialCapacity > this.maxPooledBufferSize) {
+			ByteBuffer byteBuffer = ByteBuffer.allocateDirect(initialCapacity);
+			return new PoolingDataBuffer(this,
+					DefaultDataBuffer.fromEmptyByteBuffer(this.delegateFactory, byteBuffer), new Allocation(null, null, true));
+		}
+		SizeClass sizeClass = this.sizeClasses[sizeClassIndex(initialCapacity)];
+		ByteBuffer chunk = sizeClass.acquire();
+		Allocation allocation = new Allocation(chunk, sizeClass, true);
+		if (this.leakDetection) {
+			LeakTracker tracker = new LeakTracker(allocation, chunk.capacity(), this.leakQueue);
+			this.leakTrackers.add(tracker);
+			allocation.tracker = tracker;
+		}
+		// Expose the requested capacity only, as with other factories
+		chunk.limit(initialCapacity);
+		return new PoolingDataBuffer(this, DefaultDataBuffer.fromEmptyByteBuffer(this.delegateFactory, chunk), allocation);
+	}
+
+	private static int sizeClassIndex(int capacity) {
+		if (capacity <= (1 << MIN_SIZE_CLASS_SHIFT)) {
+			return 0;
+		}
+		return (Integer.SIZE - Integer.numberOfLeadingZeros(capacity - 1)) - MIN_SIZE_CLASS_SHIFT;
+	}
+
+	@Override
+	public PoolingDataBuffer wrap(ByteBuffer byteBuffer) {
+		return new PoolingDataBuffer(this, this.delegateFactory.wrap(byteBuffer), new Allocation(null, null, false));
+	}
+
+	@Override
+	public PoolingDataBuffer wrap(byte[] bytes) {
+		return new PoolingDataBuffer(this, this.delegateFactory.wrap(bytes), new Allocation(null, null, false));
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>This implementation allocates a single pooled buffer
+	 * to contain the data in {@code dataBuffers}.
+	 */
+	@Override
+	public PoolingDataBuffer join(List<? extends DataBuffer> dataBuffers) {
+		Assert.notEmpty(dataBuffers, "DataBuffer List must not be empty");
+		int capacity = dataBuffers.stream().mapToInt(DataBuffer::readableByteCount).sum();
+		PoolingDataBuffer result = allocateBuffer(capacity);
+		dataBuffers.forEach(result::write);
+		dataBuffers.forEach(DataBufferUtils::release);
+		return result;
+	}
+
+	/**
+	 * Return the memory of a released allocation to the pool.
+	 */
+	private void recycle(Allocation allocation) {
+		LeakTracker tracker = allocation.tracker;
+		if (tracker != null) {
+			this.leakTrackers.remove(tracker);
+			tracker.clear();
+		}
+		if (allocation.counted) {
+			this.allocatedCount.decrementAndGet();
+		}
+		if (allocation.chunk != null && allocation.sizeClass != null) {
+			allocation.sizeClass.recycle(allocation.chunk);
+		}
+	}
+
+	/**
+	 * Log and count allocations that have been garbage collected without
+	 * having been released. Their memory is left to the garbage collector
+	 * rather than returned to the pool, as views of it may still be in use.
+	 */
+	private void detectLeaks() {
+		LeakTracker tracker;
+		while ((tracker = (LeakTracker) this.leakQueue.poll()) != null) {
+			if (this.leakTrackers.remove(tracker)) {
+				this.leakCount.incrementAndGet();
+				if (logger.isWarnEnabled()) {
+					logger.warn("PoolingDataBuffer of capacity " + tracker.capacity +
+							" was garbage collected without having been released");
+				}
+			}
+		}
+	}
+
+
+	@Override
+	public String toString() {
+		return "PoolingDataBufferFactory (maxPooledBufferSize=" + this.maxPooledBufferSize + ")";
+	}
+
+
+	/**
+	 * Reference-counted allocation shared by a {@link PoolingDataBuffer}
+	 * and its slices.
+	 */
+	final class Allocation {
+
+		private final AtomicInteger refCount = new AtomicInteger(1);
+
+		@Nullable
+		private final ByteBuffer chunk;
+
+		@Nullable
+		private final SizeClass sizeClass;
+
+		private final boolean counted;
+
+		@Nullable
+		private volatile LeakTracker tracker;
+
+		Allocation(@Nullable ByteBuffer chunk, @Nullable SizeClass sizeClass, boolean counted) {
+			this.chunk = chunk;
+			this.sizeClass = sizeClass;
+			this.counted = counted;
+		}
+
+		boolean isAllocated() {
+			return (this.refCount.get() > 0);
+		}
+
+		void retain() {
+			int count;
+			do {
+				count = this.refCount.get();
+				if (count <= 0) {
+					throw new IllegalStateException("Buffer has already been released");
+				}
+			}
+			while (!this.refCount.compareAndSet(count, count + 1));
+		}
+
+		boolean release() {
+			int count;
+			do {
+				count = this.refCount.get();
+				if (count <= 0) {
+					throw new IllegalStateException("Buffer has already been released");
+				}
+			}
+			while (!this.refCount.compareAndSet(count, count - 1));
+			if (count == 1) {
+				recycle(this);
+				return true;
+			}
+			return false;
+		}
+	}
+
+
+	/**
+	 * Pool of idle direct buffers of a specific size.
+	 */
+	private static final class SizeClass {
+
+		private final int size;
+
+		private final int maxIdle;
+
+		private final Queue<ByteBuffer> idleBuffers = new ConcurrentLinkedQueue<>();
+
+		private final AtomicInteger idleCount = new AtomicInteger();
+
+		SizeClass(int size, int maxIdle) {
+			this.size = size;
+			this.maxIdle = maxIdle;
+		}
+
+		ByteBuffer acquire() {
+			ByteBuffer buffer = this.idleBuffers.poll();
+			if (buffer != null) {
+				this.idleCount.decrementAndGet();
+				buffer.clear();
+				return buffer;
+			}
+			return ByteBuffer.allocateDirect(this.size);
+		}
+
+		void recycle(ByteBuffer buffer) {
+			if (this.idleCount.incrementAndGet() <= this.maxIdle) {
+				this.idleBuffers.offer(buffer);
+			}
+			else {
+				this.idleCount.decrementAndGet();
+			}
+		}
+	}
+
+
+	/**
+	 * Phantom reference to an {@link Allocation}, in order to detect
+	 * that the allocation is garbage collected without having been released.
+	 */
+	private static final class LeakTracker extends PhantomReference<Allocation> {
+
+		private final int capacity;
+
+		LeakTracker(Allocation allocation, int capacity, ReferenceQueue<Allocation> queue) {
+			super(allocation, queue);
+			this.capacity = capacity;
+		}
+	}
+
+}
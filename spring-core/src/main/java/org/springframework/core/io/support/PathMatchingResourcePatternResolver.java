@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -27,12 +27,20 @@ import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Enumeration;
 import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.jar.JarEntry;
 import java.util.jar.JarFile;
 import java.util.zip.ZipException;
@@ -205,6 +213,13 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	@Nullable
+	private Executor taskExecutor;
+
+	private volatile boolean cacheJarEntries;
+
+	private final Map<String, String[]> jarEntriesCache = new ConcurrentHashMap<>();
+
 
 	/**
 	 * Create a new PathMatchingResourcePatternResolver with a DefaultResourceLoader.
@@ -268,6 +283,68 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Set an {@link Executor} for resolving the root directories of a location
+	 * pattern in parallel, e.g. the many jar files that a "classpath*:" pattern
+	 * may expand to.
+	 * <p>Default is none, resolving all root directories on the calling thread.
+	 * Each root directory is resolved as a separate task; tasks that have not
+	 * been picked up by the executor by the time their results are needed are
+	 * run by the calling thread, so a bounded or saturated executor delays
+	 * resolution but never blocks it. The order of the resolved resources is
+	 * the same as for sequential resolution.
+	 * @since 5.3
+	 */
+	public void setTaskExecutor(@Nullable Executor taskExecutor) {
+		this.taskExecutor = taskExecutor;
+	}
+
+	/**
+	 * Return the Executor for resolving root directories in parallel, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	public Executor getTaskExecutor() {
+		return this.taskExecutor;
+	}
+
+	/**
+	 * Specify whether to keep the listing of entries per jar file, so that each
+	 * jar file is only enumerated once for all patterns resolved against it.
+	 * <p>Default is "false", enumerating a jar file for every pattern. Switch
+	 * this to "true" for a phase of repeated resolution against the same jar
+	 * files, e.g. classpath scanning during application context startup, and
+	 * call {@link #clearCache()} once that phase is complete: the listings are
+	 * not refreshed when a jar file changes, and are otherwise retained.
+	 * Switching this flag back to "false" releases the cached listings.
+	 * @since 5.3
+	 * @see #clearCache()
+	 */
+	public void setCacheJarEntries(boolean cacheJarEntries) {
+		this.cacheJarEntries = cacheJarEntries;
+		if (!cacheJarEntries) {
+			this.jarEntriesCache.clear();
+		}
+	}
+
+	/**
+	 * Return whether this resolver keeps the listing of entries per jar file.
+	 * @since 5.3
+	 */
+	public boolean isCacheJarEntries() {
+		return this.cacheJarEntries;
+	}
+
+	/**
+	 * Clear the listing of jar file entries that this resolver keeps per jar
+	 * file, so that subsequent resolution picks up changed jar files.
+	 * @since 5.3
+	 * @see #setCacheJarEntries
+	 */
+	public void clearCache() {
+		this.jarEntriesCache.clear();
+	}
+
 
 	@Override
 	public Resource getResource(String location) {
@@ -493,24 +570,27 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		String subPattern = locationPattern.substring(rootDirPath.length());
 		Resource[] rootDirResources = getResources(rootDirPath);
 		Set<Resource> result = new LinkedHashSet<>(16);
-		for (Resource rootDirResource : rootDirResources) {
-			rootDirResource = resolveRootDirResource(rootDirResource);
-			URL rootDirUrl = rootDirResource.getURL();
-			if (equinoxResolveMethod != null && rootDirUrl.getProtocol().startsWith("bundle")) {
-				URL resolvedUrl = (URL) ReflectionUtils.invokeMethod(equinoxResolveMethod, null, rootDirUrl);
-				if (resolvedUrl != null) {
-					rootDirUrl = resolvedUrl;
+		Executor taskExecutor = getTaskExecutor();
+		if (taskExecutor != null && rootDirResources.length > 1) {
+			List<FutureTask<Set<Resource>>> tasks = new ArrayList<>(rootDirResources.length);
+			for (Resource rootDirResource : rootDirResources) {
+				FutureTask<Set<Resource>> task = new FutureTask<>(
+						() -> doFindPathMatchingResources(rootDirResource, subPattern));
+				tasks.add(task);
+				try {
+					taskExecutor.execute(task);
+				}
+				catch (RejectedExecutionException ex) {
+					// Run by the calling thread below
 				}
-				rootDirResource = new UrlResource(rootDirUrl);
-			}
-			if (rootDirUrl.getProtocol().startsWith(ResourceUtils.URL_PROTOCOL_VFS)) {
-				result.addAll(VfsResourceMatchingDelegate.findMatchingResources(rootDirUrl, subPattern, getPathMatcher()));
 			}
-			else if (ResourceUtils.isJarURL(rootDirUrl) || isJarResource(rootDirResource)) {
-				result.addAll(doFindPathMatchingJarResources(rootDirResource, rootDirUrl, subPattern));
+			for (FutureTask<Set<Resource>> task : tasks) {
+				result.addAll(getTaskResult(task));
 			}
-			else {
-				result.addAll(doFindPathMatchingFileResources(rootDirResource, subPattern));
+		}
+		else {
+			for (Resource rootDirResource : rootDirResources) {
+				result.addAll(doFindPathMatchingResources(rootDirResource, subPattern));
 			}
 		}
 		if (logger.isTraceEnabled()) {
@@ -519,6 +599,60 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 		return result.toArray(new Resource[0]);
 	}
 
+	/**
+	 * Find all resources below the given root directory that match the given
+	 * sub pattern.
+	 */
+	private Set<Resource> doFindPathMatchingResources(Resource rootDirResource, String subPattern) throws IOException {
+		rootDirResource = resolveRootDirResource(rootDirResource);
+		URL rootDirUrl = rootDirResource.getURL();
+		if (equinoxResolveMethod != null && rootDirUrl.getProtocol().startsWith("bundle")) {
+			URL resolvedUrl = (URL) ReflectionUtils.invokeMethod(equinoxResolveMethod, null, rootDirUrl);
+			if (resolvedUrl != null) {
+				rootDirUrl = resolvedUrl;
+			}
+			rootDirResource = new UrlResource(rootDirUrl);
+		}
+		if (rootDirUrl.getProtocol().startsWith(ResourceUtils.URL_PROTOCOL_VFS)) {
+			return VfsResourceMatchingDelegate.findMatchingResources(rootDirUrl, subPattern, getPathMatcher());
+		}
+		else if (ResourceUtils.isJarURL(rootDirUrl) || isJarResource(rootDirResource)) {
+			return doFindPathMatchingJarResources(rootDirResource, rootDirUrl, subPattern);
+		}
+		else {
+			return doFindPathMatchingFileResources(rootDirResource, subPattern);
+		}
+	}
+
+	/**
+	 * Obtain the result of the given root directory task, running it on the
+	 * calling thread if the executor has not started it yet.
+	 */
+	private Set<Resource> getTaskResult(FutureTask<Set<Resource>> task) throws IOException {
+		// No-op if the task is already running or done
+		task.run();
+		try {
+			return task.get();
+		}
+		catch (InterruptedException ex) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while resolving location pattern", ex);
+		}
+		catch (ExecutionException ex) {
+			Throwable cause = ex.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new IOException(cause);
+		}
+	}
+
 	/**
 	 * Determine the root directory for the given location.
 	 * <p>Used for determining the starting point for file matching,
@@ -589,20 +723,34 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 			throws IOException {
 
 		URLConnection con = rootDirURL.openConnection();
-		JarFile jarFile;
 		String jarFileUrl;
 		String rootEntryPath;
-		boolean closeJarFile;
+		String[] entryPaths;
 
 		if (con instanceof JarURLConnection) {
 			// Should usually be the case for traditional JAR files.
 			JarURLConnection jarCon = (JarURLConnection) con;
 			ResourceUtils.useCachesIfNecessary(jarCon);
-			jarFile = jarCon.getJarFile();
 			jarFileUrl = jarCon.getJarFileURL().toExternalForm();
-			JarEntry jarEntry = jarCon.getJarEntry();
-			rootEntryPath = (jarEntry != null ? jarEntry.getName() : "");
-			closeJarFile = !jarCon.getUseCaches();
+			entryPaths = getCachedJarEntries(jarFileUrl);
+			if (entryPaths != null) {
+				// Listed before: no need to open the jar file again.
+				String entryName = jarCon.getEntryName();
+				rootEntryPath = (entryName != null ? entryName : "");
+			}
+			else {
+				JarFile jarFile = jarCon.getJarFile();
+				try {
+					JarEntry jarEntry = jarCon.getJarEntry();
+					rootEntryPath = (jarEntry != null ? jarEntry.getName() : "");
+					entryPaths = listJarEntries(jarFileUrl, jarFile);
+				}
+				finally {
+					if (!jarCon.getUseCaches()) {
+						jarFile.close();
+					}
+				}
+			}
 		}
 		else {
 			// No JarURLConnection -> need to resort to URL file parsing.
@@ -618,14 +766,21 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 				if (separatorIndex != -1) {
 					jarFileUrl = urlFile.substring(0, separatorIndex);
 					rootEntryPath = urlFile.substring(separatorIndex + 2);  // both separators are 2 chars
-					jarFile = getJarFile(jarFileUrl);
 				}
 				else {
-					jarFile = new JarFile(urlFile);
 					jarFileUrl = urlFile;
 					rootEntryPath = "";
 				}
-				closeJarFile = true;
+				entryPaths = getCachedJarEntries(jarFileUrl);
+				if (entryPaths == null) {
+					JarFile jarFile = (separatorIndex != -1 ? getJarFile(jarFileUrl) : new JarFile(urlFile));
+					try {
+						entryPaths = listJarEntries(jarFileUrl, jarFile);
+					}
+					finally {
+						jarFile.close();
+					}
+				}
 			}
 			catch (ZipException ex) {
 				if (logger.isDebugEnabled()) {
@@ -635,33 +790,50 @@ public class PathMatchingResourcePatternResolver implements ResourcePatternResol
 			}
 		}
 
-		try {
-			if (logger.isTraceEnabled()) {
-				logger.trace("Looking for matching resources in jar file [" + jarFileUrl + "]");
-			}
-			if (!"".equals(rootEntryPath) && !rootEntryPath.endsWith("/")) {
-				// Root entry path must end with slash to allow for proper matching.
-				// The Sun JRE does not return a slash here, but BEA JRockit does.
-				rootEntryPath = rootEntryPath + "/";
-			}
-			Set<Resource> result = new LinkedHashSet<>(8);
-			for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
-				JarEntry entry = entries.nextElement();
-				String entryPath = entry.getName();
-				if (entryPath.startsWith(rootEntryPath)) {
-					String relativePath = entryPath.substring(rootEntryPath.length());
-					if (getPathMatcher().match(subPattern, relativePath)) {
-						result.add(rootDirResource.createRelative(relativePath));
-					}
+		if (logger.isTraceEnabled()) {
+			logger.trace("Looking for matching resources in jar file [" + jarFileUrl + "]");
+		}
+		if (!"".equals(rootEntryPath) && !rootEntryPath.endsWith("/")) {
+			// Root entry path must end with slash to allow for proper matching.
+			// The Sun JRE does not return a slash here, but BEA JRockit does.
+			rootEntryPath = rootEntryPath + "/";
+		}
+		Set<Resource> result = new LinkedHashSet<>(8);
+		for (String entryPath : entryPaths) {
+			if (entryPath.startsWith(rootEntryPath)) {
+				String relativePath = entryPath.substring(rootEntryPath.length());
+				if (getPathMatcher().match(subPattern, relativePath)) {
+					result.add(rootDirResource.createRelative(relativePath));
 				}
 			}
-			return result;
 		}
-		finally {
-			if (closeJarFile) {
-				jarFile.close();
-			}
+		return result;
+	}
+
+	/**
+	 * Return the previously listed entries of the given jar file, if any.
+	 * @see #setCacheJarEntries
+	 */
+	@Nullable
+	private String[] getCachedJarEntries(String jarFileUrl) {
+		return (this.cacheJarEntries ? this.jarEntriesCache.get(jarFileUrl) : null);
+	}
+
+	/**
+	 * Enumerate the entries of the given jar file, keeping their names
+	 * for subsequent patterns against the same jar file if configured.
+	 * @see #setCacheJarEntries
+	 */
+	private String[] listJarEntries(String jarFileUrl, JarFile jarFile) {
+		List<String> entryPaths = new ArrayList<>();
+		for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
+			entryPaths.add(entries.nextElement().getName());
 		}
+		String[] result = StringUtils.toStringArray(entryPaths);
+		if (this.cacheJarEntries) {
+			this.jarEntriesCache.put(jarFileUrl, result);
+		}
+		return result;
 	}
 
 	/**
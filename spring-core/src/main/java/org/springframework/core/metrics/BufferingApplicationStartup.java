@@ -0,0 +1,278 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+
+/**
+ * {@link ApplicationStartup} implementation that buffers {@link StartupStep steps}
+ * in memory and records their start time and duration.
+ *
+ * <p>Steps are buffered once they {@link StartupStep#end() end}, up to the given
+ * capacity; further steps are dropped once the buffer is full. The buffered
+ * steps can be retrieved with {@link #getBufferedSteps()} or drained with
+ * {@link #drainBufferedSteps()}, e.g. for finding slow bean instantiations
+ * or for comparing startup runs.
+ *
+ * <p>Steps are nested according to the step that was started most recently
+ * on the same thread and has not ended yet. Ending a step also ends the
+ * nesting of any steps started within it that have not ended themselves,
+ * e.g. after an exception.
+ *
+ * @author agent
+ * @since 5.3
+ */
+public class BufferingApplicationStartup implements ApplicationStartup {
+
+	private final int capacity;
+
+	private final Clock clock;
+
+	private final AtomicLong idSeq = new AtomicLong();
+
+	private final ThreadLocal<BufferedStartupStep> current = new NamedThreadLocal<>("Current startup step");
+
+	private final Queue<BufferedStartupStep> steps = new ConcurrentLinkedQueue<>();
+
+	private final AtomicInteger estimatedSize = new AtomicInteger();
+
+
+	/**
+	 * Create a new buffered {@link ApplicationStartup} with a limited capacity.
+	 * @param capacity the maximum number of steps to buffer
+	 */
+	public BufferingApplicationStartup(int capacity) {
+		this(capacity, Clock.systemDefaultZone());
+	}
+
+	/**
+	 * Create a new buffered {@link ApplicationStartup} with a limited capacity
+	 * and a specific {@link Clock} for recording start times and durations.
+	 * @param capacity the maximum number of steps to buffer
+	 * @param clock the clock to use
+	 */
+	public BufferingApplicationStartup(int capacity, Clock clock) {
+		Assert.isTrue(capacity > 0, "Capacity must be greater than 0");
+		Assert.notNull(clock, "Clock must not be null");
+		this.capacity = capacity;
+		this.clock = clock;
+	}
+
+
+	@Override
+	public BufferedStartupStep start(String name) {
+		Assert.hasText(name, "Step name must not be empty");
+		BufferedStartupStep parent = getActiveStep(this.current.get());
+		BufferedStartupStep step = new BufferedStartupStep(
+				this.idSeq.getAndIncrement(), name, parent, this.clock.instant());
+		this.current.set(step);
+		return step;
+	}
+
+	/**
+	 * Return a snapshot of the steps buffered so far, in the order they ended.
+	 */
+	public List<BufferedStartupStep> getBufferedSteps() {
+		return Collections.unmodifiableList(new ArrayList<>(this.steps));
+	}
+
+	/**
+	 * Return the steps buffered so far, in the order they ended,
+	 * and remove them from the buffer.
+	 */
+	public List<BufferedStartupStep> drainBufferedSteps() {
+		List<BufferedStartupStep> drained = new ArrayList<>();
+		BufferedStartupStep step;
+		while ((step = this.steps.poll()) != null) {
+			drained.add(step);
+			this.estimatedSize.decrementAndGet();
+		}
+		return drained;
+	}
+
+	private void record(BufferedStartupStep step) {
+		for (BufferedStartupStep nested = this.current.get(); nested != null; nested = nested.parent) {
+			if (nested == step) {
+				BufferedStartupStep parent = getActiveStep(step.parent);
+				if (parent != null) {
+					this.current.set(parent);
+				}
+				else {
+					this.current.remove();
+				}
+				break;
+			}
+		}
+		if (this.estimatedSize.incrementAndGet() <= this.capacity) {
+			this.steps.offer(step);
+		}
+		else {
+			this.estimatedSize.decrementAndGet();
+		}
+	}
+
+
+	/**
+	 * Return the given step or its closest enclosing step that has not ended yet.
+	 */
+	@Nullable
+	private static BufferedStartupStep getActiveStep(@Nullable BufferedStartupStep step) {
+		while (step != null && step.duration != null) {
+			step = step.parent;
+		}
+		return step;
+	}
+
+
+	/**
+	 * {@link StartupStep} recorded by a {@link BufferingApplicationStartup},
+	 * exposing its start time and duration.
+	 */
+	public final class BufferedStartupStep implements StartupStep {
+
+		private final long id;
+
+		private final String name;
+
+		@Nullable
+		private final BufferedStartupStep parent;
+
+		private final Instant startTime;
+
+		private final List<Tag> tags = new ArrayList<>();
+
+		@Nullable
+		private volatile Duration duration;
+
+		BufferedStartupStep(long id, String name, @Nullable BufferedStartupStep parent, Instant startTime) {
+			this.id = id;
+			this.name = name;
+			this.parent = parent;
+			this.startTime = startTime;
+		}
+
+		@Override
+		public String getName() {
+			return this.name;
+		}
+
+		@Override
+		public long getId() {
+			return this.id;
+		}
+
+		@Override
+		@Nullable
+		public Long getParentId() {
+			return (this.parent != null ? this.parent.id : null);
+		}
+
+		@Override
+		public StartupStep tag(String key, String value) {
+			Assert.state(this.duration == null, "StartupStep has already ended");
+			this.tags.add(new BufferedTag(key, value));
+			return this;
+		}
+
+		@Override
+		public StartupStep tag(String key, Supplier<String> value) {
+			return tag(key, value.get());
+		}
+
+		@Override
+		public Tags getTags() {
+			List<Tag> tags = Collections.unmodifiableList(this.tags);
+			return tags::iterator;
+		}
+
+		@Override
+		public void end() {
+			Assert.state(this.duration == null, "StartupStep has already ended");
+			this.duration = Duration.between(this.startTime, clock.instant());
+			record(this);
+		}
+
+		/**
+		 * Return the time at which this step started.
+		 */
+		public Instant getStartTime() {
+			return this.startTime;
+		}
+
+		/**
+		 * Return the duration of this step,
+		 * or {@code null} if the step has not ended yet.
+		 */
+		@Nullable
+		public Duration getDuration() {
+			return this.duration;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder(this.name).append(" [id=").append(this.id);
+			if (this.parent != null) {
+				sb.append(", parentId=").append(this.parent.id);
+			}
+			for (Tag tag : this.tags) {
+				sb.append(", ").append(tag.getKey()).append('=').append(tag.getValue());
+			}
+			if (this.duration != null) {
+				sb.append(", duration=").append(this.duration.toMillis()).append("ms");
+			}
+			return sb.append(']').toString();
+		}
+	}
+
+
+	private static class BufferedTag implements StartupStep.Tag {
+
+		private final String key;
+
+		private final String value;
+
+		BufferedTag(String key, String value) {
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public String getKey() {
+			return this.key;
+		}
+
+		@Override
+		public String getValue() {
+			return this.value;
+		}
+	}
+
+}
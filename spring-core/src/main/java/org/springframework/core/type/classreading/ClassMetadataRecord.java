@@ -0,0 +1,584 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Array;
+
+import org.springframework.asm.AnnotationVisitor;
+import org.springframework.asm.ClassReader;
+import org.springframework.asm.ClassVisitor;
+import org.springframework.asm.MethodVisitor;
+import org.springframework.asm.SpringAsmInfo;
+import org.springframework.asm.Type;
+import org.springframework.lang.Nullable;
+
+/**
+ * Compact binary record of the class file events that a
+ * {@link SimpleAnnotationMetadataReadingVisitor} consumes, allowing
+ * class metadata to be rebuilt without parsing the original class file.
+ *
+ * <p>Only the class header, outer and inner class entries, runtime-visible
+ * annotations, and methods declaring such annotations are recorded. Since
+ * a record is replayed against a fresh visitor, annotation types are
+ * resolved against the current class loader, just like for a class file.
+ *
+ * @author agent
+ * @since 5.3
+ * @see PersistentMetadataReaderFactory
+ */
+final class ClassMetadataRecord {
+
+	private static final int END = 0;
+
+	private static final int CLASS = 1;
+
+	private static final int OUTER_CLASS = 2;
+
+	private static final int INNER_CLASS = 3;
+
+	private static final int ANNOTATION = 4;
+
+	private static final int METHOD = 5;
+
+	private static final int VALUE = 1;
+
+	private static final int ENUM = 2;
+
+	private static final int NESTED_ANNOTATION = 3;
+
+	private static final int ARRAY = 4;
+
+
+	private ClassMetadataRecord() {
+	}
+
+
+	/**
+	 * Parse the given class file, passing all events on to the given visitor
+	 * while recording them.
+	 * @param classReader the reader for the class file
+	 * @param visitor the visitor to pass the events on to
+	 * @param parsingOptions the options to parse the class file with
+	 * @return the record, to be {@linkplain #replay replayed} later on
+	 */
+	static byte[] record(ClassReader classReader, ClassVisitor visitor, int parsingOptions) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+		classReader.accept(new RecordingClassVisitor(visitor, new RecordOutput(bytes)), parsingOptions);
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * Replay the given record against the given visitor.
+	 * @param record the record, as returned from {@link #record}
+	 * @param visitor the visitor to pass the recorded events to
+	 * @throws IOException if the record is corrupt
+	 */
+	static void replay(byte[] record, ClassVisitor visitor) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(record));
+		int event;
+		while ((event = in.readByte()) != END) {
+			switch (event) {
+				case CLASS:
+					int version = in.readInt();
+					int access = in.readInt();
+					String name = in.readUTF();
+					String superName = readString(in);
+					String[] interfaces = new String[in.readUnsignedShort()];
+					for (int i = 0; i < interfaces.length; i++) {
+						interfaces[i] = in.readUTF();
+					}
+					visitor.visit(version, access, name, null, superName, interfaces);
+					break;
+				case OUTER_CLASS:
+					visitor.visitOuterClass(in.readUTF(), readString(in), readString(in));
+					break;
+				case INNER_CLASS:
+					visitor.visitInnerClass(in.readUTF(), readString(in), readString(in), in.readInt());
+					break;
+				case ANNOTATION:
+					replayAnnotation(in, visitor.visitAnnotation(in.readUTF(), true));
+					break;
+				case METHOD:
+					replayMethod(in, visitor.visitMethod(in.readInt(), in.readUTF(), in.readUTF(), null, null));
+					break;
+				default:
+					throw new IOException("Unexpected class event: " + event);
+			}
+		}
+		visitor.visitEnd();
+	}
+
+	private static void replayMethod(DataInputStream in, @Nullable MethodVisitor visitor) throws IOException {
+		int event;
+		while ((event = in.readByte()) != END) {
+			if (event != ANNOTATION) {
+				throw new IOException("Unexpected method event: " + event);
+			}
+			String descriptor = in.readUTF();
+			replayAnnotation(in, visitor != null ? visitor.visitAnnotation(descriptor, true) : null);
+		}
+		if (visitor != null) {
+			visitor.visitEnd();
+		}
+	}
+
+	private static void replayAnnotation(DataInputStream in, @Nullable AnnotationVisitor visitor) throws IOException {
+		int event;
+		while ((event = in.readByte()) != END) {
+			String name = readString(in);
+			switch (event) {
+				case VALUE:
+					Object value = readValue(in);
+					if (visitor != null) {
+						visitor.visit(name, value);
+					}
+					break;
+				case ENUM:
+					String enumDescriptor = in.readUTF();
+					String enumValue = in.readUTF();
+					if (visitor != null) {
+						visitor.visitEnum(name, enumDescriptor, enumValue);
+					}
+					break;
+				case NESTED_ANNOTATION:
+					String descriptor = in.readUTF();
+					replayAnnotation(in, visitor != null ? visitor.visitAnnotation(name, descriptor) : null);
+					break;
+				case ARRAY:
+					replayAnnotation(in, visitor != null ? visitor.visitArray(name) : null);
+					break;
+				default:
+					throw new IOException("Unexpected annotation event: " + event);
+			}
+		}
+		if (visitor != null) {
+			visitor.visitEnd();
+		}
+	}
+
+	@Nullable
+	private static String readString(DataInputStream in) throws IOException {
+		return (in.readBoolean() ? in.readUTF() : null);
+	}
+
+	private static Object readValue(DataInputStream in) throws IOException {
+		char tag = in.readChar();
+		if (tag == 's') {
+			return in.readUTF();
+		}
+		if (tag == 'c') {
+			return Type.getType(in.readUTF());
+		}
+		if (tag == '[') {
+			char componentTag = in.readChar();
+			int length = in.readInt();
+			Object array = Array.newInstance(primitiveType(componentTag), length);
+			for (int i = 0; i < length; i++) {
+				Array.set(array, i, readPrimitive(in, componentTag));
+			}
+			return array;
+		}
+		return readPrimitive(in, tag);
+	}
+
+	private static Object readPrimitive(DataInputStream in, char tag) throws IOException {
+		switch (tag) {
+			case 'B':
+				return in.readByte();
+			case 'Z':
+				return in.readBoolean();
+			case 'C':
+				return in.readChar();
+			case 'S':
+				return in.readShort();
+			case 'I':
+				return in.readInt();
+			case 'J':
+				return in.readLong();
+			case 'F':
+				return in.readFloat();
+			case 'D':
+				return in.readDouble();
+			default:
+				throw new IOException("Unexpected value tag: " + tag);
+		}
+	}
+
+	private static Class<?> primitiveType(char tag) throws IOException {
+		switch (tag) {
+			case 'B':
+				return byte.class;
+			case 'Z':
+				return boolean.class;
+			case 'C':
+				return char.class;
+			case 'S':
+				return short.class;
+			case 'I':
+				return int.class;
+			case 'J':
+				return long.class;
+			case 'F':
+				return float.class;
+			case 'D':
+				return double.class;
+			default:
+				throw new IOException("Unexpected array component tag: " + tag);
+		}
+	}
+
+
+	/**
+	 * {@link DataOutputStream} variant for in-memory records, rethrowing
+	 * the (never expected) {@link IOException} as an unchecked exception.
+	 */
+	private static class RecordOutput {
+
+		private final DataOutputStream out;
+
+		RecordOutput(ByteArrayOutputStream bytes) {
+			this.out = new DataOutputStream(bytes);
+		}
+
+		void writeEvent(int event) {
+			try {
+				this.out.writeByte(event);
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		void writeInt(int value) {
+			try {
+				this.out.writeInt(value);
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		void writeString(String value) {
+			try {
+				this.out.writeUTF(value);
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		void writeNullableString(@Nullable String value) {
+			try {
+				this.out.writeBoolean(value != null);
+				if (value != null) {
+					this.out.writeUTF(value);
+				}
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		void writeStrings(String[] values) {
+			try {
+				this.out.writeShort(values.length);
+				for (String value : values) {
+					this.out.writeUTF(value);
+				}
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		void writeValue(Object value) {
+			try {
+				if (value instanceof String) {
+					this.out.writeChar('s');
+					this.out.writeUTF((String) value);
+				}
+				else if (value instanceof Type) {
+					this.out.writeChar('c');
+					this.out.writeUTF(((Type) value).getDescriptor());
+				}
+				else if (value.getClass().isArray()) {
+					char componentTag = Type.getDescriptor(value.getClass().getComponentType()).charAt(0);
+					int length = Array.getLength(value);
+					this.out.writeChar('[');
+					this.out.writeChar(componentTag);
+					this.out.writeInt(length);
+					for (int i = 0; i < length; i++) {
+						writePrimitive(componentTag, Array.get(value, i));
+					}
+				}
+				else {
+					char tag = primitiveTag(value);
+					this.out.writeChar(tag);
+					writePrimitive(tag, value);
+				}
+			}
+			catch (IOException ex) {
+				throw new IllegalStateException(ex);
+			}
+		}
+
+		private void writePrimitive(char tag, Object value) throws IOException {
+			switch (tag) {
+				case 'B':
+					this.out.writeByte((Byte) value);
+					break;
+				case 'Z':
+					this.out.writeBoolean((Boolean) value);
+					break;
+				case 'C':
+					this.out.writeChar((Character) value);
+					break;
+				case 'S':
+					this.out.writeShort((Short) value);
+					break;
+				case 'I':
+					this.out.writeInt((Integer) value);
+					break;
+				case 'J':
+					this.out.writeLong((Long) value);
+					break;
+				case 'F':
+					this.out.writeFloat((Float) value);
+					break;
+				case 'D':
+					this.out.writeDouble((Double) value);
+					break;
+				default:
+					throw new IllegalArgumentException("Unsupported annotation value: " + value);
+			}
+		}
+
+		private static char primitiveTag(Object value) {
+			if (value instanceof Integer) {
+				return 'I';
+			}
+			else if (value instanceof Boolean) {
+				return 'Z';
+			}
+			else if (value instanceof Long) {
+				return 'J';
+			}
+			else if (value instanceof Byte) {
+				return 'B';
+			}
+			else if (value instanceof Character) {
+				return 'C';
+			}
+			else if (value instanceof Short) {
+				return 'S';
+			}
+			else if (value instanceof Float) {
+				return 'F';
+			}
+			else if (value instanceof Double) {
+				return 'D';
+			}
+			throw new IllegalArgumentException("Unsupported annotation value: " + value);
+		}
+	}
+
+
+	/**
+	 * {@link ClassVisitor} that records the events it passes on to its delegate.
+	 */
+	private static class RecordingClassVisitor extends ClassVisitor {
+
+		private final RecordOutput out;
+
+		RecordingClassVisitor(ClassVisitor delegate, RecordOutput out) {
+			super(SpringAsmInfo.ASM_VERSION, delegate);
+			this.out = out;
+		}
+
+		@Override
+		public void visit(int version, int access, String name, @Nullable String signature,
+				@Nullable String superName, @Nullable String[] interfaces) {
+
+			String[] interfaceNames = (interfaces != null ? interfaces : new String[0]);
+			this.out.writeEvent(CLASS);
+			this.out.writeInt(version);
+			this.out.writeInt(access);
+			this.out.writeString(name);
+			this.out.writeNullableString(superName);
+			this.out.writeStrings(interfaceNames);
+			super.visit(version, access, name, signature, superName, interfaceNames);
+		}
+
+		@Override
+		public void visitOuterClass(String owner, @Nullable String name, @Nullable String descriptor) {
+			this.out.writeEvent(OUTER_CLASS);
+			this.out.writeString(owner);
+			this.out.writeNullableString(name);
+			this.out.writeNullableString(descriptor);
+			super.visitOuterClass(owner, name, descriptor);
+		}
+
+		@Override
+		public void visitInnerClass(String name, @Nullable String outerName, @Nullable String innerName, int access) {
+			this.out.writeEvent(INNER_CLASS);
+			this.out.writeString(name);
+			this.out.writeNullableString(outerName);
+			this.out.writeNullableString(innerName);
+			this.out.writeInt(access);
+			super.visitInnerClass(name, outerName, innerName, access);
+		}
+
+		@Override
+		@Nullable
+		public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+			AnnotationVisitor visitor = super.visitAnnotation(descriptor, visible);
+			if (!visible) {
+				return visitor;
+			}
+			this.out.writeEvent(ANNOTATION);
+			this.out.writeString(descriptor);
+			return new RecordingAnnotationVisitor(visitor, this.out);
+		}
+
+		@Override
+		@Nullable
+		public MethodVisitor visitMethod(int access, String name, String descriptor,
+				@Nullable String signature, @Nullable String[] exceptions) {
+
+			MethodVisitor visitor = super.visitMethod(access, name, descriptor, signature, exceptions);
+			return (visitor != null ? new RecordingMethodVisitor(visitor, this.out, access, name, descriptor) : null);
+		}
+
+		@Override
+		public void visitEnd() {
+			this.out.writeEvent(END);
+			super.visitEnd();
+		}
+	}
+
+
+	/**
+	 * {@link MethodVisitor} that records the method once it turns out
+	 * to declare runtime-visible annotations.
+	 */
+	private static class RecordingMethodVisitor extends MethodVisitor {
+
+		private final RecordOutput out;
+
+		private final int access;
+
+		private final String name;
+
+		private final String descriptor;
+
+		private boolean recorded;
+
+		RecordingMethodVisitor(MethodVisitor delegate, RecordOutput out, int access, String name, String descriptor) {
+			super(SpringAsmInfo.ASM_VERSION, delegate);
+			this.out = out;
+			this.access = access;
+			this.name = name;
+			this.descriptor = descriptor;
+		}
+
+		@Override
+		@Nullable
+		public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+			AnnotationVisitor visitor = super.visitAnnotation(descriptor, visible);
+			if (!visible) {
+				return visitor;
+			}
+			if (!this.recorded) {
+				this.out.writeEvent(METHOD);
+				this.out.writeInt(this.access);
+				this.out.writeString(this.name);
+				this.out.writeString(this.descriptor);
+				this.recorded = true;
+			}
+			this.out.writeEvent(ANNOTATION);
+			this.out.writeString(descriptor);
+			return new RecordingAnnotationVisitor(visitor, this.out);
+		}
+
+		@Override
+		public void visitEnd() {
+			if (this.recorded) {
+				this.out.writeEvent(END);
+			}
+			super.visitEnd();
+		}
+	}
+
+
+	/**
+	 * {@link AnnotationVisitor} that records the events it passes on to
+	 * its delegate, if any.
+	 */
+	private static class RecordingAnnotationVisitor extends AnnotationVisitor {
+
+		private final RecordOutput out;
+
+		RecordingAnnotationVisitor(@Nullable AnnotationVisitor delegate, RecordOutput out) {
+			super(SpringAsmInfo.ASM_VERSION, delegate);
+			this.out = out;
+		}
+
+		@Override
+		public void visit(@Nullable String name, Object value) {
+			this.out.writeEvent(VALUE);
+			this.out.writeNullableString(name);
+			this.out.writeValue(value);
+			super.visit(name, value);
+		}
+
+		@Override
+		public void visitEnum(@Nullable String name, String descriptor, String value) {
+			this.out.writeEvent(ENUM);
+			this.out.writeNullableString(name);
+			this.out.writeString(descriptor);
+			this.out.writeString(value);
+			super.visitEnum(name, descriptor, value);
+		}
+
+		@Override
+		public AnnotationVisitor visitAnnotation(@Nullable String name, String descriptor) {
+			this.out.writeEvent(NESTED_ANNOTATION);
+			this.out.writeNullableString(name);
+			this.out.writeString(descriptor);
+			return new RecordingAnnotationVisitor(super.visitAnnotation(name, descriptor), this.out);
+		}
+
+		@Override
+		public AnnotationVisitor visitArray(@Nullable String name) {
+			this.out.writeEvent(ARRAY);
+			this.out.writeNullableString(name);
+			return new RecordingAnnotationVisitor(super.visitArray(name), this.out);
+		}
+
+		@Override
+		public void visitEnd() {
+			this.out.writeEvent(END);
+			super.visitEnd();
+		}
+	}
+
+}
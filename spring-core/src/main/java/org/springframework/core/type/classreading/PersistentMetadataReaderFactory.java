@@ -0,0 +1,429 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.JarURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
+import org.springframework.util.ResourceUtils;
+
+/**
+ * {@link MetadataReaderFactory} that keeps the class metadata it reads in a
+ * persistent cache file, so that unchanged class files do not have to be
+ * read and parsed again on subsequent startups.
+ *
+ * <p>Entries are keyed by resource URL and validated against a fingerprint of
+ * the class file: for jar entries, the CRC-32 checksum and size stored in the
+ * jar's central directory (read once per jar, without inflating any entry);
+ * for class files in the file system, their size and last-modified timestamp.
+ * Class files from any other kind of resource are always read.
+ *
+ * <p>The cache file is loaded on construction and written back through
+ * {@link #save()}, typically after classpath scanning. All factories for the
+ * same cache file location share the loaded entries, so that several scanners
+ * neither load the file repeatedly nor overwrite each other's entries. Entries
+ * for class files that have not been requested are kept, unless they have not
+ * been requested in any of the last {@value #MAX_IDLE_RUNS} runs that wrote the
+ * cache file. An unreadable cache file is ignored and replaced on the next save.
+ *
+ * <p>As a {@link CachingMetadataReaderFactory}, this factory also keeps the
+ * {@link MetadataReader} instances it creates in memory. A reader for a class
+ * found in the cache file is rebuilt from the stored record, resolving
+ * annotation types against the current {@code ClassLoader}.
+ *
+ * @author agent
+ * @since 5.3
+ */
+public class PersistentMetadataReaderFactory extends CachingMetadataReaderFactory {
+
+	private static final int FORMAT_MAGIC = 0x53504D52;
+
+	private static final int FORMAT_VERSION = 2;
+
+	/**
+	 * The number of runs that write the cache file without requesting an
+	 * entry, after which the entry is dropped from the cache file.
+	 */
+	public static final int MAX_IDLE_RUNS = 3;
+
+	private static final Log logger = LogFactory.getLog(PersistentMetadataReaderFactory.class);
+
+	/** Cache file contents per absolute cache file location. */
+	private static final Map<Path, Store> stores = new ConcurrentReferenceHashMap<>(4);
+
+
+	private final Path cacheFile;
+
+	private final Store store;
+
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the default class loader,
+	 * using a local resource cache.
+	 * @param cacheFile the location of the cache file
+	 */
+	public PersistentMetadataReaderFactory(Path cacheFile) {
+		super();
+		this.cacheFile = cacheFile;
+		this.store = getStore(cacheFile);
+	}
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the given resource loader,
+	 * using a shared resource cache if supported or a local resource cache otherwise.
+	 * @param cacheFile the location of the cache file
+	 * @param resourceLoader the Spring ResourceLoader to use
+	 * (also determines the ClassLoader to use)
+	 */
+	public PersistentMetadataReaderFactory(Path cacheFile, @Nullable ResourceLoader resourceLoader) {
+		super(resourceLoader);
+		this.cacheFile = cacheFile;
+		this.store = getStore(cacheFile);
+	}
+
+	/**
+	 * Create a new PersistentMetadataReaderFactory for the given class loader,
+	 * using a local resource cache.
+	 * @param cacheFile the location of the cache file
+	 * @param classLoader the ClassLoader to use
+	 */
+	public PersistentMetadataReaderFactory(Path cacheFile, @Nullable ClassLoader classLoader) {
+		super(classLoader);
+		this.cacheFile = cacheFile;
+		this.store = getStore(cacheFile);
+	}
+
+
+	/**
+	 * Return the location of the cache file.
+	 */
+	public final Path getCacheFile() {
+		return this.cacheFile;
+	}
+
+
+	@Override
+	protected MetadataReader createMetadataReader(Resource resource) throws IOException {
+		Fingerprint fingerprint = fingerprint(resource);
+		if (fingerprint == null) {
+			return super.createMetadataReader(resource);
+		}
+		ClassLoader classLoader = getResourceLoader().getClassLoader();
+		Entry entry = this.store.entries.get(fingerprint.key);
+		if (this.store.usedKeys.add(fingerprint.key) && entry != null && entry.idleRuns > 0) {
+			// Reset the idle count of the entry in the cache file
+			this.store.modified = true;
+		}
+		if (entry != null && entry.matches(fingerprint)) {
+			SimpleAnnotationMetadataReadingVisitor visitor = new SimpleAnnotationMetadataReadingVisitor(classLoader);
+			try {
+				ClassMetadataRecord.replay(entry.record, visitor);
+				return new SimpleMetadataReader(resource, visitor.getMetadata());
+			}
+			catch (IOException ex) {
+				if (logger.isDebugEnabled()) {
+					logger.debug("Discarding corrupt metadata cache entry for " + resource, ex);
+				}
+			}
+		}
+		SimpleAnnotationMetadataReadingVisitor visitor = new SimpleAnnotationMetadataReadingVisitor(classLoader);
+		byte[] record = ClassMetadataRecord.record(
+				SimpleMetadataReader.getClassReader(resource), visitor, SimpleMetadataReader.PARSING_OPTIONS);
+		this.store.entries.put(fingerprint.key, new Entry(fingerprint.size, fingerprint.stamp, 0, record));
+		this.store.modified = true;
+		return new SimpleMetadataReader(resource, visitor.getMetadata());
+	}
+
+	/**
+	 * Write the cache file, if entries have been added or replaced since the
+	 * cache file was loaded or last saved by any factory for its location.
+	 * <p>The cache file keeps entries for class files that have not been
+	 * requested in this run, so that factories scanning different packages
+	 * do not evict each other's entries. An entry is only dropped once it has
+	 * not been requested in {@value #MAX_IDLE_RUNS} runs that wrote the file.
+	 * Call this method once all class files of interest have been requested,
+	 * or again after further requests.
+	 * <p>The file is written to a temporary file first and then moved to its
+	 * final location, so concurrent readers never observe a partial file.
+	 * @throws IOException if the cache file could not be written
+	 */
+	public void save() throws IOException {
+		Store store = this.store;
+		synchronized (store) {
+			// Jar indexes are only needed while scanning
+			store.jarIndexes.clear();
+			if (!store.modified) {
+				return;
+			}
+			// Reset first: entries added while saving mark the cache as modified again
+			store.modified = false;
+			List<Map.Entry<String, Entry>> entries = new ArrayList<>(store.entries.size());
+			for (Map.Entry<String, Entry> entry : store.entries.entrySet()) {
+				if (store.usedKeys.contains(entry.getKey()) || entry.getValue().idleRuns + 1 < MAX_IDLE_RUNS) {
+					entries.add(entry);
+				}
+			}
+			Path targetFile = store.file;
+			Path directory = targetFile.getParent();
+			Assert.state(directory != null, "Cache file must have a parent directory");
+			Files.createDirectories(directory);
+			Path tempFile = Files.createTempFile(directory, targetFile.getFileName().toString(), ".tmp");
+			try {
+				try (DataOutputStream out = new DataOutputStream(
+						new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+					out.writeInt(FORMAT_MAGIC);
+					out.writeInt(FORMAT_VERSION);
+					out.writeInt(entries.size());
+					for (Map.Entry<String, Entry> entry : entries) {
+						Entry value = entry.getValue();
+						out.writeUTF(entry.getKey());
+						out.writeLong(value.size);
+						out.writeLong(value.stamp);
+						out.writeInt(store.usedKeys.contains(entry.getKey()) ? 0 : value.idleRuns + 1);
+						out.writeInt(value.record.length);
+						out.write(value.record);
+					}
+				}
+				try {
+					Files.move(tempFile, targetFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+				}
+				catch (AtomicMoveNotSupportedException ex) {
+					Files.move(tempFile, targetFile, StandardCopyOption.REPLACE_EXISTING);
+				}
+			}
+			catch (IOException ex) {
+				store.modified = true;
+				Files.deleteIfExists(tempFile);
+				throw ex;
+			}
+		}
+	}
+
+	@Nullable
+	private Fingerprint fingerprint(Resource resource) {
+		try {
+			if (resource.isFile()) {
+				File file = resource.getFile();
+				return new Fingerprint(resource.getURL().toExternalForm(), file.length(), file.lastModified());
+			}
+			URL url = resource.getURL();
+			if (ResourceUtils.isJarURL(url)) {
+				String urlString = url.toExternalForm();
+				int separatorIndex = urlString.lastIndexOf(ResourceUtils.JAR_URL_SEPARATOR);
+				if (separatorIndex != -1) {
+					String jarUrl = urlString.substring(0, separatorIndex + ResourceUtils.JAR_URL_SEPARATOR.length());
+					long[] sizeAndCrc = getJarIndex(jarUrl).get(urlString.substring(jarUrl.length()));
+					if (sizeAndCrc != null) {
+						return new Fingerprint(urlString, sizeAndCrc[0], sizeAndCrc[1]);
+					}
+				}
+			}
+		}
+		catch (IOException ex) {
+			// Not cacheable: read the class file as usual
+		}
+		return null;
+	}
+
+	private Map<String, long[]> getJarIndex(String jarUrl) throws IOException {
+		Map<String, long[]> jarIndex = this.store.jarIndexes.get(jarUrl);
+		if (jarIndex == null) {
+			jarIndex = readJarIndex(jarUrl);
+			this.store.jarIndexes.put(jarUrl, jarIndex);
+		}
+		return jarIndex;
+	}
+
+	/**
+	 * Collect size and CRC-32 checksum of all class file entries in the given
+	 * jar, as stored in its central directory, i.e. without inflating any entry.
+	 */
+	private static Map<String, long[]> readJarIndex(String jarUrl) throws IOException {
+		URLConnection con = new URL(jarUrl).openConnection();
+		if (!(con instanceof JarURLConnection)) {
+			return Collections.emptyMap();
+		}
+		JarURLConnection jarCon = (JarURLConnection) con;
+		ResourceUtils.useCachesIfNecessary(jarCon);
+		JarFile jarFile = jarCon.getJarFile();
+		try {
+			Map<String, long[]> jarIndex = new HashMap<>();
+			for (Enumeration<JarEntry> entries = jarFile.entries(); entries.hasMoreElements();) {
+				JarEntry entry = entries.nextElement();
+				if (entry.getName().endsWith(ClassUtils.CLASS_FILE_SUFFIX) &&
+						entry.getSize() != -1 && entry.getCrc() != -1) {
+					jarIndex.put(entry.getName(), new long[] {entry.getSize(), entry.getCrc()});
+				}
+			}
+			return jarIndex;
+		}
+		finally {
+			if (!jarCon.getUseCaches()) {
+				jarFile.close();
+			}
+		}
+	}
+
+	/**
+	 * Return the shared contents of the given cache file, loading it if necessary.
+	 */
+	private static Store getStore(Path cacheFile) {
+		Path file = cacheFile.toAbsolutePath().normalize();
+		Store store = stores.get(file);
+		if (store == null) {
+			store = new Store(file);
+			store.load();
+			Store existing = stores.putIfAbsent(file, store);
+			if (existing != null) {
+				store = existing;
+			}
+		}
+		return store;
+	}
+
+
+	/**
+	 * Identity and content fingerprint of a class file.
+	 */
+	private static final class Fingerprint {
+
+		final String key;
+
+		final long size;
+
+		final long stamp;
+
+		Fingerprint(String key, long size, long stamp) {
+			this.key = key;
+			this.size = size;
+			this.stamp = stamp;
+		}
+	}
+
+
+	/**
+	 * Contents of a cache file, shared by all factories for its location.
+	 */
+	private static final class Store {
+
+		final Path file;
+
+		final Map<String, Entry> entries = new ConcurrentHashMap<>(256);
+
+		final Set<String> usedKeys = ConcurrentHashMap.newKeySet(256);
+
+		final Map<String, Map<String, long[]>> jarIndexes = new ConcurrentHashMap<>();
+
+		volatile boolean modified;
+
+		Store(Path file) {
+			this.file = file;
+		}
+
+		void load() {
+			if (!Files.isReadable(this.file)) {
+				return;
+			}
+			try (DataInputStream in = new DataInputStream(
+					new BufferedInputStream(Files.newInputStream(this.file)))) {
+				if (in.readInt() != FORMAT_MAGIC || in.readInt() != FORMAT_VERSION) {
+					if (logger.isDebugEnabled()) {
+						logger.debug("Ignoring metadata cache file in unsupported format: " + this.file);
+					}
+					return;
+				}
+				int count = in.readInt();
+				for (int i = 0; i < count; i++) {
+					String key = in.readUTF();
+					long size = in.readLong();
+					long stamp = in.readLong();
+					int idleRuns = in.readInt();
+					byte[] record = new byte[in.readInt()];
+					in.readFully(record);
+					this.entries.put(key, new Entry(size, stamp, idleRuns, record));
+				}
+				if (logger.isDebugEnabled()) {
+					logger.debug("Loaded " + count + " metadata cache entries from " + this.file);
+				}
+			}
+			catch (IOException ex) {
+				this.entries.clear();
+				if (logger.isDebugEnabled()) {
+					logger.debug("Ignoring unreadable metadata cache file: " + this.file, ex);
+				}
+			}
+		}
+	}
+
+
+	/**
+	 * Cache entry: the fingerprint of a class file, the number of runs that
+	 * wrote the cache file without requesting it, and its recorded metadata.
+	 */
+	private static final class Entry {
+
+		final long size;
+
+		final long stamp;
+
+		final int idleRuns;
+
+		final byte[] record;
+
+		Entry(long size, long stamp, int idleRuns, byte[] record) {
+			this.size = size;
+			this.stamp = stamp;
+			this.idleRuns = idleRuns;
+			this.record = record;
+		}
+
+		boolean matches(Fingerprint fingerprint) {
+			return (this.size == fingerprint.size && this.stamp == fingerprint.stamp);
+		}
+	}
+
+}
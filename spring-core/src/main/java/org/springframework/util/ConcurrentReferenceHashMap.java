@@ -32,8 +32,11 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
+import org.springframework.core.SpringProperties;
 import org.springframework.lang.Nullable;
 
 /**
@@ -54,6 +57,15 @@ import org.springframework.lang.Nullable;
  * <p>If not explicitly specified, this implementation will use
  * {@linkplain SoftReference soft entry references}.
  *
+ * <p>A map created with a {@linkplain #ConcurrentReferenceHashMap(int, float, int, ReferenceType, int)
+ * maximum size} is additionally bounded: once a segment holds more than its share of
+ * the maximum size, the least recently accessed entry among a sample of that segment's
+ * entries is evicted. Such a bounded map also keeps track of hits, misses and evictions,
+ * which allows framework caches to stay within predictable limits instead of being
+ * dropped all at once under memory pressure. Framework caches created through
+ * {@link #forCache(int)} are bounded according to the
+ * {@value #CACHE_MAXIMUM_SIZE_PROPERTY_NAME} property.
+ *
  * @author Phillip Webb
  * @author Juergen Hoeller
  * @since 3.2
@@ -74,6 +86,20 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 
 	private static final int MAXIMUM_SEGMENT_SIZE = 1 << 30;
 
+	private static final int EVICTION_SAMPLE_SIZE = 8;
+
+	/**
+	 * System property that instructs Spring's internal caches created through
+	 * {@link #forCache(int)} to be bounded to the given maximum number of entries
+	 * per cache, e.g. {@code -Dspring.util.cache.maximumSize=4096}.
+	 * <p>By default, such caches are only bounded by the garbage collector
+	 * clearing their soft references. Caches created with an explicit maximum
+	 * size through {@link #forCache(int, int)} are not affected by this property.
+	 * @since 5.3
+	 * @see org.springframework.core.SpringProperties
+	 */
+	public static final String CACHE_MAXIMUM_SIZE_PROPERTY_NAME = "spring.util.cache.maximumSize";
+
 
 	/**
 	 * Array of segments indexed using the high order bits from the hash.
@@ -95,6 +121,32 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	 */
 	private final int shift;
 
+	/**
+	 * The maximum number of entries per segment, or 0 if unbounded.
+	 */
+	private final int maximumSegmentSize;
+
+	/**
+	 * Number of lookups that found an entry (only tracked if bounded).
+	 */
+	private final LongAdder hitCount = new LongAdder();
+
+	/**
+	 * Number of lookups that did not find an entry (only tracked if bounded).
+	 */
+	private final LongAdder missCount = new LongAdder();
+
+	/**
+	 * Number of entries evicted due to the maximum size (only tracked if bounded).
+	 */
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * Logical clock for the recency of entries in a bounded map,
+	 * advanced whenever an entry is added.
+	 */
+	private final AtomicLong accessClock = new AtomicLong();
+
 	/**
 	 * Late binding entry set.
 	 */
@@ -167,18 +219,40 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	 * write to the map
 	 * @param referenceType the reference type used for entries (soft or weak)
 	 */
-	@SuppressWarnings("unchecked")
 	public ConcurrentReferenceHashMap(
 			int initialCapacity, float loadFactor, int concurrencyLevel, ReferenceType referenceType) {
 
+		this(initialCapacity, loadFactor, concurrencyLevel, referenceType, 0);
+	}
+
+	/**
+	 * Create a new {@code ConcurrentReferenceHashMap} instance.
+	 * @param initialCapacity the initial capacity of the map
+	 * @param loadFactor the load factor. When the average number of references per
+	 * table exceeds this value, resize will be attempted.
+	 * @param concurrencyLevel the expected number of threads that will concurrently
+	 * write to the map
+	 * @param referenceType the reference type used for entries (soft or weak)
+	 * @param maximumSize the maximum number of entries, or 0 for an unbounded map.
+	 * The limit is applied per segment, evicting the least recently accessed entry
+	 * among a sample of entries once a segment holds more than its share of the
+	 * maximum size.
+	 * @since 5.3
+	 */
+	@SuppressWarnings("unchecked")
+	public ConcurrentReferenceHashMap(int initialCapacity, float loadFactor, int concurrencyLevel,
+			ReferenceType referenceType, int maximumSize) {
+
 		Assert.isTrue(initialCapacity >= 0, "Initial capacity must not be negative");
 		Assert.isTrue(loadFactor > 0f, "Load factor must be positive");
 		Assert.isTrue(concurrencyLevel > 0, "Concurrency level must be positive");
 		Assert.notNull(referenceType, "Reference type must not be null");
+		Assert.isTrue(maximumSize >= 0, "Maximum size must not be negative");
 		this.loadFactor = loadFactor;
 		this.shift = calculateShift(concurrencyLevel, MAXIMUM_CONCURRENCY_LEVEL);
 		int size = 1 << this.shift;
 		this.referenceType = referenceType;
+		this.maximumSegmentSize = (maximumSize > 0 ? (int) ((maximumSize + size - 1L) / size) : 0);
 		int roundedUpSegmentCapacity = (int) ((initialCapacity + size - 1L) / size);
 		int initialSize = 1 << calculateShift(roundedUpSegmentCapacity, MAXIMUM_SEGMENT_SIZE);
 		Segment[] segments = (Segment[]) Array.newInstance(Segment.class, size);
@@ -190,6 +264,49 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	}
 
 
+	/**
+	 * Create a new {@code ConcurrentReferenceHashMap} for use as a framework cache.
+	 * <p>The map is bounded to the maximum size specified through the
+	 * {@value #CACHE_MAXIMUM_SIZE_PROPERTY_NAME} property, if any,
+	 * and otherwise unbounded apart from its soft references.
+	 * @param initialCapacity the initial capacity of the map
+	 * @since 5.3
+	 */
+	public static <K, V> ConcurrentReferenceHashMap<K, V> forCache(int initialCapacity) {
+		return new ConcurrentReferenceHashMap<>(initialCapacity, DEFAULT_LOAD_FACTOR,
+				DEFAULT_CONCURRENCY_LEVEL, DEFAULT_REFERENCE_TYPE, getCacheMaximumSize());
+	}
+
+	/**
+	 * Create a new {@code ConcurrentReferenceHashMap} for use as a framework cache
+	 * that is bounded to the given maximum size.
+	 * <p>The {@value #CACHE_MAXIMUM_SIZE_PROPERTY_NAME} property does not apply
+	 * to such a cache since its maximum size is chosen for its specific purpose.
+	 * @param initialCapacity the initial capacity of the map
+	 * @param maximumSize the maximum number of entries, or 0 for a cache
+	 * that is only bounded through its soft references
+	 * @since 5.3
+	 */
+	public static <K, V> ConcurrentReferenceHashMap<K, V> forCache(int initialCapacity, int maximumSize) {
+		return new ConcurrentReferenceHashMap<>(initialCapacity, DEFAULT_LOAD_FACTOR,
+				DEFAULT_CONCURRENCY_LEVEL, DEFAULT_REFERENCE_TYPE, maximumSize);
+	}
+
+	private static int getCacheMaximumSize() {
+		String maximumSize = SpringProperties.getProperty(CACHE_MAXIMUM_SIZE_PROPERTY_NAME);
+		if (!StringUtils.hasText(maximumSize)) {
+			return 0;
+		}
+		try {
+			return Math.max(Integer.parseInt(maximumSize.trim()), 0);
+		}
+		catch (NumberFormatException ex) {
+			throw new IllegalArgumentException("Invalid value '" + maximumSize + "' for property '" +
+					CACHE_MAXIMUM_SIZE_PROPERTY_NAME + "': a maximum number of entries is expected", ex);
+		}
+	}
+
+
 	protected final float getLoadFactor() {
 		return this.loadFactor;
 	}
@@ -234,6 +351,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	public V get(@Nullable Object key) {
 		Reference<K, V> ref = getReference(key, Restructure.WHEN_NECESSARY);
 		Entry<K, V> entry = (ref != null ? ref.get() : null);
+		recordAccess(entry);
 		return (entry != null ? entry.getValue() : null);
 	}
 
@@ -242,9 +360,25 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 	public V getOrDefault(@Nullable Object key, @Nullable V defaultValue) {
 		Reference<K, V> ref = getReference(key, Restructure.WHEN_NECESSARY);
 		Entry<K, V> entry = (ref != null ? ref.get() : null);
+		recordAccess(entry);
 		return (entry != null ? entry.getValue() : defaultValue);
 	}
 
+	private void recordAccess(@Nullable Entry<K, V> entry) {
+		if (this.maximumSegmentSize > 0) {
+			if (entry != null) {
+				long now = this.accessClock.get();
+				if (entry.lastAccess != now) {
+					entry.lastAccess = now;
+				}
+				this.hitCount.increment();
+			}
+			else {
+				this.missCount.increment();
+			}
+		}
+	}
+
 	@Override
 	public boolean containsKey(@Nullable Object key) {
 		Reference<K, V> ref = getReference(key, Restructure.WHEN_NECESSARY);
@@ -371,6 +505,42 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		}
 	}
 
+	/**
+	 * Return whether this map is bounded to a maximum size.
+	 * @since 5.3
+	 * @see #ConcurrentReferenceHashMap(int, float, int, ReferenceType, int)
+	 */
+	public boolean isBounded() {
+		return (this.maximumSegmentSize > 0);
+	}
+
+	/**
+	 * Return the number of {@code get} lookups that found an entry.
+	 * <p>Only tracked for a {@linkplain #isBounded() bounded} map, 0 otherwise.
+	 * @since 5.3
+	 */
+	public long getHitCount() {
+		return this.hitCount.sum();
+	}
+
+	/**
+	 * Return the number of {@code get} lookups that did not find an entry.
+	 * <p>Only tracked for a {@linkplain #isBounded() bounded} map, 0 otherwise.
+	 * @since 5.3
+	 */
+	public long getMissCount() {
+		return this.missCount.sum();
+	}
+
+	/**
+	 * Return the number of entries that have been evicted due to the maximum size.
+	 * <p>Entries cleared by the garbage collector are not included.
+	 * @since 5.3
+	 */
+	public long getEvictionCount() {
+		return this.evictionCount.sum();
+	}
+
 	/**
 	 * Remove any entries that have been garbage collected and are no longer referenced.
 	 * Under normal circumstances garbage collected entries are automatically purged as
@@ -482,6 +652,11 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		 */
 		private int resizeThreshold;
 
+		/**
+		 * The index in {@code references} where the previous eviction sample ended.
+		 */
+		private int evictionIndex;
+
 		public Segment(int initialSize, int resizeThreshold) {
 			this.referenceManager = createReferenceManager();
 			this.initialSize = initialSize;
@@ -521,6 +696,7 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 			if (task.hasOption(TaskOption.SKIP_IF_EMPTY) && this.count.get() == 0) {
 				return task.execute(null, null, null);
 			}
+			boolean evicted = false;
 			lock();
 			try {
 				final int index = getIndex(hash, this.references);
@@ -530,20 +706,66 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 				Entries<V> entries = value -> {
 					@SuppressWarnings("unchecked")
 					Entry<K, V> newEntry = new Entry<>((K) key, value);
+					if (ConcurrentReferenceHashMap.this.maximumSegmentSize > 0) {
+						newEntry.lastAccess = ConcurrentReferenceHashMap.this.accessClock.incrementAndGet();
+					}
 					Reference<K, V> newReference = Segment.this.referenceManager.createReference(newEntry, hash, head);
 					Segment.this.references[index] = newReference;
 					Segment.this.count.incrementAndGet();
 				};
-				return task.execute(ref, entry, entries);
+				T result = task.execute(ref, entry, entries);
+				evicted = evictIfNecessary(this.references[index]);
+				return result;
 			}
 			finally {
 				unlock();
-				if (task.hasOption(TaskOption.RESTRUCTURE_AFTER)) {
+				if (evicted || task.hasOption(TaskOption.RESTRUCTURE_AFTER)) {
 					restructureIfNecessary(resize);
 				}
 			}
 		}
 
+		/**
+		 * Evict an entry if this segment holds more entries than allowed for a
+		 * bounded map. Must be called with the lock held.
+		 * <p>Rather than scanning the whole segment, a few entries are sampled
+		 * from where the previous eviction left off, and the least recently
+		 * accessed one of them is evicted.
+		 * @param recent the reference that has just been added, never evicted
+		 * @return whether an entry has been released for purging
+		 */
+		private boolean evictIfNecessary(@Nullable Reference<K, V> recent) {
+			int maximumSegmentSize = ConcurrentReferenceHashMap.this.maximumSegmentSize;
+			if (maximumSegmentSize == 0 || this.count.get() <= maximumSegmentSize) {
+				return false;
+			}
+			Reference<K, V>[] references = this.references;
+			int index = this.evictionIndex;
+			int sampled = 0;
+			Reference<K, V> eldestRef = null;
+			long eldestAccess = 0;
+			for (int i = 0; i < references.length && sampled < EVICTION_SAMPLE_SIZE; i++) {
+				index = (index + 1) & (references.length - 1);
+				for (Reference<K, V> ref = references[index]; ref != null; ref = ref.getNext()) {
+					Entry<K, V> entry = ref.get();
+					if (entry != null && ref != recent) {
+						sampled++;
+						if (eldestRef == null || entry.lastAccess - eldestAccess < 0) {
+							eldestRef = ref;
+							eldestAccess = entry.lastAccess;
+						}
+					}
+				}
+			}
+			this.evictionIndex = index;
+			if (eldestRef == null) {
+				return false;
+			}
+			eldestRef.release();
+			ConcurrentReferenceHashMap.this.evictionCount.increment();
+			return true;
+		}
+
 		/**
 		 * Clear all items from this segment.
 		 */
@@ -726,6 +948,12 @@ public class ConcurrentReferenceHashMap<K, V> extends AbstractMap<K, V> implemen
 		@Nullable
 		private volatile V value;
 
+		/**
+		 * Logical time of the last access, for eviction in bounded maps.
+		 * Not volatile since an approximate recency order is sufficient.
+		 */
+		long lastAccess;
+
 		public Entry(@Nullable K key, @Nullable V value) {
 			this.key = key;
 			this.value = value;
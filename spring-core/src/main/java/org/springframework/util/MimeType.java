@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -106,6 +106,8 @@ public class MimeType implements Comparable<MimeType>, Serializable {
 	@Nullable
 	private volatile String toStringValue;
 
+	private transient int hashCodeValue;
+
 
 	/**
 	 * Create a new {@code MimeType} for the given primary type.
@@ -464,9 +466,13 @@ public class MimeType implements Comparable<MimeType>, Serializable {
 
 	@Override
 	public int hashCode() {
-		int result = this.type.hashCode();
-		result = 31 * result + this.subtype.hashCode();
-		result = 31 * result + this.parameters.hashCode();
+		int result = this.hashCodeValue;
+		if (result == 0) {
+			result = this.type.hashCode();
+			result = 31 * result + this.subtype.hashCode();
+			result = 31 * result + this.parameters.hashCode();
+			this.hashCodeValue = result;
+		}
 		return result;
 	}
 
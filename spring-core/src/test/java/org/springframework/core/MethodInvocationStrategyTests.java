@@ -0,0 +1,135 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Tests for {@link MethodInvocationStrategy} implementations.
+ *
+ * @author agent
+ */
+class MethodInvocationStrategyTests {
+
+	static Stream<MethodInvocationStrategy> strategies() {
+		return Stream.of(MethodInvocationStrategy.REFLECTION, MethodInvocationStrategy.METHOD_HANDLES);
+	}
+
+
+	@ParameterizedTest
+	@MethodSource("strategies")
+	void invokeInstanceMethod(MethodInvocationStrategy strategy) throws Exception {
+		Method method = TestTarget.class.getMethod("concat", String.class, int.class);
+		assertThat(strategy.getInvoker(method).invoke(new TestTarget(), "a", 1)).isEqualTo("a1");
+	}
+
+	@ParameterizedTest
+	@MethodSource("strategies")
+	void invokerCachedPerMethod(MethodInvocationStrategy strategy) throws Exception {
+		Method method = TestTarget.class.getMethod("concat", String.class, int.class);
+		assertThat(strategy.getInvoker(method)).isSameAs(strategy.getInvoker(method));
+	}
+
+	@ParameterizedTest
+	@MethodSource("strategies")
+	void invokeStaticMethodWithPrimitives(MethodInvocationStrategy strategy) throws Exception {
+		Method method = TestTarget.class.getMethod("twice", int.class);
+		assertThat(strategy.getInvoker(method).invoke(null, 21)).isEqualTo(42);
+	}
+
+	@ParameterizedTest
+	@MethodSource("strategies")
+	void invokeVoidMethod(MethodInvocationStrategy strategy) throws Exception {
+		Method method = TestTarget.class.getMethod("noop");
+		assertThat(strategy.getInvoker(method).invoke(new TestTarget())).isNull();
+		assertThat(strategy.getInvoker(method).invoke(new TestTarget(), (Object[]) null)).isNull();
+	}
+
+	@ParameterizedTest
+	@MethodSource("strategies")
+	void invokeNonPublicVarargsMethod(MethodInvocationStrategy strategy) throws Exception {
+		Method method = TestTarget.class.getDeclaredMethod("join", String[].class);
+		Object result = strategy.getInvoker(method).invoke(new TestTarget(), (Object) new String[] {"a", "b"});
+		assertThat(result).isEqualTo("a,b");
+	}
+
+	@ParameterizedTest
+	@MethodSource("strategies")
+	void invokeWithArgumentMismatch(MethodInvocationStrategy strategy) throws Exception {
+		MethodInvocationStrategy.Invoker invoker =
+				strategy.getInvoker(TestTarget.class.getMethod("concat", String.class, int.class));
+		assertThatIllegalArgumentException().isThrownBy(() -> invoker.invoke(new TestTarget(), "a", "b"));
+		assertThatIllegalArgumentException().isThrownBy(() -> invoker.invoke(new TestTarget(), "a", null));
+		assertThatIllegalArgumentException().isThrownBy(() -> invoker.invoke(new TestTarget(), "a"));
+		assertThatIllegalArgumentException().isThrownBy(() -> invoker.invoke("not a target", "a", 1));
+		assertThatExceptionOfType(NullPointerException.class).isThrownBy(() -> invoker.invoke(null, "a", 1));
+	}
+
+	@ParameterizedTest
+	@MethodSource("strategies")
+	void invokeWithTargetException(MethodInvocationStrategy strategy) throws Exception {
+		MethodInvocationStrategy.Invoker invoker = strategy.getInvoker(TestTarget.class.getMethod("fail"));
+		assertThatExceptionOfType(InvocationTargetException.class).isThrownBy(() -> invoker.invoke(new TestTarget()))
+			.satisfies(ex -> assertThat(ex.getTargetException()).isInstanceOf(IOException.class));
+	}
+
+	@ParameterizedTest
+	@MethodSource("strategies")
+	void invokeWithRuntimeTargetException(MethodInvocationStrategy strategy) throws Exception {
+		MethodInvocationStrategy.Invoker invoker = strategy.getInvoker(TestTarget.class.getMethod("failWithCast"));
+		assertThatExceptionOfType(InvocationTargetException.class).isThrownBy(() -> invoker.invoke(new TestTarget()))
+			.satisfies(ex -> assertThat(ex.getTargetException()).isInstanceOf(ClassCastException.class));
+	}
+
+
+	public static class TestTarget {
+
+		public String concat(String s, int i) {
+			return s + i;
+		}
+
+		public static int twice(int i) {
+			return i * 2;
+		}
+
+		public void noop() {
+		}
+
+		public void fail() throws IOException {
+			throw new IOException("expected");
+		}
+
+		public void failWithCast() {
+			throw new ClassCastException("expected");
+		}
+
+		private String join(String... values) {
+			return String.join(",", values);
+		}
+	}
+
+}
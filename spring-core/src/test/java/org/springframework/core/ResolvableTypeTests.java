@@ -614,6 +614,26 @@ class ResolvableTypeTests {
 		assertThat(type.resolve()).isEqualTo(String[].class);
 	}
 
+	@Test
+	void resolveVariableWithImplementationSharesGenerics() throws Exception {
+		Field field = Fields.class.getField("parameterizedType");
+		ResolvableType type1 = ResolvableType.forField(field, TypedFields.class);
+		ResolvableType type2 = ResolvableType.forField(field, TypedFields.class);
+		assertThat(type2).isNotSameAs(type1).isEqualTo(type1);
+		assertThat(type2.getSource()).isSameAs(field);
+		assertThat(type2.getGenerics()).isSameAs(type1.getGenerics());
+		assertThat(type2.resolveGeneric()).isEqualTo(String.class);
+	}
+
+	@Test
+	void resolveVariableWithImplementationAfterClearCache() throws Exception {
+		Field field = Fields.class.getField("typeVariableType");
+		assertThat(ResolvableType.forField(field, TypedFields.class).resolve()).isEqualTo(String.class);
+		ResolvableType.clearCache();
+		assertThat(ResolvableType.forField(field, TypedFields.class).resolve()).isEqualTo(String.class);
+		assertThat(ResolvableType.forField(field).resolve()).isNull();
+	}
+
 	@Test
 	void resolveVariableGenericArrayUnknown() throws Exception {
 		ResolvableType type = ResolvableType.forField(Fields.class.getField("variableTypeGenericArray"));
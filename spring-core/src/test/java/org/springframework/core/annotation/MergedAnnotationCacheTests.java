@@ -0,0 +1,129 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.reflect.Method;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.util.ReflectionUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link MergedAnnotationCache}.
+ *
+ * @author agent
+ */
+class MergedAnnotationCacheTests {
+
+	@AfterEach
+	void clearCache() {
+		AnnotationUtils.clearCache();
+	}
+
+
+	@Test
+	void findMergedAnnotationIsCached() {
+		TestAnnotation first = AnnotatedElementUtils.findMergedAnnotation(WithComposed.class, TestAnnotation.class);
+		long hits = MergedAnnotationCache.getHitCount();
+		TestAnnotation second = AnnotatedElementUtils.findMergedAnnotation(WithComposed.class, TestAnnotation.class);
+		assertThat(first).isNotNull();
+		assertThat(first.value()).isEqualTo("composed");
+		assertThat(second).isSameAs(first);
+		assertThat(MergedAnnotationCache.getHitCount()).isEqualTo(hits + 1);
+	}
+
+	@Test
+	void findMergedAnnotationOnMethodIsCached() {
+		Method method = ReflectionUtils.findMethod(WithComposed.class, "handle");
+		TestAnnotation first = AnnotatedElementUtils.findMergedAnnotation(method, TestAnnotation.class);
+		Method sameMethod = ReflectionUtils.findMethod(WithComposed.class, "handle");
+		assertThat(AnnotatedElementUtils.findMergedAnnotation(sameMethod, TestAnnotation.class)).isSameAs(first);
+		assertThat(first.value()).isEqualTo("method");
+	}
+
+	@Test
+	void absentAnnotationIsCached() {
+		assertThat(AnnotatedElementUtils.findMergedAnnotation(WithoutAnnotation.class, TestAnnotation.class)).isNull();
+		long hits = MergedAnnotationCache.getHitCount();
+		assertThat(AnnotatedElementUtils.findMergedAnnotation(WithoutAnnotation.class, TestAnnotation.class)).isNull();
+		assertThat(MergedAnnotationCache.getHitCount()).isEqualTo(hits + 1);
+	}
+
+	@Test
+	void getAndFindSemanticsAreCachedSeparately() {
+		assertThat(AnnotatedElementUtils.getMergedAnnotation(SubclassOfAnnotated.class, TestAnnotation.class)).isNull();
+		TestAnnotation found = AnnotatedElementUtils.findMergedAnnotation(SubclassOfAnnotated.class, TestAnnotation.class);
+		assertThat(found).isNotNull();
+		assertThat(found.value()).isEqualTo("composed");
+		assertThat(AnnotatedElementUtils.getMergedAnnotation(SubclassOfAnnotated.class, TestAnnotation.class)).isNull();
+	}
+
+	@Test
+	void clearCacheRemovesEntries() {
+		AnnotatedElementUtils.findMergedAnnotation(WithComposed.class, TestAnnotation.class);
+		assertThat(MergedAnnotationCache.size()).isGreaterThan(0);
+		AnnotationUtils.clearCache();
+		assertThat(MergedAnnotationCache.size()).isEqualTo(0);
+	}
+
+	@Test
+	void mergedAnnotationCacheStatistics() {
+		AnnotationUtils.CacheStatistics before = AnnotationUtils.getMergedAnnotationCacheStatistics();
+		AnnotatedElementUtils.findMergedAnnotation(WithComposed.class, TestAnnotation.class);
+		AnnotatedElementUtils.findMergedAnnotation(WithComposed.class, TestAnnotation.class);
+		AnnotationUtils.CacheStatistics after = AnnotationUtils.getMergedAnnotationCacheStatistics();
+		assertThat(after.getSize()).isEqualTo(before.getSize() + 1);
+		assertThat(after.getMissCount()).isEqualTo(before.getMissCount() + 1);
+		assertThat(after.getHitCount()).isEqualTo(before.getHitCount() + 1);
+		assertThat(after.getEvictionCount()).isEqualTo(before.getEvictionCount());
+	}
+
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@interface TestAnnotation {
+
+		String value() default "";
+	}
+
+	@Retention(RetentionPolicy.RUNTIME)
+	@TestAnnotation
+	@interface ComposedAnnotation {
+
+		@AliasFor(annotation = TestAnnotation.class)
+		String value() default "composed";
+	}
+
+	@ComposedAnnotation
+	static class WithComposed {
+
+		@TestAnnotation("method")
+		public void handle() {
+		}
+	}
+
+	static class SubclassOfAnnotated extends WithComposed {
+	}
+
+	static class WithoutAnnotation {
+	}
+
+}
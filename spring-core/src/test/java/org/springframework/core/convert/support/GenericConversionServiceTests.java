@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -507,6 +507,26 @@ class GenericConversionServiceTests {
 				new TypeDescriptor(getClass().getField("inactiveColor")))).isEqualTo(Color.BLACK);
 	}
 
+	@Test
+	void conditionalConverterCachingForPlainAndAnnotatedTypes() throws Exception {
+		conversionService.addConverter(new ColorConverter());
+		conversionService.addConverter(new MyConditionalColorConverter());
+
+		assertThat(conversionService.convert(" #000000 ", Color.class)).isEqualTo(Color.BLACK);
+		assertThat(conversionService.convert("000000xxxx",
+				new TypeDescriptor(getClass().getField("activeColor")))).isEqualTo(Color.BLACK);
+		assertThat(conversionService.convert("  #000000  ", Color.class)).isEqualTo(Color.BLACK);
+	}
+
+	@Test
+	void plainTypeCacheInvalidatedOnConverterRegistration() {
+		assertThat(conversionService.canConvert(String.class, Color.class)).isFalse();
+		assertThat(conversionService.canConvert(String.class, Color.class)).isFalse();
+		conversionService.addConverter(new ColorConverter());
+		assertThat(conversionService.canConvert(String.class, Color.class)).isTrue();
+		assertThat(conversionService.convert("#000000", Color.class)).isEqualTo(Color.BLACK);
+	}
+
 	@Test
 	void shouldNotSupportNullConvertibleTypesFromNonConditionalGenericConverter() {
 		GenericConverter converter = new NonConditionalGenericConverter();
@@ -249,6 +249,30 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 				.verify(Duration.ofSeconds(5));
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	void readByMapping(String displayName, DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		Flux<DataBuffer> flux = DataBufferUtils.readByMapping(
+				this.resource.getFile().toPath(), 0, Long.MAX_VALUE, super.bufferFactory, 3);
+
+		verifyReadData(flux);
+	}
+
+	@ParameterizedDataBufferAllocatingTest
+	void readByMappingPositionAndCount(String displayName, DataBufferFactory bufferFactory) throws Exception {
+		super.bufferFactory = bufferFactory;
+
+		Flux<DataBuffer> flux = DataBufferUtils.readByMapping(
+				this.resource.getFile().toPath(), 3, 5, super.bufferFactory, 3);
+
+		StepVerifier.create(flux)
+				.consumeNextWith(stringConsumer("bar"))
+				.consumeNextWith(stringConsumer("ba"))
+				.expectComplete()
+				.verify(Duration.ofSeconds(5));
+	}
+
 	private void verifyReadData(Flux<DataBuffer> buffers) {
 		StepVerifier.create(buffers)
 				.consumeNextWith(stringConsumer("foo"))
@@ -902,6 +926,35 @@ class DataBufferUtilsTests extends AbstractDataBufferAllocatingTests {
 		release(foo);
 	}
 
+	@ParameterizedDataBufferAllocatingTest
+	void matcherWithLongLines(String displayName, DataBufferFactory bufferFactory) {
+		super.bufferFactory = bufferFactory;
+
+		String input = "abcdefghijklmnopqrstuvwxyz\r\n0123456789\r\n\r\nABCDEFGHIJKLMNOPQRSTUVWXYZ\r";
+		DataBuffer first = stringBuffer(input);
+		DataBuffer second = stringBuffer("\nabcdefghijklmnopqrstuvwxyz");
+
+		DataBufferUtils.Matcher matcher = DataBufferUtils.matcher("\r\n".getBytes(StandardCharsets.UTF_8));
+		int result = matcher.match(first);
+		assertThat(result).isEqualTo(27);
+		first.readPosition(result + 1);
+		result = matcher.match(first);
+		assertThat(result).isEqualTo(39);
+		first.readPosition(result + 1);
+		result = matcher.match(first);
+		assertThat(result).isEqualTo(41);
+		first.readPosition(result + 1);
+		result = matcher.match(first);
+		assertThat(result).isEqualTo(-1);
+		result = matcher.match(second);
+		assertThat(result).isEqualTo(0);
+		second.readPosition(result + 1);
+		result = matcher.match(second);
+		assertThat(result).isEqualTo(-1);
+
+		release(first, second);
+	}
+
 
 	private static class ZeroDemandSubscriber extends BaseSubscriber<DataBuffer> {
 
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.io.buffer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link PoolingDataBufferFactory}.
+ *
+ * @author agent
+ */
+class PoolingDataBufferFactoryTests {
+
+	private final PoolingDataBufferFactory factory = new PoolingDataBufferFactory();
+
+
+	@Test
+	void allocateExactCapacity() {
+		PoolingDataBuffer buffer = this.factory.allocateBuffer(1000);
+		assertThat(buffer.capacity()).isEqualTo(1000);
+		assertThat(buffer.factory()).isSameAs(this.factory);
+		buffer.release();
+	}
+
+	@Test
+	void releasedMemoryIsReused() {
+		PoolingDataBuffer buffer = this.factory.allocateBuffer(1000);
+		buffer.write("foo", StandardCharsets.UTF_8);
+		assertThat(this.factory.getIdleBufferCount()).isEqualTo(0);
+		assertThat(buffer.release()).isTrue();
+		assertThat(this.factory.getIdleBufferCount()).isEqualTo(1);
+
+		PoolingDataBuffer other = this.factory.allocateBuffer(600);
+		assertThat(this.factory.getIdleBufferCount()).isEqualTo(0);
+		assertThat(other.readableByteCount()).isEqualTo(0);
+		other.release();
+	}
+
+	@Test
+	void largeBufferIsNotPooled() {
+		PoolingDataBuffer buffer = this.factory.allocateBuffer(PoolingDataBufferFactory.DEFAULT_MAX_POOLED_BUFFER_SIZE + 1);
+		assertThat(buffer.release()).isTrue();
+		assertThat(this.factory.getIdleBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void idleBuffersAreBounded() {
+		PoolingDataBufferFactory factory = new PoolingDataBufferFactory(1024, 1024);
+		PoolingDataBuffer buffer1 = factory.allocateBuffer(1024);
+		PoolingDataBuffer buffer2 = factory.allocateBuffer(1024);
+		buffer1.release();
+		buffer2.release();
+		assertThat(factory.getIdleBufferCount()).isEqualTo(1);
+	}
+
+	@Test
+	void allocatedBufferCount() {
+		PoolingDataBuffer buffer = this.factory.allocateBuffer(16);
+		PoolingDataBuffer large = this.factory.allocateBuffer(PoolingDataBufferFactory.DEFAULT_MAX_POOLED_BUFFER_SIZE + 1);
+		PoolingDataBuffer wrapped = this.factory.wrap(new byte[] {1});
+		assertThat(this.factory.getAllocatedBufferCount()).isEqualTo(2);
+
+		PoolingDataBuffer slice = buffer.retainedSlice(0, 1);
+		buffer.release();
+		assertThat(this.factory.getAllocatedBufferCount()).isEqualTo(2);
+		slice.release();
+		large.release();
+		wrapped.release();
+		assertThat(this.factory.getAllocatedBufferCount()).isEqualTo(0);
+	}
+
+	@Test
+	void fluentMethodsReturnPooledBuffer() {
+		PoolingDataBuffer buffer = this.factory.allocateBuffer(4);
+		DataBuffer result = buffer.write("foobar", StandardCharsets.UTF_8).readPosition(3);
+		assertThat(result).isSameAs(buffer);
+		assertThat(buffer.toString(StandardCharsets.UTF_8)).isEqualTo("bar");
+		assertThat(DataBufferUtils.release(result)).isTrue();
+	}
+
+	@Test
+	void sliceSharesReferenceCount() {
+		PoolingDataBuffer buffer = this.factory.allocateBuffer(16);
+		buffer.write("foobar", StandardCharsets.UTF_8);
+		PoolingDataBuffer slice = buffer.retainedSlice(0, 3);
+		assertThat(slice.toString(StandardCharsets.UTF_8)).isEqualTo("foo");
+
+		assertThat(buffer.release()).isFalse();
+		assertThat(slice.isAllocated()).isTrue();
+		assertThat(slice.release()).isTrue();
+		assertThat(buffer.isAllocated()).isFalse();
+		assertThat(this.factory.getIdleBufferCount()).isEqualTo(1);
+	}
+
+	@Test
+	void accessAfterRelease() {
+		PoolingDataBuffer buffer = this.factory.allocateBuffer(16);
+		buffer.release();
+		assertThatIllegalStateException().isThrownBy(() -> buffer.write((byte) 'a'));
+		assertThatIllegalStateException().isThrownBy(buffer::retain);
+	}
+
+	@Test
+	void joinIntoPooledBuffer() {
+		DataBuffer foo = this.factory.wrap("foo".getBytes(StandardCharsets.UTF_8));
+		DataBuffer bar = this.factory.allocateBuffer(3).write("bar", StandardCharsets.UTF_8);
+		PoolingDataBuffer result = this.factory.join(Arrays.asList(foo, bar));
+		assertThat(result.toString(StandardCharsets.UTF_8)).isEqualTo("foobar");
+		assertThat(((PooledDataBuffer) bar).isAllocated()).isFalse();
+		result.release();
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -22,6 +22,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
@@ -129,6 +132,43 @@ class PathMatchingResourcePatternResolverTests {
 		assertThat(found).as("Could not find aspectj_1_5_0.dtd in the root of the aspectjweaver jar").isTrue();
 	}
 
+	@Test
+	void classpathStarWithPatternInJarWithCachedJarEntries() throws IOException {
+		Resource[] resources = resolver.getResources("classpath*:reactor/util/annotation/*.class");
+		PathMatchingResourcePatternResolver cachingResolver = new PathMatchingResourcePatternResolver();
+		cachingResolver.setCacheJarEntries(true);
+		assertThat(cachingResolver.getResources("classpath*:reactor/util/annotation/*.class")).containsExactly(resources);
+		assertThat(cachingResolver.getResources("classpath*:reactor/util/annotation/*.class")).containsExactly(resources);
+		cachingResolver.clearCache();
+		assertThat(cachingResolver.getResources("classpath*:reactor/util/annotation/*.class")).containsExactly(resources);
+	}
+
+	@Test
+	void parallelResolutionPreservesOrder() throws IOException {
+		Resource[] dtds = resolver.getResources("classpath*:*.dtd");
+		Resource[] classes = resolver.getResources("classpath*:org/springframework/**/*.class");
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			PathMatchingResourcePatternResolver parallelResolver = new PathMatchingResourcePatternResolver();
+			parallelResolver.setTaskExecutor(executor);
+			assertThat(parallelResolver.getResources("classpath*:*.dtd")).containsExactly(dtds);
+			assertThat(parallelResolver.getResources("classpath*:org/springframework/**/*.class")).containsExactly(classes);
+		}
+		finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void parallelResolutionWithRejectingExecutor() throws IOException {
+		Resource[] resources = resolver.getResources("classpath*:*.dtd");
+		PathMatchingResourcePatternResolver parallelResolver = new PathMatchingResourcePatternResolver();
+		parallelResolver.setTaskExecutor(task -> {
+			throw new RejectedExecutionException();
+		});
+		assertThat(parallelResolver.getResources("classpath*:*.dtd")).containsExactly(resources);
+	}
+
 
 	private void assertProtocolAndFilenames(Resource[] resources, String protocol, String... filenames)
 			throws IOException {
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.metrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.core.metrics.BufferingApplicationStartup.BufferedStartupStep;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalStateException;
+
+/**
+ * Tests for {@link BufferingApplicationStartup}.
+ *
+ * @author agent
+ */
+class BufferingApplicationStartupTests {
+
+	@Test
+	void defaultStartupDoesNotRecord() {
+		StartupStep step = ApplicationStartup.DEFAULT.start("spring.test").tag("key", "value");
+		assertThat(step.getTags()).isEmpty();
+		assertThat(step.getParentId()).isNull();
+		step.end();
+	}
+
+	@Test
+	void nestedStepsAreRecordedWithParent() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(10);
+		StartupStep outer = startup.start("spring.test.outer");
+		StartupStep inner = startup.start("spring.test.inner").tag("beanName", "myBean");
+		inner.end();
+		StartupStep sibling = startup.start("spring.test.sibling");
+		sibling.end();
+		outer.end();
+
+		List<BufferedStartupStep> steps = startup.getBufferedSteps();
+		assertThat(steps).extracting(StartupStep::getName)
+				.containsExactly("spring.test.inner", "spring.test.sibling", "spring.test.outer");
+		assertThat(steps.get(0).getParentId()).isEqualTo(outer.getId());
+		assertThat(steps.get(1).getParentId()).isEqualTo(outer.getId());
+		assertThat(steps.get(2).getParentId()).isNull();
+		assertThat(steps.get(0).getTags()).hasSize(1);
+		StartupStep.Tag tag = steps.get(0).getTags().iterator().next();
+		assertThat(tag.getKey()).isEqualTo("beanName");
+		assertThat(tag.getValue()).isEqualTo("myBean");
+		assertThat(steps).allSatisfy(step -> assertThat(step.getDuration()).isGreaterThanOrEqualTo(Duration.ZERO));
+	}
+
+	@Test
+	void stepsBeyondCapacityAreDropped() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(2);
+		startup.start("spring.test.first").end();
+		startup.start("spring.test.second").end();
+		startup.start("spring.test.third").end();
+		assertThat(startup.getBufferedSteps()).extracting(StartupStep::getName)
+				.containsExactly("spring.test.first", "spring.test.second");
+
+		assertThat(startup.drainBufferedSteps()).hasSize(2);
+		assertThat(startup.getBufferedSteps()).isEmpty();
+		startup.start("spring.test.fourth").end();
+		assertThat(startup.getBufferedSteps()).extracting(StartupStep::getName)
+				.containsExactly("spring.test.fourth");
+	}
+
+	@Test
+	void endedStepCannotBeModified() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(2);
+		StartupStep step = startup.start("spring.test");
+		step.end();
+		assertThatIllegalStateException().isThrownBy(() -> step.tag("key", "value"));
+		assertThatIllegalStateException().isThrownBy(step::end);
+	}
+
+	@Test
+	void stepsOnOtherThreadsAreNotNested() throws Exception {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(10);
+		StartupStep outer = startup.start("spring.test.outer");
+		AtomicReference<StartupStep> other = new AtomicReference<>();
+		Thread thread = new Thread(() -> {
+			StartupStep step = startup.start("spring.test.other");
+			other.set(step);
+			step.end();
+		});
+		thread.start();
+		thread.join();
+		StartupStep inner = startup.start("spring.test.inner");
+		inner.end();
+		outer.end();
+
+		assertThat(other.get().getParentId()).isNull();
+		assertThat(inner.getParentId()).isEqualTo(outer.getId());
+	}
+
+	@Test
+	void stepsEndedOutOfOrder() {
+		BufferingApplicationStartup startup = new BufferingApplicationStartup(10);
+		StartupStep outer = startup.start("spring.test.outer");
+		StartupStep failed = startup.start("spring.test.failed");
+		startup.start("spring.test.unended");
+		failed.end();
+		StartupStep sibling = startup.start("spring.test.sibling");
+		sibling.end();
+		outer.end();
+		StartupStep next = startup.start("spring.test.next");
+		next.end();
+
+		assertThat(sibling.getParentId()).isEqualTo(outer.getId());
+		assertThat(next.getParentId()).isNull();
+	}
+
+}
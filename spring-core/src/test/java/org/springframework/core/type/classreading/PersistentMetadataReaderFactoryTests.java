@@ -0,0 +1,229 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.core.type.classreading;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.type.AbstractAnnotationMetadataTests;
+import org.springframework.core.type.AnnotationMetadata;
+import org.springframework.util.FileCopyUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PersistentMetadataReaderFactory}, running the
+ * {@link AnnotationMetadata} tests against metadata replayed from a
+ * persisted cache file.
+ *
+ * @author agent
+ */
+class PersistentMetadataReaderFactoryTests extends AbstractAnnotationMetadataTests {
+
+	@TempDir
+	Path tempDir;
+
+
+	@Override
+	protected AnnotationMetadata get(Class<?> source) {
+		try {
+			Path cacheFile = Files.createTempFile(this.tempDir, "metadata", ".cache");
+			PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(
+					cacheFile, source.getClassLoader());
+			factory.getMetadataReader(source.getName());
+			factory.save();
+			assertThat(Files.size(cacheFile)).isGreaterThan(0);
+			return new PersistentMetadataReaderFactory(nextRun(cacheFile), source.getClassLoader())
+					.getMetadataReader(source.getName()).getAnnotationMetadata();
+		}
+		catch (Exception ex) {
+			throw new IllegalStateException(ex);
+		}
+	}
+
+	@Test
+	void saveWithoutChangesDoesNotWriteCacheFile() throws IOException {
+		Path cacheFile = this.tempDir.resolve("metadata.cache");
+		new PersistentMetadataReaderFactory(cacheFile).save();
+		assertThat(cacheFile).doesNotExist();
+	}
+
+	@Test
+	void modifiedClassFileIsReadAgain() throws IOException {
+		Path cacheFile = this.tempDir.resolve("metadata.cache");
+		Path classFile = this.tempDir.resolve("Example.class");
+		copyClassFile(ExampleComponent.class, classFile);
+		Resource resource = new FileSystemResource(classFile);
+
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(cacheFile);
+		assertThat(factory.getMetadataReader(resource).getClassMetadata().getClassName())
+				.isEqualTo(ExampleComponent.class.getName());
+		factory.save();
+
+		// Different size, so detected even within the file system's timestamp granularity
+		copyClassFile(ExampleService.class, classFile);
+		factory = new PersistentMetadataReaderFactory(nextRun(cacheFile));
+		assertThat(factory.getMetadataReader(resource).getClassMetadata().getClassName())
+				.isEqualTo(ExampleService.class.getName());
+	}
+
+	@Test
+	void metadataReaderIsCachedInMemory() throws IOException {
+		PersistentMetadataReaderFactory factory =
+				new PersistentMetadataReaderFactory(this.tempDir.resolve("metadata.cache"));
+		MetadataReader metadataReader = factory.getMetadataReader(ExampleComponent.class.getName());
+		assertThat(factory.getMetadataReader(ExampleComponent.class.getName())).isSameAs(metadataReader);
+	}
+
+	@Test
+	void saveKeepsEntriesNotRequestedInThisRun() throws IOException {
+		Path cacheFile = this.tempDir.resolve("metadata.cache");
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(ExampleComponent.class.getName());
+		factory.getMetadataReader(ExampleService.class.getName());
+		factory.save();
+
+		cacheFile = nextRun(cacheFile);
+		factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(ExampleComponent.class.getName());
+		factory.getMetadataReader(ExampleRepository.class.getName());
+		factory.save();
+
+		assertThat(contentOf(cacheFile)).contains(ExampleService.class.getSimpleName());
+	}
+
+	@Test
+	void saveDropsEntriesNotRequestedInSeveralRuns() throws IOException {
+		Path cacheFile = this.tempDir.resolve("metadata.cache");
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(ExampleService.class.getName());
+		factory.save();
+		assertThat(contentOf(cacheFile)).contains(ExampleService.class.getSimpleName());
+
+		for (int i = 0; i < PersistentMetadataReaderFactory.MAX_IDLE_RUNS; i++) {
+			cacheFile = nextRun(cacheFile);
+			factory = new PersistentMetadataReaderFactory(cacheFile);
+			// A modified class file, so that every run writes the cache file
+			Path classFile = this.tempDir.resolve("Example" + i + ".class");
+			copyClassFile(ExampleComponent.class, classFile);
+			factory.getMetadataReader(new FileSystemResource(classFile));
+			factory.save();
+		}
+		assertThat(contentOf(cacheFile)).doesNotContain(ExampleService.class.getSimpleName())
+				.contains(ExampleComponent.class.getSimpleName());
+	}
+
+	@Test
+	void factoriesForSameCacheFileShareEntries() throws IOException {
+		Path cacheFile = this.tempDir.resolve("metadata.cache");
+		PersistentMetadataReaderFactory factory1 = new PersistentMetadataReaderFactory(cacheFile);
+		PersistentMetadataReaderFactory factory2 = new PersistentMetadataReaderFactory(
+				this.tempDir.resolve(".").resolve("metadata.cache"));
+		factory1.getMetadataReader(ExampleComponent.class.getName());
+		factory1.save();
+		factory2.getMetadataReader(ExampleService.class.getName());
+		factory2.save();
+		factory1.save();
+
+		assertCached(cacheFile, ExampleComponent.class, ExampleService.class);
+	}
+
+	@Test
+	void saveWithoutFurtherChangesDoesNotWriteCacheFile() throws IOException {
+		Path cacheFile = this.tempDir.resolve("metadata.cache");
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(cacheFile);
+		factory.getMetadataReader(ExampleComponent.class.getName());
+		factory.save();
+		Files.delete(cacheFile);
+
+		factory.getMetadataReader(ExampleComponent.class.getName());
+		factory.save();
+		assertThat(cacheFile).doesNotExist();
+	}
+
+	@Test
+	void corruptCacheFileIsIgnored() throws IOException {
+		Path cacheFile = this.tempDir.resolve("metadata.cache");
+		Files.write(cacheFile, new byte[] {1, 2, 3});
+
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(cacheFile);
+		AnnotationMetadata metadata = factory.getMetadataReader(
+				ExampleComponent.class.getName()).getAnnotationMetadata();
+		assertThat(metadata.getClassName()).isEqualTo(ExampleComponent.class.getName());
+		factory.save();
+		assertThat(Files.size(cacheFile)).isGreaterThan(3);
+	}
+
+	/**
+	 * Assert that the given classes are read from the given cache file in the
+	 * next run, i.e. that the next run does not need to write the cache file.
+	 */
+	private void assertCached(Path cacheFile, Class<?>... classes) throws IOException {
+		Path nextRunCacheFile = nextRun(cacheFile);
+		PersistentMetadataReaderFactory factory = new PersistentMetadataReaderFactory(nextRunCacheFile);
+		for (Class<?> clazz : classes) {
+			factory.getMetadataReader(clazz.getName());
+		}
+		Files.delete(nextRunCacheFile);
+		factory.save();
+		assertThat(nextRunCacheFile).doesNotExist();
+	}
+
+	private static String contentOf(Path cacheFile) throws IOException {
+		return new String(Files.readAllBytes(cacheFile), StandardCharsets.ISO_8859_1);
+	}
+
+	/**
+	 * Copy the given cache file to a new location, so that a factory for that
+	 * location loads it like on the next startup.
+	 */
+	private Path nextRun(Path cacheFile) throws IOException {
+		return Files.copy(cacheFile, Files.createTempFile(this.tempDir, "metadata", ".cache"),
+				StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static void copyClassFile(Class<?> clazz, Path target) throws IOException {
+		String resourceName = clazz.getName().substring(clazz.getName().lastIndexOf('.') + 1) + ".class";
+		try (InputStream in = clazz.getResourceAsStream(resourceName)) {
+			Files.write(target, FileCopyUtils.copyToByteArray(in));
+		}
+	}
+
+
+	static class ExampleComponent {
+	}
+
+	static class ExampleRepository {
+	}
+
+	static class ExampleService {
+
+		public String name() {
+			return "service";
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -32,6 +32,7 @@ import java.util.WeakHashMap;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
+import org.springframework.core.SpringProperties;
 import org.springframework.lang.Nullable;
 import org.springframework.util.ConcurrentReferenceHashMap.Entry;
 import org.springframework.util.ConcurrentReferenceHashMap.Reference;
@@ -507,6 +508,95 @@ class ConcurrentReferenceHashMapTests {
 		map.createReferenceManager().createReference(null, 1234, null);
 	}
 
+	@Test
+	void shouldNotBeBoundedByDefault() {
+		ConcurrentReferenceHashMap<Integer, String> map = new ConcurrentReferenceHashMap<>();
+		assertThat(map.isBounded()).isFalse();
+		for (int i = 0; i < 100; i++) {
+			map.put(i, String.valueOf(i));
+		}
+		map.get(1);
+		assertThat(map).hasSize(100);
+		assertThat(map.getHitCount()).isEqualTo(0);
+		assertThat(map.getEvictionCount()).isEqualTo(0);
+	}
+
+	@Test
+	void shouldEvictWhenExceedingMaximumSize() {
+		ConcurrentReferenceHashMap<Integer, String> map = createBoundedMap(10);
+		assertThat(map.isBounded()).isTrue();
+		for (int i = 0; i < 25; i++) {
+			map.put(i, String.valueOf(i));
+		}
+		assertThat(map).hasSize(10);
+		assertThat(map.getEvictionCount()).isEqualTo(15);
+		assertThat(map.get(24)).isEqualTo("24");
+	}
+
+	@Test
+	void shouldEvictLeastRecentlyAccessed() {
+		ConcurrentReferenceHashMap<Integer, String> map = createBoundedMap(3);
+		map.put(1, "1");
+		map.put(2, "2");
+		map.put(3, "3");
+		assertThat(map.get(1)).isEqualTo("1");
+		map.put(4, "4");
+		assertThat(map).containsOnlyKeys(1, 3, 4);
+		assertThat(map.getEvictionCount()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldNeverEvictEntryJustAdded() {
+		ConcurrentReferenceHashMap<Integer, String> map = createBoundedMap(1);
+		for (int i = 0; i < 100; i++) {
+			map.put(i, String.valueOf(i));
+			assertThat(map).containsOnlyKeys(i);
+		}
+		assertThat(map.getEvictionCount()).isEqualTo(99);
+	}
+
+	@Test
+	void shouldKeepExplicitCacheMaximumSize() {
+		SpringProperties.setProperty(ConcurrentReferenceHashMap.CACHE_MAXIMUM_SIZE_PROPERTY_NAME, "1000");
+		try {
+			ConcurrentReferenceHashMap<Integer, String> map = ConcurrentReferenceHashMap.forCache(16, 0);
+			assertThat(map.isBounded()).isFalse();
+			map = ConcurrentReferenceHashMap.forCache(16, 10000);
+			for (int i = 0; i < 5000; i++) {
+				map.put(i, String.valueOf(i));
+			}
+			assertThat(map.getEvictionCount()).isEqualTo(0);
+			assertThat(ConcurrentReferenceHashMap.forCache(16).isBounded()).isTrue();
+		}
+		finally {
+			SpringProperties.setProperty(ConcurrentReferenceHashMap.CACHE_MAXIMUM_SIZE_PROPERTY_NAME, null);
+		}
+	}
+
+	@Test
+	void shouldCountHitsAndMisses() {
+		ConcurrentReferenceHashMap<Integer, String> map = createBoundedMap(10);
+		map.put(1, "1");
+		map.get(1);
+		map.getOrDefault(1, "x");
+		map.get(2);
+		assertThat(map.getHitCount()).isEqualTo(2);
+		assertThat(map.getMissCount()).isEqualTo(1);
+	}
+
+	@Test
+	void shouldNeedNonNegativeMaximumSize() {
+		assertThatIllegalArgumentException().isThrownBy(() ->
+				new ConcurrentReferenceHashMap<Integer, String>(16, 0.75f, 1,
+						ConcurrentReferenceHashMap.ReferenceType.SOFT, -1))
+			.withMessageContaining("Maximum size must not be negative");
+	}
+
+	private ConcurrentReferenceHashMap<Integer, String> createBoundedMap(int maximumSize) {
+		return new ConcurrentReferenceHashMap<>(16, 0.75f, 1,
+				ConcurrentReferenceHashMap.ReferenceType.SOFT, maximumSize);
+	}
+
 	/**
 	 * Time a multi-threaded access to a cache.
 	 * @return the timing stopwatch
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.expression.spel;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.expression.spel.support.StandardEvaluationContext;
+
+/**
+ * Benchmarks comparing interpreted and compiled evaluation of SpEL expressions.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class SpelCompilationBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"OFF", "IMMEDIATE"})
+		public SpelCompilerMode compilerMode;
+
+		public Person root;
+
+		public StandardEvaluationContext context;
+
+		public Expression propertyExpression;
+
+		public Expression arithmeticExpression;
+
+		public Expression methodExpression;
+
+		@Setup
+		public void setup() {
+			SpelParserConfiguration configuration = new SpelParserConfiguration(
+					this.compilerMode, getClass().getClassLoader());
+			SpelExpressionParser parser = new SpelExpressionParser(configuration);
+			this.root = new Person("Juergen", 42);
+			this.context = new StandardEvaluationContext(this.root);
+			this.propertyExpression = parser.parseExpression("name");
+			this.arithmeticExpression = parser.parseExpression("age * 2 + 1");
+			this.methodExpression = parser.parseExpression("name.length() > 3 and age < 100");
+		}
+	}
+
+
+	@Benchmark
+	public Object propertyAccess(BenchmarkState state) {
+		return state.propertyExpression.getValue(state.context);
+	}
+
+	@Benchmark
+	public Object arithmetic(BenchmarkState state) {
+		return state.arithmeticExpression.getValue(state.context);
+	}
+
+	@Benchmark
+	public Object methodInvocation(BenchmarkState state) {
+		return state.methodExpression.getValue(state.context);
+	}
+
+
+	public static class Person {
+
+		private final String name;
+
+		private final int age;
+
+		public Person(String name, int age) {
+			this.name = name;
+			this.age = age;
+		}
+
+		public String getName() {
+			return this.name;
+		}
+
+		public int getAge() {
+			return this.age;
+		}
+	}
+
+}
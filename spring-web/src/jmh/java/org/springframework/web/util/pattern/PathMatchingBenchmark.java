@@ -0,0 +1,116 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util.pattern;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Benchmarks comparing {@link AntPathMatcher} with pre-parsed {@link PathPattern}
+ * matching over a set of typical request mapping patterns.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class PathMatchingBenchmark {
+
+	private static final String[] PATTERNS = {
+			"/", "/api/orders", "/api/orders/{id}", "/api/orders/{id}/items",
+			"/api/orders/{id}/items/{itemId}", "/api/customers/{id}", "/api/customers/{id}/**",
+			"/static/**/*.css", "/static/**/*.js", "/admin/*/settings"};
+
+	private static final String[] PATHS = {
+			"/", "/api/orders", "/api/orders/42/items/7", "/api/customers/42/addresses/1",
+			"/static/css/app/main.css", "/admin/users/settings", "/unknown/path"};
+
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public AntPathMatcher antPathMatcher;
+
+		public List<PathPattern> pathPatterns;
+
+		public List<PathContainer> pathContainers;
+
+		@Setup
+		public void setup() {
+			this.antPathMatcher = new AntPathMatcher();
+			PathPatternParser parser = new PathPatternParser();
+			this.pathPatterns = new ArrayList<>(PATTERNS.length);
+			for (String pattern : PATTERNS) {
+				this.pathPatterns.add(parser.parse(pattern));
+			}
+			this.pathContainers = new ArrayList<>(PATHS.length);
+			for (String path : PATHS) {
+				this.pathContainers.add(PathContainer.parsePath(path));
+			}
+		}
+	}
+
+
+	@Benchmark
+	public void antPathMatcher(BenchmarkState state, Blackhole blackhole) {
+		for (String path : PATHS) {
+			for (String pattern : PATTERNS) {
+				blackhole.consume(state.antPathMatcher.match(pattern, path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void pathPattern(BenchmarkState state, Blackhole blackhole) {
+		for (PathContainer path : state.pathContainers) {
+			for (PathPattern pattern : state.pathPatterns) {
+				blackhole.consume(pattern.matches(path));
+			}
+		}
+	}
+
+	@Benchmark
+	public void pathPatternIncludingPathParsing(BenchmarkState state, Blackhole blackhole) {
+		for (String path : PATHS) {
+			PathContainer pathContainer = PathContainer.parsePath(path);
+			for (PathPattern pattern : state.pathPatterns) {
+				blackhole.consume(pattern.matches(pathContainer));
+			}
+		}
+	}
+
+	@Benchmark
+	public Object antPathMatcherExtractVariables(BenchmarkState state) {
+		return state.antPathMatcher.extractUriTemplateVariables(
+				"/api/orders/{id}/items/{itemId}", "/api/orders/42/items/7");
+	}
+
+	@Benchmark
+	public Object pathPatternExtractVariables(BenchmarkState state) {
+		return state.pathPatterns.get(4).matchAndExtract(state.pathContainers.get(2));
+	}
+
+}
@@ -744,7 +744,7 @@ public class MediaType extends MimeType implements Serializable {
 	public static void sortBySpecificityAndQuality(List<MediaType> mediaTypes) {
 		Assert.notNull(mediaTypes, "'mediaTypes' must not be null");
 		if (mediaTypes.size() > 1) {
-			mediaTypes.sort(MediaType.SPECIFICITY_COMPARATOR.thenComparing(MediaType.QUALITY_VALUE_COMPARATOR));
+			mediaTypes.sort(SPECIFICITY_AND_QUALITY_COMPARATOR);
 		}
 	}
 
@@ -804,4 +804,10 @@ public class MediaType extends MimeType implements Serializable {
 		}
 	};
 
+	/**
+	 * Comparator used by {@link #sortBySpecificityAndQuality(List)}.
+	 */
+	private static final Comparator<MediaType> SPECIFICITY_AND_QUALITY_COMPARATOR =
+			SPECIFICITY_COMPARATOR.thenComparing(QUALITY_VALUE_COMPARATOR);
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -92,6 +92,23 @@ public class ResourceHttpMessageWriter implements HttpMessageWriter<Resource> {
 	}
 
 
+	/**
+	 * Set the size in bytes from which file-based resources and resource regions
+	 * are memory-mapped rather than read into buffers, in cases where zero-copy
+	 * transfer is not available (e.g. multiple ranges, or non zero-copy responses).
+	 * <p>By default this is set to -1, in which case memory mapping is disabled.
+	 * @param memoryMappingThreshold the minimum number of bytes to map, or -1
+	 * to disable memory mapping
+	 * @since 5.3
+	 * @see ResourceEncoder#setMemoryMappingThreshold
+	 * @see ResourceRegionEncoder#setMemoryMappingThreshold
+	 */
+	public void setMemoryMappingThreshold(long memoryMappingThreshold) {
+		this.encoder.setMemoryMappingThreshold(memoryMappingThreshold);
+		this.regionEncoder.setMemoryMappingThreshold(memoryMappingThreshold);
+	}
+
+
 	@Override
 	public boolean canWrite(ResolvableType elementType, @Nullable MediaType mediaType) {
 		return this.encoder.canEncode(elementType, mediaType);
@@ -19,8 +19,10 @@ package org.springframework.http.codec.json;
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 import java.math.BigDecimal;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.DeserializationFeature;
@@ -115,23 +117,13 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		}
 
 		Flux<DataBuffer> processed = processInput(input, elementType, mimeType, hints);
-		Flux<TokenBuffer> tokens = Jackson2Tokenizer.tokenize(processed, mapper.getFactory(), mapper,
+		Flux<List<TokenBuffer>> tokens = Jackson2Tokenizer.tokenizeInBatches(processed, mapper.getFactory(), mapper,
 				true, forceUseOfBigDecimal, getMaxInMemorySize());
 
 		ObjectReader reader = getObjectReader(elementType, hints);
 
-		return tokens.handle((tokenBuffer, sink) -> {
-			try {
-				Object value = reader.readValue(tokenBuffer.asParser(getObjectMapper()));
-				logValue(value, hints);
-				if (value != null) {
-					sink.next(value);
-				}
-			}
-			catch (IOException ex) {
-				sink.error(processException(ex));
-			}
-		});
+		// One signal per input chunk, with values bound lazily as they are requested
+		return tokens.concatMapIterable(tokenBuffers -> () -> new ValueIterator(reader, tokenBuffers, hints));
 	}
 
 	/**
@@ -240,4 +232,57 @@ public abstract class AbstractJackson2Decoder extends Jackson2CodecSupport imple
 		return parameter.getParameterAnnotation(annotType);
 	}
 
+
+	/**
+	 * Iterator that binds the values of a batch of {@link TokenBuffer TokenBuffers}
+	 * on demand, skipping {@code null} values. Decoding errors are thrown from
+	 * {@link #hasNext()} and thereby propagated after the preceding values.
+	 */
+	private class ValueIterator implements Iterator<Object> {
+
+		private final ObjectReader reader;
+
+		private final List<TokenBuffer> tokenBuffers;
+
+		@Nullable
+		private final Map<String, Object> hints;
+
+		private int index;
+
+		@Nullable
+		private Object next;
+
+		ValueIterator(ObjectReader reader, List<TokenBuffer> tokenBuffers, @Nullable Map<String, Object> hints) {
+			this.reader = reader;
+			this.tokenBuffers = tokenBuffers;
+			this.hints = hints;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (this.next == null && this.index < this.tokenBuffers.size()) {
+				TokenBuffer tokenBuffer = this.tokenBuffers.get(this.index++);
+				try {
+					Object value = this.reader.readValue(tokenBuffer.asParser(getObjectMapper()));
+					logValue(value, this.hints);
+					this.next = value;
+				}
+				catch (IOException ex) {
+					throw processException(ex);
+				}
+			}
+			return (this.next != null);
+		}
+
+		@Override
+		public Object next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			Object value = this.next;
+			this.next = null;
+			return value;
+		}
+	}
+
 }
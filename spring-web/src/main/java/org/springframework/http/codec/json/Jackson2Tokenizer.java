@@ -17,6 +17,7 @@
 package org.springframework.http.codec.json;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Function;
@@ -32,6 +33,7 @@ import com.fasterxml.jackson.databind.deser.DefaultDeserializationContext;
 import com.fasterxml.jackson.databind.util.TokenBuffer;
 import reactor.core.Exceptions;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 import org.springframework.core.codec.DecodingException;
 import org.springframework.core.io.buffer.DataBuffer;
@@ -90,12 +92,19 @@ final class Jackson2Tokenizer {
 
 	private List<TokenBuffer> tokenize(DataBuffer dataBuffer) {
 		int bufferSize = dataBuffer.readableByteCount();
-		byte[] bytes = new byte[bufferSize];
-		dataBuffer.read(bytes);
-		DataBufferUtils.release(dataBuffer);
-
 		try {
-			this.inputFeeder.feedInput(bytes, 0, bytes.length);
+			// Feed heap-based buffers directly: the non-blocking parser consumes
+			// all available input before returning NOT_AVAILABLE.
+			ByteBuffer byteBuffer = dataBuffer.asByteBuffer();
+			if (byteBuffer.hasArray()) {
+				int offset = byteBuffer.arrayOffset() + byteBuffer.position();
+				this.inputFeeder.feedInput(byteBuffer.array(), offset, offset + bufferSize);
+			}
+			else {
+				byte[] bytes = new byte[bufferSize];
+				dataBuffer.read(bytes);
+				this.inputFeeder.feedInput(bytes, 0, bytes.length);
+			}
 			List<TokenBuffer> result = parseTokenBufferFlux();
 			assertInMemorySize(bufferSize, result);
 			return result;
@@ -106,13 +115,16 @@ final class Jackson2Tokenizer {
 		catch (IOException ex) {
 			throw Exceptions.propagate(ex);
 		}
+		finally {
+			DataBufferUtils.release(dataBuffer);
+		}
 	}
 
-	private Flux<TokenBuffer> endOfInput() {
-		return Flux.defer(() -> {
+	private Mono<List<TokenBuffer>> endOfInput() {
+		return Mono.defer(() -> {
 			this.inputFeeder.endOfInput();
 			try {
-				return Flux.fromIterable(parseTokenBufferFlux());
+				return Mono.just(parseTokenBufferFlux());
 			}
 			catch (JsonProcessingException ex) {
 				throw new DecodingException("JSON decoding error: " + ex.getOriginalMessage(), ex);
@@ -239,6 +251,31 @@ final class Jackson2Tokenizer {
 	public static Flux<TokenBuffer> tokenize(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
 			ObjectMapper objectMapper, boolean tokenizeArrays, boolean forceUseOfBigDecimal, int maxInMemorySize) {
 
+		return tokenizeInBatches(dataBuffers, jsonFactory, objectMapper,
+				tokenizeArrays, forceUseOfBigDecimal, maxInMemorySize).concatMapIterable(Function.identity());
+	}
+
+	/**
+	 * Tokenize the given {@code Flux<DataBuffer>} into a {@code Flux} with one
+	 * list of {@link TokenBuffer TokenBuffers} per data buffer, containing the
+	 * JSON objects completed by that buffer (possibly none), followed by a
+	 * final list for the objects completed at the end of the input.
+	 * <p>Batching the token buffers per input chunk allows callers to bind
+	 * several objects per signal rather than passing each through the pipeline.
+	 * @param dataBuffers the source data buffers
+	 * @param jsonFactory the factory to use
+	 * @param objectMapper the current mapper instance
+	 * @param tokenizeArrays if {@code true} and the "top level" JSON object is
+	 * an array, each element is returned individually immediately after it is received
+	 * @param forceUseOfBigDecimal if {@code true}, any floating point values encountered
+	 * in source will use {@link java.math.BigDecimal}
+	 * @param maxInMemorySize maximum memory size
+	 * @return the resulting token buffers, batched per data buffer
+	 * @since 5.3
+	 */
+	public static Flux<List<TokenBuffer>> tokenizeInBatches(Flux<DataBuffer> dataBuffers, JsonFactory jsonFactory,
+			ObjectMapper objectMapper, boolean tokenizeArrays, boolean forceUseOfBigDecimal, int maxInMemorySize) {
+
 		try {
 			JsonParser parser = jsonFactory.createNonBlockingByteArrayParser();
 			DeserializationContext context = objectMapper.getDeserializationContext();
@@ -248,7 +285,7 @@ final class Jackson2Tokenizer {
 			}
 			Jackson2Tokenizer tokenizer =
 					new Jackson2Tokenizer(parser, context, tokenizeArrays, forceUseOfBigDecimal, maxInMemorySize);
-			return dataBuffers.concatMapIterable(tokenizer::tokenize).concatWith(tokenizer.endOfInput());
+			return dataBuffers.map(tokenizer::tokenize).concatWith(tokenizer.endOfInput());
 		}
 		catch (IOException ex) {
 			return Flux.error(ex);
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,24 +17,34 @@
 package org.springframework.web.accept;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.context.request.NativeWebRequest;
 
 /**
  * A {@code ContentNegotiationStrategy} that checks the 'Accept' request header.
  *
+ * <p>As of 5.3, the parsed and sorted media types for a single 'Accept' header
+ * value are cached, so that the same header value sent with subsequent requests
+ * resolves to the same unmodifiable list.
+ *
  * @author Rossen Stoyanchev
  * @author Juergen Hoeller
  * @since 3.2
  */
 public class HeaderContentNegotiationStrategy implements ContentNegotiationStrategy {
 
+	private static final Map<String, List<MediaType>> mediaTypesCache = ConcurrentReferenceHashMap.forCache(64, 256);
+
+
 	/**
 	 * {@inheritDoc}
 	 * @throws HttpMediaTypeNotAcceptableException if the 'Accept' header cannot be parsed
@@ -48,7 +58,21 @@ public class HeaderContentNegotiationStrategy implements ContentNegotiationStrat
 			return MEDIA_TYPE_ALL_LIST;
 		}
 
-		List<String> headerValues = Arrays.asList(headerValueArray);
+		if (headerValueArray.length == 1) {
+			List<MediaType> mediaTypes = mediaTypesCache.get(headerValueArray[0]);
+			if (mediaTypes == null) {
+				mediaTypes = Collections.unmodifiableList(
+						parseMediaTypes(Collections.singletonList(headerValueArray[0])));
+				mediaTypesCache.put(headerValueArray[0], mediaTypes);
+			}
+			return mediaTypes;
+		}
+		return parseMediaTypes(Arrays.asList(headerValueArray));
+	}
+
+	private static List<MediaType> parseMediaTypes(List<String> headerValues)
+			throws HttpMediaTypeNotAcceptableException {
+
 		try {
 			List<MediaType> mediaTypes = MediaType.parseMediaTypes(headerValues);
 			MediaType.sortBySpecificityAndQuality(mediaTypes);
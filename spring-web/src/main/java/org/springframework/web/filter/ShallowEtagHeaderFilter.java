@@ -16,21 +16,37 @@
 
 package org.springframework.web.filter;
 
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.UnsupportedEncodingException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Enumeration;
+import java.util.Map;
+import java.util.function.Function;
 
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.ServletOutputStream;
 import javax.servlet.ServletRequest;
+import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
+import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.DigestUtils;
+import org.springframework.util.FastByteArrayOutputStream;
 import org.springframework.util.StringUtils;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.util.ContentCachingResponseWrapper;
@@ -45,6 +61,13 @@ import org.springframework.web.util.WebUtils;
  * <p>Since the ETag is based on the response content, the response
  * (e.g. a {@link org.springframework.web.servlet.View}) is still rendered.
  * As such, this filter only saves bandwidth, not server performance.
+ * To skip the rendering for a known representation, generated ETags may be
+ * cached under an application-specific key: see {@link #setETagCacheKeyResolver}.
+ *
+ * <p>The response content is buffered in memory until the ETag has been
+ * generated. With {@link #setIncrementalHashing incremental hashing}, the ETag
+ * is computed while the content is being written instead, and content beyond
+ * a {@link #setSpillThreshold threshold} is buffered in a temporary file.
  *
  * <p><b>NOTE:</b> As of Spring Framework 5.0, this filter uses request/response
  * decorators built on the Servlet 3.1 API.
@@ -61,9 +84,21 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 
 	private static final String STREAMING_ATTRIBUTE = ShallowEtagHeaderFilter.class.getName() + ".STREAMING";
 
+	private static final char[] HEX_CHARS =
+			{'0', '1', '2', '3', '4', '5', '6', '7', '8', '9', 'a', 'b', 'c', 'd', 'e', 'f'};
+
 
 	private boolean writeWeakETag = false;
 
+	private boolean incrementalHashing = false;
+
+	private int spillThreshold = 1024 * 1024;
+
+	@Nullable
+	private Function<HttpServletRequest, String> eTagCacheKeyResolver;
+
+	private final Map<String, String> eTagCache = ConcurrentReferenceHashMap.forCache(64, 1024);
+
 
 	/**
 	 * Set whether the ETag value written to the response should be weak, as per RFC 7232.
@@ -84,6 +119,65 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		return this.writeWeakETag;
 	}
 
+	/**
+	 * Set whether to compute the ETag incrementally while the response content
+	 * is being written, rather than from the complete content afterwards.
+	 * <p>Default is {@code false}. When switched on, content beyond the
+	 * {@link #setSpillThreshold spill threshold} is buffered in a temporary file
+	 * instead of in memory, and the ETag is always an MD5 hash of the content:
+	 * {@link #generateETagHeaderValue} is not called in this mode.
+	 * @since 5.3
+	 */
+	public void setIncrementalHashing(boolean incrementalHashing) {
+		this.incrementalHashing = incrementalHashing;
+	}
+
+	/**
+	 * Return whether to compute the ETag incrementally while the response
+	 * content is being written.
+	 * @since 5.3
+	 */
+	public boolean isIncrementalHashing() {
+		return this.incrementalHashing;
+	}
+
+	/**
+	 * Set the number of bytes of response content to buffer in memory with
+	 * {@link #setIncrementalHashing incremental hashing}, before moving the
+	 * content over to a temporary file until the response is complete.
+	 * <p>Default is 1 MB. A negative value keeps all content in memory.
+	 * @since 5.3
+	 */
+	public void setSpillThreshold(int spillThreshold) {
+		this.spillThreshold = spillThreshold;
+	}
+
+	/**
+	 * Return the number of bytes of response content to buffer in memory
+	 * with incremental hashing.
+	 * @since 5.3
+	 */
+	public int getSpillThreshold() {
+		return this.spillThreshold;
+	}
+
+	/**
+	 * Set a function that derives a key for caching the ETag generated for a
+	 * request, e.g. from the request URI, the {@code Accept} header and the
+	 * current version of the underlying data.
+	 * <p>For a GET request with an {@code If-None-Match} header that matches
+	 * the ETag cached under the key of the request, a {@code 304 "Not Modified"}
+	 * status is sent without invoking the filter chain, i.e. without invoking
+	 * the handler. The key therefore needs to change whenever the content of
+	 * the response would change. The function may return {@code null} to
+	 * neither cache nor check an ETag for a given request.
+	 * <p>By default, no ETags are cached.
+	 * @since 5.3
+	 */
+	public void setETagCacheKeyResolver(@Nullable Function<HttpServletRequest, String> eTagCacheKeyResolver) {
+		this.eTagCacheKeyResolver = eTagCacheKeyResolver;
+	}
+
 
 	/**
 	 * The default value is {@code false} so that the filter may delay the generation
@@ -98,19 +192,66 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 
+		if (!isAsyncDispatch(request) && isNotModifiedForCachedETag(request, response)) {
+			return;
+		}
+
 		HttpServletResponse responseToUse = response;
-		if (!isAsyncDispatch(request) && !(response instanceof ContentCachingResponseWrapper)) {
-			responseToUse = new ConditionalContentCachingResponseWrapper(response, request);
+		if (!isAsyncDispatch(request) && !(response instanceof ContentCachingResponseWrapper) &&
+				!(response instanceof DigestingResponseWrapper)) {
+			responseToUse = (this.incrementalHashing ?
+					new DigestingResponseWrapper(response, request, this.spillThreshold) :
+					new ConditionalContentCachingResponseWrapper(response, request));
 		}
 
-		filterChain.doFilter(request, responseToUse);
+		try {
+			filterChain.doFilter(request, responseToUse);
 
-		if (!isAsyncStarted(request) && !isContentCachingDisabled(request)) {
-			updateResponse(request, responseToUse);
+			if (!isAsyncStarted(request) && !isContentCachingDisabled(request)) {
+				updateResponse(request, responseToUse);
+			}
+		}
+		finally {
+			if (!isAsyncStarted(request)) {
+				DigestingResponseWrapper wrapper =
+						WebUtils.getNativeResponse(responseToUse, DigestingResponseWrapper.class);
+				if (wrapper != null) {
+					wrapper.release();
+				}
+			}
 		}
 	}
 
+	private boolean isNotModifiedForCachedETag(HttpServletRequest request, HttpServletResponse response) {
+		if (this.eTagCacheKeyResolver == null || !HttpMethod.GET.matches(request.getMethod())) {
+			return false;
+		}
+		Enumeration<String> ifNoneMatch = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+		if (ifNoneMatch == null || !ifNoneMatch.hasMoreElements()) {
+			return false;
+		}
+		String key = this.eTagCacheKeyResolver.apply(request);
+		String eTag = (key != null ? this.eTagCache.get(key) : null);
+		if (eTag == null) {
+			return false;
+		}
+		while (ifNoneMatch.hasMoreElements()) {
+			for (String requestETag : StringUtils.commaDelimitedListToStringArray(ifNoneMatch.nextElement())) {
+				if (compareETagHeaderValue(requestETag.trim(), eTag)) {
+					return new ServletWebRequest(request, response).checkNotModified(eTag);
+				}
+			}
+		}
+		return false;
+	}
+
 	private void updateResponse(HttpServletRequest request, HttpServletResponse response) throws IOException {
+		DigestingResponseWrapper digestingWrapper =
+				WebUtils.getNativeResponse(response, DigestingResponseWrapper.class);
+		if (digestingWrapper != null) {
+			updateResponse(request, digestingWrapper);
+			return;
+		}
 
 		ContentCachingResponseWrapper wrapper =
 				WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class);
@@ -124,6 +265,7 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 				eTag = generateETagHeaderValue(wrapper.getContentInputStream(), this.writeWeakETag);
 				rawResponse.setHeader(HttpHeaders.ETAG, eTag);
 			}
+			cacheETag(request, eTag);
 			if (new ServletWebRequest(request, rawResponse).checkNotModified(eTag)) {
 				return;
 			}
@@ -132,6 +274,37 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		wrapper.copyBodyToResponse();
 	}
 
+	private void updateResponse(HttpServletRequest request, DigestingResponseWrapper wrapper) throws IOException {
+		HttpServletResponse rawResponse = (HttpServletResponse) wrapper.getResponse();
+
+		boolean eligible;
+		try (InputStream inputStream = wrapper.getContentInputStream()) {
+			eligible = isEligibleForEtag(request, wrapper, wrapper.getStatus(), inputStream);
+		}
+		if (eligible) {
+			String eTag = wrapper.getHeader(HttpHeaders.ETAG);
+			if (!StringUtils.hasText(eTag)) {
+				eTag = wrapper.getETag(this.writeWeakETag);
+				rawResponse.setHeader(HttpHeaders.ETAG, eTag);
+			}
+			cacheETag(request, eTag);
+			if (new ServletWebRequest(request, rawResponse).checkNotModified(eTag)) {
+				return;
+			}
+		}
+
+		wrapper.copyBodyToResponse();
+	}
+
+	private void cacheETag(HttpServletRequest request, String eTag) {
+		if (this.eTagCacheKeyResolver != null) {
+			String key = this.eTagCacheKeyResolver.apply(request);
+			if (key != null) {
+				this.eTagCache.put(key, eTag);
+			}
+		}
+	}
+
 	/**
 	 * Whether an ETag should be calculated for the given request and response
 	 * exchange. By default this is {@code true} if all of the following match:
@@ -242,4 +415,321 @@ public class ShallowEtagHeaderFilter extends OncePerRequestFilter {
 		}
 	}
 
+
+
+	/**
+	 * Computes an MD5 hash of the content while it is being written, buffering
+	 * the content in memory up to the given threshold and in a temporary file
+	 * beyond it. Like {@link ConditionalContentCachingResponseWrapper}, returns
+	 * the raw OutputStream if {@link #isContentCachingDisabled}.
+	 */
+	private static class DigestingResponseWrapper extends HttpServletResponseWrapper {
+
+		private final HttpServletRequest request;
+
+		private final int spillThreshold;
+
+		private final MessageDigest messageDigest;
+
+		private final FastByteArrayOutputStream content = new FastByteArrayOutputStream(1024);
+
+		private final OutputStream contentOutputStream = new ContentOutputStream();
+
+		@Nullable
+		private Path spillFile;
+
+		@Nullable
+		private OutputStream spillOutputStream;
+
+		private long contentSize;
+
+		@Nullable
+		private ServletOutputStream outputStream;
+
+		@Nullable
+		private PrintWriter writer;
+
+		@Nullable
+		private Long contentLength;
+
+
+		DigestingResponseWrapper(HttpServletResponse response, HttpServletRequest request, int spillThreshold) {
+			super(response);
+			this.request = request;
+			this.spillThreshold = spillThreshold;
+			try {
+				this.messageDigest = MessageDigest.getInstance("MD5");
+			}
+			catch (NoSuchAlgorithmException ex) {
+				throw new IllegalStateException("Could not find MessageDigest with algorithm \"MD5\"", ex);
+			}
+		}
+
+
+		@Override
+		public void sendError(int sc) throws IOException {
+			copyBodyToResponse(false);
+			try {
+				super.sendError(sc);
+			}
+			catch (IllegalStateException ex) {
+				// Possibly on Tomcat when called too late: fall back to silent setStatus
+				super.setStatus(sc);
+			}
+		}
+
+		@Override
+		@SuppressWarnings("deprecation")
+		public void sendError(int sc, String msg) throws IOException {
+			copyBodyToResponse(false);
+			try {
+				super.sendError(sc, msg);
+			}
+			catch (IllegalStateException ex) {
+				// Possibly on Tomcat when called too late: fall back to silent setStatus
+				super.setStatus(sc, msg);
+			}
+		}
+
+		@Override
+		public void sendRedirect(String location) throws IOException {
+			copyBodyToResponse(false);
+			super.sendRedirect(location);
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (isContentCachingDisabled(this.request) || hasETag()) {
+				return getResponse().getOutputStream();
+			}
+			if (this.outputStream == null) {
+				this.outputStream = new ResponseServletOutputStream(getResponse().getOutputStream());
+			}
+			return this.outputStream;
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			if (isContentCachingDisabled(this.request) || hasETag()) {
+				return getResponse().getWriter();
+			}
+			if (this.writer == null) {
+				String characterEncoding = getCharacterEncoding();
+				this.writer = new ResponsePrintWriter(characterEncoding != null ?
+						characterEncoding : WebUtils.DEFAULT_CHARACTER_ENCODING);
+			}
+			return this.writer;
+		}
+
+		private boolean hasETag() {
+			return StringUtils.hasText(getHeader(HttpHeaders.ETAG));
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			// do not flush the underlying response as the content has not been copied to it yet
+		}
+
+		@Override
+		public void setContentLength(int len) {
+			this.contentLength = (long) len;
+		}
+
+		@Override
+		public void setContentLengthLong(long len) {
+			this.contentLength = len;
+		}
+
+		@Override
+		public void setBufferSize(int size) {
+			// the content is buffered in full before being copied to the underlying response
+		}
+
+		@Override
+		public void resetBuffer() {
+			resetContent();
+		}
+
+		@Override
+		public void reset() {
+			super.reset();
+			resetContent();
+		}
+
+		/**
+		 * Return an {@link InputStream} to the content written so far,
+		 * to be closed by the caller.
+		 */
+		InputStream getContentInputStream() throws IOException {
+			if (this.spillFile != null) {
+				Assert.state(this.spillOutputStream != null, "No spill file OutputStream");
+				this.spillOutputStream.flush();
+				return Files.newInputStream(this.spillFile);
+			}
+			return this.content.getInputStream();
+		}
+
+		/**
+		 * Return the ETag header value for the content written so far,
+		 * in the format of {@link ShallowEtagHeaderFilter#generateETagHeaderValue}.
+		 */
+		String getETag(boolean isWeak) {
+			byte[] digest = this.messageDigest.digest();
+			StringBuilder builder = new StringBuilder(37);
+			if (isWeak) {
+				builder.append("W/");
+			}
+			builder.append("\"0");
+			for (byte b : digest) {
+				builder.append(HEX_CHARS[(b >> 4) & 0xf]).append(HEX_CHARS[b & 0xf]);
+			}
+			builder.append('"');
+			return builder.toString();
+		}
+
+		/**
+		 * Copy the complete content to the response.
+		 */
+		void copyBodyToResponse() throws IOException {
+			copyBodyToResponse(true);
+		}
+
+		private void copyBodyToResponse(boolean complete) throws IOException {
+			if (this.contentSize > 0) {
+				HttpServletResponse rawResponse = (HttpServletResponse) getResponse();
+				if ((complete || this.contentLength != null) && !rawResponse.isCommitted()) {
+					rawResponse.setContentLengthLong(complete || this.contentLength == null ?
+							this.contentSize : this.contentLength);
+					this.contentLength = null;
+				}
+				if (this.spillFile != null) {
+					Assert.state(this.spillOutputStream != null, "No spill file OutputStream");
+					this.spillOutputStream.flush();
+					Files.copy(this.spillFile, rawResponse.getOutputStream());
+				}
+				else {
+					this.content.writeTo(rawResponse.getOutputStream());
+				}
+				resetContent();
+				if (complete) {
+					super.flushBuffer();
+				}
+			}
+		}
+
+		/**
+		 * Delete the temporary file, if any.
+		 */
+		void release() {
+			if (this.spillFile != null) {
+				try {
+					if (this.spillOutputStream != null) {
+						this.spillOutputStream.close();
+					}
+					Files.deleteIfExists(this.spillFile);
+				}
+				catch (IOException ex) {
+					// ignore: the file stays in the temporary directory
+				}
+				this.spillFile = null;
+				this.spillOutputStream = null;
+			}
+		}
+
+		private void resetContent() {
+			this.content.reset();
+			this.contentSize = 0;
+			this.messageDigest.reset();
+			release();
+		}
+
+		private void writeContent(byte[] b, int off, int len) throws IOException {
+			this.messageDigest.update(b, off, len);
+			if (this.spillFile == null && this.spillThreshold >= 0 &&
+					this.contentSize + len > this.spillThreshold) {
+				this.spillFile = Files.createTempFile("etag", ".tmp");
+				this.spillOutputStream = new BufferedOutputStream(Files.newOutputStream(this.spillFile));
+				this.content.writeTo(this.spillOutputStream);
+				this.content.reset();
+			}
+			if (this.spillOutputStream != null) {
+				this.spillOutputStream.write(b, off, len);
+			}
+			else {
+				this.content.write(b, off, len);
+			}
+			this.contentSize += len;
+		}
+
+
+		private class ContentOutputStream extends OutputStream {
+
+			@Override
+			public void write(int b) throws IOException {
+				writeContent(new byte[] {(byte) b}, 0, 1);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				writeContent(b, off, len);
+			}
+		}
+
+
+		private class ResponseServletOutputStream extends ServletOutputStream {
+
+			private final ServletOutputStream os;
+
+			public ResponseServletOutputStream(ServletOutputStream os) {
+				this.os = os;
+			}
+
+			@Override
+			public void write(int b) throws IOException {
+				contentOutputStream.write(b);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				contentOutputStream.write(b, off, len);
+			}
+
+			@Override
+			public boolean isReady() {
+				return this.os.isReady();
+			}
+
+			@Override
+			public void setWriteListener(WriteListener writeListener) {
+				this.os.setWriteListener(writeListener);
+			}
+		}
+
+
+		private class ResponsePrintWriter extends PrintWriter {
+
+			public ResponsePrintWriter(String characterEncoding) throws UnsupportedEncodingException {
+				super(new OutputStreamWriter(contentOutputStream, characterEncoding));
+			}
+
+			@Override
+			public void write(char[] buf, int off, int len) {
+				super.write(buf, off, len);
+				super.flush();
+			}
+
+			@Override
+			public void write(String s, int off, int len) {
+				super.write(s, off, len);
+				super.flush();
+			}
+
+			@Override
+			public void write(int c) {
+				super.write(c);
+				super.flush();
+			}
+		}
+	}
+
 }
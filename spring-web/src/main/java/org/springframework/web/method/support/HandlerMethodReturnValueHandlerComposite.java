@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -16,9 +16,12 @@
 
 package org.springframework.web.method.support;
 
+import java.lang.reflect.Executable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
@@ -40,6 +43,11 @@ public class HandlerMethodReturnValueHandlerComposite implements HandlerMethodRe
 
 	private final List<HandlerMethodReturnValueHandler> returnValueHandlers = new ArrayList<>();
 
+	private final Map<ReturnTypeKey, HandlerMethodReturnValueHandler> returnValueHandlerCache =
+			new ConcurrentHashMap<>(64);
+
+	private volatile boolean selectionByReturnType = true;
+
 
 	/**
 	 * Return a read-only list with the registered handlers, or an empty list.
@@ -82,8 +90,48 @@ public class HandlerMethodReturnValueHandlerComposite implements HandlerMethodRe
 		handler.handleReturnValue(returnValue, returnType, mavContainer, webRequest);
 	}
 
+	/**
+	 * Select the handler for the given return value, the same way as
+	 * {@link #handleReturnValue} does.
+	 * @param returnValue the value returned from the handler method
+	 * @param returnType the type of the return value
+	 * @return the selected handler, or {@code null} if none supports the return type
+	 * @since 5.3
+	 * @see #isSelectionByReturnType()
+	 */
+	@Nullable
+	public HandlerMethodReturnValueHandler getReturnValueHandler(
+			@Nullable Object returnValue, MethodParameter returnType) {
+
+		return selectHandler(returnValue, returnType);
+	}
+
+	/**
+	 * Whether the selection of a handler depends on the return type only,
+	 * not on the return value itself, i.e. whether no
+	 * {@link AsyncHandlerMethodReturnValueHandler} is registered. If so,
+	 * the handler selected for a return type is cached, keyed by the method,
+	 * its containing class and the type of the actual return value.
+	 * @since 5.3
+	 * @see #getReturnValueHandler(Object, MethodParameter)
+	 */
+	public boolean isSelectionByReturnType() {
+		return this.selectionByReturnType;
+	}
+
 	@Nullable
 	private HandlerMethodReturnValueHandler selectHandler(@Nullable Object value, MethodParameter returnType) {
+		if (this.selectionByReturnType) {
+			ReturnTypeKey key = new ReturnTypeKey(returnType);
+			HandlerMethodReturnValueHandler handler = this.returnValueHandlerCache.get(key);
+			if (handler == null) {
+				handler = getReturnValueHandler(returnType);
+				if (handler != null) {
+					this.returnValueHandlerCache.put(key, handler);
+				}
+			}
+			return handler;
+		}
 		boolean isAsyncValue = isAsyncReturnValue(value, returnType);
 		for (HandlerMethodReturnValueHandler handler : this.returnValueHandlers) {
 			if (isAsyncValue && !(handler instanceof AsyncHandlerMethodReturnValueHandler)) {
@@ -111,6 +159,7 @@ public class HandlerMethodReturnValueHandlerComposite implements HandlerMethodRe
 	 */
 	public HandlerMethodReturnValueHandlerComposite addHandler(HandlerMethodReturnValueHandler handler) {
 		this.returnValueHandlers.add(handler);
+		handlersChanged();
 		return this;
 	}
 
@@ -122,8 +171,77 @@ public class HandlerMethodReturnValueHandlerComposite implements HandlerMethodRe
 
 		if (handlers != null) {
 			this.returnValueHandlers.addAll(handlers);
+			handlersChanged();
 		}
 		return this;
 	}
 
+	private void handlersChanged() {
+		boolean selectionByReturnType = true;
+		for (HandlerMethodReturnValueHandler handler : this.returnValueHandlers) {
+			if (handler instanceof AsyncHandlerMethodReturnValueHandler) {
+				selectionByReturnType = false;
+				break;
+			}
+		}
+		this.selectionByReturnType = selectionByReturnType;
+		this.returnValueHandlerCache.clear();
+	}
+
+
+	/**
+	 * Cache key for the handler selected for a return type: the method and
+	 * its containing class, as well as the type of the actual return value
+	 * and of the {@code MethodParameter} that exposes it.
+	 */
+	private static final class ReturnTypeKey {
+
+		private final Executable executable;
+
+		private final int parameterIndex;
+
+		private final int nestingLevel;
+
+		private final Class<?> containingClass;
+
+		private final Class<?> parameterType;
+
+		private final Class<?> methodParameterType;
+
+		private final int hashCode;
+
+		ReturnTypeKey(MethodParameter returnType) {
+			this.executable = returnType.getExecutable();
+			this.parameterIndex = returnType.getParameterIndex();
+			this.nestingLevel = returnType.getNestingLevel();
+			this.containingClass = returnType.getContainingClass();
+			this.parameterType = returnType.getParameterType();
+			this.methodParameterType = returnType.getClass();
+			this.hashCode = (this.executable.hashCode() * 31 + this.parameterIndex) * 31 +
+					this.parameterType.hashCode();
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof ReturnTypeKey)) {
+				return false;
+			}
+			ReturnTypeKey otherKey = (ReturnTypeKey) other;
+			return (this.parameterType == otherKey.parameterType &&
+					this.containingClass == otherKey.containingClass &&
+					this.methodParameterType == otherKey.methodParameterType &&
+					this.parameterIndex == otherKey.parameterIndex &&
+					this.nestingLevel == otherKey.nestingLevel &&
+					this.executable.equals(otherKey.executable));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.hashCode;
+		}
+	}
+
 }
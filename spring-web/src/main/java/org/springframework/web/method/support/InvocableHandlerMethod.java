@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -21,11 +21,12 @@ import java.lang.reflect.Method;
 import java.util.Arrays;
 
 import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodInvocationStrategy;
 import org.springframework.core.MethodParameter;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
 import org.springframework.util.ObjectUtils;
-import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.support.SessionStatus;
 import org.springframework.web.bind.support.WebDataBinderFactory;
@@ -45,13 +46,21 @@ public class InvocableHandlerMethod extends HandlerMethod {
 
 	private static final Object[] EMPTY_ARGS = new Object[0];
 
+	private static final ParameterNameDiscoverer defaultParameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+
+
+	private final MethodInvocationStrategy.Invoker invoker;
 
 	@Nullable
 	private WebDataBinderFactory dataBinderFactory;
 
-	private HandlerMethodArgumentResolverComposite resolvers = new HandlerMethodArgumentResolverComposite();
+	@Nullable
+	private HandlerMethodArgumentResolverComposite resolvers;
+
+	@Nullable
+	private HandlerMethodArgumentResolver[] parameterResolvers;
 
-	private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
+	private ParameterNameDiscoverer parameterNameDiscoverer = defaultParameterNameDiscoverer;
 
 
 	/**
@@ -59,6 +68,7 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 */
 	public InvocableHandlerMethod(HandlerMethod handlerMethod) {
 		super(handlerMethod);
+		this.invoker = MethodInvocationStrategy.DEFAULT.getInvoker(getBridgedMethod());
 	}
 
 	/**
@@ -66,6 +76,7 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 */
 	public InvocableHandlerMethod(Object bean, Method method) {
 		super(bean, method);
+		this.invoker = MethodInvocationStrategy.DEFAULT.getInvoker(getBridgedMethod());
 	}
 
 	/**
@@ -79,6 +90,7 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			throws NoSuchMethodException {
 
 		super(bean, methodName, parameterTypes);
+		this.invoker = MethodInvocationStrategy.DEFAULT.getInvoker(getBridgedMethod());
 	}
 
 
@@ -96,6 +108,25 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 */
 	public void setHandlerMethodArgumentResolvers(HandlerMethodArgumentResolverComposite argumentResolvers) {
 		this.resolvers = argumentResolvers;
+		this.parameterResolvers = null;
+	}
+
+	/**
+	 * Set the {@link HandlerMethodArgumentResolver} selected in advance for each
+	 * method parameter, in parameter order, so that invocations do not need to
+	 * select a resolver per argument. A {@code null} element indicates that no
+	 * resolver supports the parameter.
+	 * <p>By default, resolvers are selected through the
+	 * {@linkplain #setHandlerMethodArgumentResolvers argument resolvers} on
+	 * every invocation. Setting those again resets the given selection.
+	 * @param parameterResolvers the resolvers, one per method parameter
+	 * @since 5.3
+	 * @see HandlerMethodArgumentResolverComposite#getArgumentResolver
+	 */
+	public void setParameterResolvers(HandlerMethodArgumentResolver[] parameterResolvers) {
+		Assert.isTrue(parameterResolvers.length == getMethodParameters().length,
+				"Expected one argument resolver per method parameter");
+		this.parameterResolvers = parameterResolvers;
 	}
 
 	/**
@@ -152,6 +183,7 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			return EMPTY_ARGS;
 		}
 
+		HandlerMethodArgumentResolver[] parameterResolvers = this.parameterResolvers;
 		Object[] args = new Object[parameters.length];
 		for (int i = 0; i < parameters.length; i++) {
 			MethodParameter parameter = parameters[i];
@@ -160,11 +192,13 @@ public class InvocableHandlerMethod extends HandlerMethod {
 			if (args[i] != null) {
 				continue;
 			}
-			if (!this.resolvers.supportsParameter(parameter)) {
+			HandlerMethodArgumentResolver resolver = (parameterResolvers != null ? parameterResolvers[i] :
+					this.resolvers != null ? this.resolvers.getArgumentResolver(parameter) : null);
+			if (resolver == null) {
 				throw new IllegalStateException(formatArgumentError(parameter, "No suitable resolver"));
 			}
 			try {
-				args[i] = this.resolvers.resolveArgument(parameter, mavContainer, request, this.dataBinderFactory);
+				args[i] = resolver.resolveArgument(parameter, mavContainer, request, this.dataBinderFactory);
 			}
 			catch (Exception ex) {
 				// Leave stack trace for later, exception may actually be resolved and handled...
@@ -185,9 +219,8 @@ public class InvocableHandlerMethod extends HandlerMethod {
 	 */
 	@Nullable
 	protected Object doInvoke(Object... args) throws Exception {
-		ReflectionUtils.makeAccessible(getBridgedMethod());
 		try {
-			return getBridgedMethod().invoke(getBean(), args);
+			return this.invoker.invoke(getBean(), args);
 		}
 		catch (IllegalArgumentException ex) {
 			assertTargetBean(getBridgedMethod(), getBean(), args);
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import java.nio.charset.StandardCharsets;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.http.HttpServletRequest;
+
+import org.springframework.http.server.RequestPath;
+import org.springframework.lang.Nullable;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+/**
+ * Utility methods to parse the path of a Servlet request into a {@link RequestPath}
+ * once and to cache it in a request attribute, for matching against pre-parsed
+ * {@link org.springframework.web.util.pattern.PathPattern PathPatterns}.
+ *
+ * <p>The path within the application of the parsed {@code RequestPath} excludes
+ * the context path as well as the servlet path of a prefix-based servlet mapping
+ * such as "/app/*". It is not decoded and still contains path parameters, which
+ * {@code PathPattern} matching handles on its own.
+ *
+ * @author agent
+ * @since 5.3
+ * @see org.springframework.web.util.pattern.PathPattern#matches
+ */
+public abstract class ServletRequestPathUtils {
+
+	/**
+	 * Name of the Servlet request attribute that holds the parsed {@link RequestPath}.
+	 */
+	public static final String PATH_ATTRIBUTE = ServletRequestPathUtils.class.getName() + ".PATH";
+
+
+	/**
+	 * Parse the path of the given request into a {@link RequestPath} and
+	 * save it in the request attribute {@link #PATH_ATTRIBUTE}, replacing
+	 * any previously parsed path.
+	 * @param request the current request
+	 * @return the parsed path
+	 */
+	public static RequestPath parseAndCache(HttpServletRequest request) {
+		RequestPath requestPath = parse(request);
+		request.setAttribute(PATH_ATTRIBUTE, requestPath);
+		return requestPath;
+	}
+
+	/**
+	 * Return the {@link #parseAndCache previously} parsed {@link RequestPath}.
+	 * @param request the current request
+	 * @return the parsed path
+	 * @throws IllegalArgumentException if no parsed path is found
+	 */
+	public static RequestPath getParsedRequestPath(ServletRequest request) {
+		RequestPath path = (RequestPath) request.getAttribute(PATH_ATTRIBUTE);
+		Assert.notNull(path, () -> "Expected parsed RequestPath in request attribute \"" + PATH_ATTRIBUTE + "\".");
+		return path;
+	}
+
+	/**
+	 * Set the given parsed {@link RequestPath}, typically one obtained from
+	 * {@link #getParsedRequestPath} before a nested dispatch, or remove the
+	 * request attribute if {@code null}.
+	 * @param requestPath the path to set, or {@code null} to remove it
+	 * @param request the current request
+	 */
+	public static void setParsedRequestPath(@Nullable RequestPath requestPath, ServletRequest request) {
+		if (requestPath != null) {
+			request.setAttribute(PATH_ATTRIBUTE, requestPath);
+		}
+		else {
+			request.removeAttribute(PATH_ATTRIBUTE);
+		}
+	}
+
+	/**
+	 * Check for a {@link #parseAndCache previously} parsed {@link RequestPath}.
+	 * @param request the current request
+	 */
+	public static boolean hasParsedRequestPath(ServletRequest request) {
+		return (request.getAttribute(PATH_ATTRIBUTE) != null);
+	}
+
+	/**
+	 * Remove the request attribute {@link #PATH_ATTRIBUTE} that holds a
+	 * {@link #parseAndCache previously} parsed {@link RequestPath}.
+	 * @param request the current request
+	 */
+	public static void clearParsedRequestPath(ServletRequest request) {
+		request.removeAttribute(PATH_ATTRIBUTE);
+	}
+
+
+	private static RequestPath parse(HttpServletRequest request) {
+		String requestUri = (String) request.getAttribute(WebUtils.INCLUDE_REQUEST_URI_ATTRIBUTE);
+		String contextPath;
+		String servletPath;
+		String pathInfo;
+		if (requestUri != null) {
+			contextPath = (String) request.getAttribute(WebUtils.INCLUDE_CONTEXT_PATH_ATTRIBUTE);
+			servletPath = (String) request.getAttribute(WebUtils.INCLUDE_SERVLET_PATH_ATTRIBUTE);
+			pathInfo = (String) request.getAttribute(WebUtils.INCLUDE_PATH_INFO_ATTRIBUTE);
+		}
+		else {
+			requestUri = request.getRequestURI();
+			contextPath = request.getContextPath();
+			servletPath = request.getServletPath();
+			pathInfo = request.getPathInfo();
+		}
+
+		RequestPath requestPath = RequestPath.parse(requestUri, contextPath);
+		if (pathInfo != null && StringUtils.hasLength(servletPath) && !"/".equals(servletPath)) {
+			// Prefix-based servlet mapping such as "/app/*": treat servlet path as part of the context path
+			String prefix = UriUtils.encodePath(servletPath, StandardCharsets.UTF_8);
+			if (prefix.endsWith("/")) {
+				prefix = prefix.substring(0, prefix.length() - 1);
+			}
+			requestPath = requestPath.modifyContextPath(requestPath.contextPath().value() + prefix);
+		}
+		return requestPath;
+	}
+
+}
@@ -189,6 +189,31 @@ public class Jackson2JsonDecoderTests extends AbstractDecoderTests<Jackson2JsonD
 		StepVerifier.create(result).expectComplete().verify();
 	}
 
+	@Test
+	public void decodeSeveralElementsPerBufferWithLimitedDemand() {
+		Flux<Object> result = this.decoder.decode(
+				stringBuffer("[{\"bar\":\"b1\",\"foo\":\"f1\"},null,{\"bar\":\"b2\",\"foo\":\"f2\"}]"),
+				ResolvableType.forClass(Pojo.class), MediaType.APPLICATION_JSON, Collections.emptyMap());
+
+		StepVerifier.create(result, 1)
+				.expectNext(pojo1)
+				.thenRequest(1)
+				.expectNext(pojo2)
+				.thenRequest(1)
+				.verifyComplete();
+	}
+
+	@Test
+	public void decodeErrorAfterPrecedingElementsOfSameBuffer() {
+		Flux<Object> result = this.decoder.decode(
+				stringBuffer("[{\"bar\":\"b1\",\"foo\":\"f1\"},{\"bar\":[\"b2\"],\"foo\":\"f2\"}]"),
+				ResolvableType.forClass(Pojo.class), MediaType.APPLICATION_JSON, Collections.emptyMap());
+
+		StepVerifier.create(result)
+				.expectNext(pojo1)
+				.verifyError(DecodingException.class);
+	}
+
 	@Test
 	public void noDefaultConstructor() {
 		Flux<DataBuffer> input =
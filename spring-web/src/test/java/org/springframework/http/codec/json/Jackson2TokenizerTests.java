@@ -256,6 +256,23 @@ public class Jackson2TokenizerTests extends AbstractLeakCheckingTests {
 				.verify();
 	}
 
+	@Test
+	public void tokenizeInBatches() {
+		Flux<DataBuffer> source = Flux.just(
+				stringBuffer("[{\"id\":1},{\"id\":2},{\"id"),
+				stringBuffer("\":3}"),
+				stringBuffer("]"));
+		Flux<List<TokenBuffer>> batches = Jackson2Tokenizer.tokenizeInBatches(
+				source, this.jsonFactory, this.objectMapper, true, false, -1);
+
+		StepVerifier.create(batches)
+				.assertNext(tokenBuffers -> assertThat(tokenBuffers).hasSize(2))
+				.assertNext(tokenBuffers -> assertThat(tokenBuffers).hasSize(1))
+				.assertNext(tokenBuffers -> assertThat(tokenBuffers).isEmpty())
+				.assertNext(tokenBuffers -> assertThat(tokenBuffers).isEmpty())
+				.verifyComplete();
+	}
+
 	@Test  // SPR-16521
 	public void jsonEOFExceptionIsWrappedAsDecodingError() {
 		Flux<DataBuffer> source = Flux.just(stringBuffer("{\"status\": \"noClosingQuote}"));
@@ -17,8 +17,10 @@
 package org.springframework.web.filter;
 
 import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import org.junit.jupiter.api.Test;
@@ -266,4 +268,102 @@ public class ShallowEtagHeaderFilterTests {
 		assertThat(response.getContentAsByteArray()).as("Invalid content").isEqualTo(responseBody);
 	}
 
+	@Test
+	public void filterNoMatchWithIncrementalHashing() throws Exception {
+		this.filter.setIncrementalHashing(true);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		final byte[] responseBody = "Hello World".getBytes(StandardCharsets.UTF_8);
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			((HttpServletResponse) filterResponse).setStatus(HttpServletResponse.SC_OK);
+			FileCopyUtils.copy(responseBody, filterResponse.getOutputStream());
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(200);
+		assertThat(response.getHeader("ETag")).as("Invalid ETag").isEqualTo("\"0b10a8db164e0754105b7a99be72e3fe5\"");
+		assertThat(response.getContentLength()).as("Invalid Content-Length header").isEqualTo(responseBody.length);
+		assertThat(response.getContentAsByteArray()).as("Invalid content").isEqualTo(responseBody);
+	}
+
+	@Test
+	public void filterNoMatchWithIncrementalHashingAboveSpillThreshold() throws Exception {
+		this.filter.setIncrementalHashing(true);
+		this.filter.setSpillThreshold(4);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			((HttpServletResponse) filterResponse).setStatus(HttpServletResponse.SC_OK);
+			filterResponse.getWriter().write("Hel");
+			filterResponse.getWriter().write("lo World");
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(200);
+		assertThat(response.getHeader("ETag")).as("Invalid ETag").isEqualTo("\"0b10a8db164e0754105b7a99be72e3fe5\"");
+		assertThat(response.getContentLength()).as("Invalid Content-Length header").isEqualTo(11);
+		assertThat(response.getContentAsString()).as("Invalid content").isEqualTo("Hello World");
+	}
+
+	@Test
+	public void filterMatchWithIncrementalHashing() throws Exception {
+		this.filter.setIncrementalHashing(true);
+		this.filter.setSpillThreshold(0);
+		final MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		request.addHeader("If-None-Match", "\"0b10a8db164e0754105b7a99be72e3fe5\"");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			byte[] responseBody = "Hello World".getBytes(StandardCharsets.UTF_8);
+			FileCopyUtils.copy(responseBody, filterResponse.getOutputStream());
+			filterResponse.setContentLength(responseBody.length);
+		};
+		filter.doFilter(request, response, filterChain);
+
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(304);
+		assertThat(response.getHeader("ETag")).as("Invalid ETag").isEqualTo("\"0b10a8db164e0754105b7a99be72e3fe5\"");
+		assertThat(response.containsHeader("Content-Length")).as("Response has Content-Length header").isFalse();
+		assertThat(response.getContentAsByteArray()).as("Invalid content").isEmpty();
+	}
+
+	@Test
+	public void filterMatchWithCachedETag() throws Exception {
+		this.filter.setETagCacheKeyResolver(HttpServletRequest::getRequestURI);
+		AtomicInteger invocations = new AtomicInteger();
+		FilterChain filterChain = (filterRequest, filterResponse) -> {
+			invocations.incrementAndGet();
+			FileCopyUtils.copy("Hello World".getBytes(StandardCharsets.UTF_8), filterResponse.getOutputStream());
+		};
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/hotels");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, filterChain);
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(200);
+		assertThat(invocations.get()).isEqualTo(1);
+
+		request = new MockHttpServletRequest("GET", "/hotels");
+		request.addHeader("If-None-Match", "W/\"0b10a8db164e0754105b7a99be72e3fe5\"");
+		response = new MockHttpServletResponse();
+		filter.doFilter(request, response, filterChain);
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(304);
+		assertThat(response.getHeader("ETag")).as("Invalid ETag").isEqualTo("\"0b10a8db164e0754105b7a99be72e3fe5\"");
+		assertThat(invocations.get()).isEqualTo(1);
+
+		request = new MockHttpServletRequest("GET", "/hotels");
+		request.addHeader("If-None-Match", "\"0other\"");
+		response = new MockHttpServletResponse();
+		filter.doFilter(request, response, filterChain);
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(200);
+		assertThat(invocations.get()).isEqualTo(2);
+
+		request = new MockHttpServletRequest("GET", "/rooms");
+		request.addHeader("If-None-Match", "\"0b10a8db164e0754105b7a99be72e3fe5\"");
+		response = new MockHttpServletResponse();
+		filter.doFilter(request, response, filterChain);
+		assertThat(response.getStatus()).as("Invalid status").isEqualTo(304);
+		assertThat(invocations.get()).isEqualTo(3);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -25,6 +25,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
@@ -85,6 +86,34 @@ public class HandlerMethodReturnValueHandlerCompositeTests {
 		verifyNoMoreInteractions(anotherIntegerHandler);
 	}
 
+	@Test
+	public void handleReturnValueCachesSelectedHandler() throws Exception {
+		MethodParameter sameType = new MethodParameter(getClass().getDeclaredMethod("handleInteger"), -1);
+
+		this.handlers.handleReturnValue(55, this.integerType, this.mavContainer, null);
+		this.handlers.handleReturnValue(56, sameType, this.mavContainer, null);
+
+		verify(this.integerHandler, times(1)).supportsReturnType(this.integerType);
+		verify(this.integerHandler).handleReturnValue(55, this.integerType, this.mavContainer, null);
+		verify(this.integerHandler).handleReturnValue(56, sameType, this.mavContainer, null);
+	}
+
+	@Test
+	public void handleReturnValueAfterAddingHandler() throws Exception {
+		this.handlers.handleReturnValue(55, this.integerType, this.mavContainer, null);
+
+		HandlerMethodReturnValueHandler stringHandler = mock(HandlerMethodReturnValueHandler.class);
+		given(stringHandler.supportsReturnType(this.stringType)).willReturn(true);
+		this.handlers.addHandler(stringHandler);
+
+		this.handlers.handleReturnValue("value", this.stringType, this.mavContainer, null);
+		this.handlers.handleReturnValue(55, this.integerType, this.mavContainer, null);
+
+		verify(stringHandler).handleReturnValue("value", this.stringType, this.mavContainer, null);
+		verify(this.integerHandler, times(2)).supportsReturnType(this.integerType);
+		verify(this.integerHandler, times(2)).handleReturnValue(55, this.integerType, this.mavContainer, null);
+	}
+
 	@Test  // SPR-13083
 	public void handleReturnValueWithAsyncHandler() throws Exception {
 		Promise<Integer> promise = new Promise<>();
@@ -108,6 +137,27 @@ public class HandlerMethodReturnValueHandlerCompositeTests {
 		verifyNoMoreInteractions(responseBodyHandler);
 	}
 
+	@Test
+	public void getReturnValueHandler() throws Exception {
+		assertThat(this.handlers.getReturnValueHandler(55, this.integerType)).isSameAs(this.integerHandler);
+		assertThat(this.handlers.getReturnValueHandler("value", this.stringType)).isNull();
+		assertThat(this.handlers.isSelectionByReturnType()).isTrue();
+	}
+
+	@Test
+	public void getReturnValueHandlerWithAsyncHandler() throws Exception {
+		Promise<Integer> promise = new Promise<>();
+		MethodParameter promiseType = new MethodParameter(getClass().getDeclaredMethod("handlePromise"), -1);
+
+		AsyncHandlerMethodReturnValueHandler promiseHandler = mock(AsyncHandlerMethodReturnValueHandler.class);
+		given(promiseHandler.supportsReturnType(promiseType)).willReturn(true);
+		given(promiseHandler.isAsyncReturnValue(promise, promiseType)).willReturn(true);
+		this.handlers.addHandler(promiseHandler);
+
+		assertThat(this.handlers.getReturnValueHandler(promise, promiseType)).isSameAs(promiseHandler);
+		assertThat(this.handlers.isSelectionByReturnType()).isFalse();
+	}
+
 	@Test
 	public void noSuitableReturnValueHandler() throws Exception {
 		assertThatIllegalArgumentException().isThrownBy(() ->
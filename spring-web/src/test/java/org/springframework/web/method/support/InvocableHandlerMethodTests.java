@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -66,6 +66,33 @@ public class InvocableHandlerMethodTests {
 		assertThat(getStubResolver(1).getResolvedParameters().get(0).getParameterName()).isEqualTo("stringArg");
 	}
 
+	@Test
+	public void resolveArgWithParameterResolvers() throws Exception {
+		this.composite.addResolver(new StubArgumentResolver(99));
+		this.composite.addResolver(new StubArgumentResolver("value"));
+		StubArgumentResolver intResolver = new StubArgumentResolver(1);
+		StubArgumentResolver stringResolver = new StubArgumentResolver("other");
+
+		InvocableHandlerMethod handlerMethod = getInvocable(Integer.class, String.class);
+		handlerMethod.setParameterResolvers(new HandlerMethodArgumentResolver[] {intResolver, stringResolver});
+		assertThat(handlerMethod.invokeForRequest(this.request, null)).isEqualTo("1-other");
+		assertThat(intResolver.getResolvedParameters().size()).isEqualTo(1);
+		assertThat(stringResolver.getResolvedParameters().size()).isEqualTo(1);
+		assertThat(getStubResolver(0).getResolvedParameters()).isEmpty();
+
+		handlerMethod.setHandlerMethodArgumentResolvers(this.composite);
+		assertThat(handlerMethod.invokeForRequest(this.request, null)).isEqualTo("99-value");
+	}
+
+	@Test
+	public void resolveArgWithoutParameterResolver() {
+		InvocableHandlerMethod handlerMethod = getInvocable(Integer.class, String.class);
+		handlerMethod.setParameterResolvers(new HandlerMethodArgumentResolver[] {new StubArgumentResolver(1), null});
+		assertThatIllegalStateException().isThrownBy(() ->
+				handlerMethod.invokeForRequest(this.request, null))
+			.withMessageContaining("No suitable resolver");
+	}
+
 	@Test
 	public void resolveNoArgValue() throws Exception {
 		this.composite.addResolver(new StubArgumentResolver(Integer.class));
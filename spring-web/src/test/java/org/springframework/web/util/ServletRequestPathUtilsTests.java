@@ -0,0 +1,97 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.util;
+
+import org.junit.jupiter.api.Test;
+
+import org.springframework.http.server.RequestPath;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+/**
+ * Unit tests for {@link ServletRequestPathUtils}.
+ *
+ * @author agent
+ */
+public class ServletRequestPathUtilsTests {
+
+	@Test
+	public void parseAndCache() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/cars;color=red/a%20b");
+		request.setContextPath("/app");
+
+		RequestPath requestPath = ServletRequestPathUtils.parseAndCache(request);
+		assertThat(requestPath.contextPath().value()).isEqualTo("/app");
+		assertThat(requestPath.pathWithinApplication().value()).isEqualTo("/cars;color=red/a%20b");
+		assertThat(ServletRequestPathUtils.getParsedRequestPath(request)).isSameAs(requestPath);
+	}
+
+	@Test
+	public void parseWithServletMappingPrefix() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/servlet/cars");
+		request.setContextPath("/app");
+		request.setServletPath("/servlet");
+		request.setPathInfo("/cars");
+
+		RequestPath requestPath = ServletRequestPathUtils.parseAndCache(request);
+		assertThat(requestPath.contextPath().value()).isEqualTo("/app/servlet");
+		assertThat(requestPath.pathWithinApplication().value()).isEqualTo("/cars");
+	}
+
+	@Test
+	public void parseWithDefaultServletMapping() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/cars");
+		request.setContextPath("/app");
+		request.setServletPath("/cars");
+
+		RequestPath requestPath = ServletRequestPathUtils.parseAndCache(request);
+		assertThat(requestPath.contextPath().value()).isEqualTo("/app");
+		assertThat(requestPath.pathWithinApplication().value()).isEqualTo("/cars");
+	}
+
+	@Test
+	public void parseForInclude() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/cars");
+		request.setContextPath("/app");
+		request.setAttribute(WebUtils.INCLUDE_REQUEST_URI_ATTRIBUTE, "/app/fragments/header");
+		request.setAttribute(WebUtils.INCLUDE_CONTEXT_PATH_ATTRIBUTE, "/app");
+
+		RequestPath requestPath = ServletRequestPathUtils.parseAndCache(request);
+		assertThat(requestPath.pathWithinApplication().value()).isEqualTo("/fragments/header");
+	}
+
+	@Test
+	public void setAndClearParsedRequestPath() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cars");
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isFalse();
+		assertThatIllegalArgumentException().isThrownBy(() -> ServletRequestPathUtils.getParsedRequestPath(request));
+
+		RequestPath requestPath = RequestPath.parse("/trucks", null);
+		ServletRequestPathUtils.setParsedRequestPath(requestPath, request);
+		assertThat(ServletRequestPathUtils.getParsedRequestPath(request)).isSameAs(requestPath);
+
+		ServletRequestPathUtils.setParsedRequestPath(null, request);
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isFalse();
+
+		ServletRequestPathUtils.parseAndCache(request);
+		ServletRequestPathUtils.clearParsedRequestPath(request);
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isFalse();
+	}
+
+}
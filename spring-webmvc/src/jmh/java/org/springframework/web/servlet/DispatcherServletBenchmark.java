@@ -0,0 +1,121 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.testfixture.servlet.MockHttpServletResponse;
+import org.springframework.web.testfixture.servlet.MockServletConfig;
+import org.springframework.web.testfixture.servlet.MockServletContext;
+
+/**
+ * Benchmarks for request dispatch through {@link DispatcherServlet} to
+ * annotated {@code @ResponseBody} handler methods.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class DispatcherServletBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		public DispatcherServlet servlet;
+
+		@Setup
+		public void setup() throws Exception {
+			MockServletContext servletContext = new MockServletContext();
+			AnnotationConfigWebApplicationContext context = new AnnotationConfigWebApplicationContext();
+			context.setServletContext(servletContext);
+			context.register(WebConfig.class, GreetingController.class);
+			this.servlet = new DispatcherServlet(context);
+			this.servlet.init(new MockServletConfig(servletContext));
+		}
+
+		@TearDown
+		public void tearDown() {
+			this.servlet.destroy();
+		}
+	}
+
+
+	@Benchmark
+	public MockHttpServletResponse staticPath(BenchmarkState state) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/greeting");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		state.servlet.service(request, response);
+		return response;
+	}
+
+	@Benchmark
+	public MockHttpServletResponse pathVariable(BenchmarkState state) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/greeting/Juergen");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		state.servlet.service(request, response);
+		return response;
+	}
+
+	@Benchmark
+	public MockHttpServletResponse requestParam(BenchmarkState state) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/greeting/param");
+		request.setParameter("name", "Juergen");
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		state.servlet.service(request, response);
+		return response;
+	}
+
+
+	@Configuration
+	@EnableWebMvc
+	static class WebConfig {
+	}
+
+
+	@RestController
+	static class GreetingController {
+
+		@GetMapping("/greeting")
+		public String greeting() {
+			return "Hello";
+		}
+
+		@GetMapping("/greeting/param")
+		public String greetingWithParam(@RequestParam String name) {
+			return "Hello " + name;
+		}
+
+		@GetMapping("/greeting/{name}")
+		public String greetingWithPathVariable(@PathVariable String name) {
+			return "Hello " + name;
+		}
+	}
+
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.support.StaticWebApplicationContext;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.testfixture.servlet.MockHttpServletResponse;
+
+/**
+ * Benchmarks for {@code @ResponseBody} handler method invocations through
+ * {@link RequestMappingHandlerAdapter}, with and without the lean invocation path.
+ * Run with the JMH "gc" profiler for the allocated bytes per request,
+ * reported as "gc.alloc.rate.norm".
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class RequestMappingHandlerAdapterBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"true", "false"})
+		public boolean leanInvocation;
+
+		public RequestMappingHandlerAdapter handlerAdapter;
+
+		public HandlerMethod handlerMethod;
+
+		@Setup
+		public void setup() throws Exception {
+			StaticWebApplicationContext context = new StaticWebApplicationContext();
+			context.refresh();
+			this.handlerAdapter = new RequestMappingHandlerAdapter();
+			this.handlerAdapter.setApplicationContext(context);
+			this.handlerAdapter.setLeanInvocation(this.leanInvocation);
+			this.handlerAdapter.afterPropertiesSet();
+			this.handlerMethod = new HandlerMethod(new TestController(), "handle", String.class);
+		}
+	}
+
+
+	@Benchmark
+	public ModelAndView responseBody(BenchmarkState state) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/greeting");
+		request.setParameter("name", "benchmark");
+		return state.handlerAdapter.handle(request, new MockHttpServletResponse(), state.handlerMethod);
+	}
+
+
+	public static class TestController {
+
+		@ResponseBody
+		public String handle(@RequestParam("name") String name) {
+			return "Hello " + name;
+		}
+	}
+
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.mvc.method.annotation;
+
+import java.lang.reflect.Method;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.servlet.HandlerExecutionChain;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+
+/**
+ * Benchmarks for handler method lookups in {@link RequestMappingHandlerMapping}
+ * with a varying number of templated mappings, with and without the index
+ * over the URL patterns of the mappings.
+ *
+ * @author agent
+ */
+@BenchmarkMode(Mode.Throughput)
+public class RequestMappingHandlerMappingBenchmark {
+
+	@State(Scope.Benchmark)
+	public static class BenchmarkState {
+
+		@Param({"100", "1000", "10000"})
+		public int mappingCount;
+
+		@Param({"true", "false"})
+		public boolean patternIndex;
+
+		public RequestMappingHandlerMapping handlerMapping;
+
+		public String templatedPath;
+
+		public String directPath;
+
+		@Setup
+		public void setup() throws Exception {
+			boolean patternIndex = this.patternIndex;
+			this.handlerMapping = new RequestMappingHandlerMapping() {
+				@Override
+				protected boolean isPatternIndexApplicable() {
+					return (patternIndex && super.isPatternIndexApplicable());
+				}
+			};
+			TestController controller = new TestController();
+			Method method = TestController.class.getMethod("handle");
+			for (int i = 0; i < this.mappingCount; i++) {
+				RequestMappingInfo info = RequestMappingInfo.paths("/api/resource" + i + "/{id}")
+						.methods(RequestMethod.GET).build();
+				this.handlerMapping.registerMapping(info, controller, method);
+				info = RequestMappingInfo.paths("/api/resource" + i).methods(RequestMethod.GET).build();
+				this.handlerMapping.registerMapping(info, controller, method);
+			}
+			this.templatedPath = "/api/resource" + (this.mappingCount / 2) + "/42";
+			this.directPath = "/api/resource" + (this.mappingCount / 2);
+		}
+	}
+
+
+	@Benchmark
+	public HandlerExecutionChain templatedPath(BenchmarkState state) throws Exception {
+		return state.handlerMapping.getHandler(new MockHttpServletRequest("GET", state.templatedPath));
+	}
+
+	@Benchmark
+	public HandlerExecutionChain directPath(BenchmarkState state) throws Exception {
+		return state.handlerMapping.getHandler(new MockHttpServletRequest("GET", state.directPath));
+	}
+
+
+	public static class TestController {
+
+		public String handle() {
+			return "handled";
+		}
+	}
+
+}
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2018 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -226,6 +226,9 @@ public abstract class FrameworkServlet extends HttpServletBean implements Applic
 	/** Monitor for synchronized onRefresh execution. */
 	private final Object onRefreshMonitor = new Object();
 
+	/** Stateless interceptor for context holder binding in async threads, shared across requests. */
+	private final CallableProcessingInterceptor requestBindingInterceptor = new RequestBindingInterceptor();
+
 
 	/**
 	 * Create a new {@code FrameworkServlet} that will create its own internal web
@@ -998,7 +1001,7 @@ public abstract class FrameworkServlet extends HttpServletBean implements Applic
 		ServletRequestAttributes requestAttributes = buildRequestAttributes(request, response, previousAttributes);
 
 		WebAsyncManager asyncManager = WebAsyncUtils.getAsyncManager(request);
-		asyncManager.registerCallableInterceptor(FrameworkServlet.class.getName(), new RequestBindingInterceptor());
+		asyncManager.registerCallableInterceptor(FrameworkServlet.class.getName(), this.requestBindingInterceptor);
 
 		initContextHolders(request, localeContext, requestAttributes);
 
@@ -24,6 +24,7 @@ import org.springframework.lang.Nullable;
 import org.springframework.util.PathMatcher;
 import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Helps with configuring HandlerMappings path matching options such as trailing
@@ -58,6 +59,9 @@ public class PathMatchConfigurer {
 	@Nullable
 	private PathMatcher pathMatcher;
 
+	@Nullable
+	private PathPatternParser patternParser;
+
 	@Nullable
 	private Map<String, Predicate<Class<?>>> pathPrefixes;
 
@@ -128,6 +132,22 @@ public class PathMatchConfigurer {
 		return this;
 	}
 
+	/**
+	 * Set the {@link PathPatternParser} to parse the patterns of
+	 * {@code @RequestMapping} methods with, switching request matching from
+	 * the {@code PathMatcher} to pre-parsed
+	 * {@link org.springframework.web.util.pattern.PathPattern PathPatterns}.
+	 * <p>Suffix pattern matching does not apply in this mode, and matching
+	 * of a trailing slash is configured on the parser instead.
+	 * <p>By default this is not set.
+	 * @since 5.3
+	 * @see RequestMappingHandlerMapping#setPatternParser
+	 */
+	public PathMatchConfigurer setPatternParser(PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+		return this;
+	}
+
 	/**
 	 * Configure a path prefix to apply to matching controller methods.
 	 * <p>Prefixes are used to enrich the mappings of every {@code @RequestMapping}
@@ -187,6 +207,15 @@ public class PathMatchConfigurer {
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Return the configured {@link PathPatternParser}, if any.
+	 * @since 5.3
+	 */
+	@Nullable
+	public PathPatternParser getPatternParser() {
+		return this.patternParser;
+	}
+
 	@Nullable
 	protected Map<String, Predicate<Class<?>>> getPathPrefixes() {
 		return this.pathPrefixes;
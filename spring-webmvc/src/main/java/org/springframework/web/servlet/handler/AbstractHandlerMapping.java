@@ -30,6 +30,8 @@ import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.BeanFactoryUtils;
 import org.springframework.beans.factory.BeanNameAware;
 import org.springframework.core.Ordered;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
 import org.springframework.util.Assert;
@@ -48,7 +50,10 @@ import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * Abstract base class for {@link org.springframework.web.servlet.HandlerMapping}
@@ -80,6 +85,9 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 
 	private PathMatcher pathMatcher = new AntPathMatcher();
 
+	@Nullable
+	private PathPatternParser patternParser;
+
 	private final List<Object> interceptors = new ArrayList<>();
 
 	private final List<HandlerInterceptor> adaptedInterceptors = new ArrayList<>();
@@ -188,6 +196,31 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 		return this.pathMatcher;
 	}
 
+	/**
+	 * Enable the use of pre-parsed {@link PathPattern}s as an alternative to
+	 * String pattern matching with {@link AntPathMatcher}. URL patterns are then
+	 * parsed once on registration, and matched against the request path that
+	 * the {@link org.springframework.web.servlet.DispatcherServlet} parsed once
+	 * via {@link ServletRequestPathUtils#parseAndCache}, instead of the lookup
+	 * path decoded through the {@link #setUrlPathHelper UrlPathHelper}.
+	 * <p>By default this is not set, using String pattern matching.
+	 * @param patternParser the parser to use
+	 * @since 5.3
+	 */
+	public void setPatternParser(@Nullable PathPatternParser patternParser) {
+		this.patternParser = patternParser;
+	}
+
+	/**
+	 * Return the {@link #setPatternParser(PathPatternParser) configured}
+	 * {@code PathPatternParser}, or {@code null}.
+	 * @since 5.3
+	 */
+	@Nullable
+	public PathPatternParser getPatternParser() {
+		return this.patternParser;
+	}
+
 	/**
 	 * Set the interceptors to apply for all handlers mapped by this handler mapping.
 	 * <p>Supported interceptor types are HandlerInterceptor, WebRequestInterceptor, and MappedInterceptor.
@@ -382,6 +415,15 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 	}
 
 
+	/**
+	 * Return "true" if this {@code HandlerMapping} has been
+	 * {@link #setPatternParser enabled} to use parsed {@code PathPattern}s.
+	 */
+	@Override
+	public boolean usesPathPatterns() {
+		return (getPatternParser() != null);
+	}
+
 	/**
 	 * Look up a handler for the given request, falling back to the default
 	 * handler if no specific one is found.
@@ -443,6 +485,51 @@ public abstract class AbstractHandlerMapping extends WebApplicationObjectSupport
 	@Nullable
 	protected abstract Object getHandlerInternal(HttpServletRequest request) throws Exception;
 
+	/**
+	 * Initialize the path to use for request mapping and expose it under the
+	 * {@link #LOOKUP_PATH} request attribute.
+	 * <p>When {@link #usesPathPatterns() parsed patterns} are enabled, this is
+	 * the path within the application of the {@link ServletRequestPathUtils
+	 * parsed} request path, parsing it here if not done already by the
+	 * {@link org.springframework.web.servlet.DispatcherServlet}. It is exposed
+	 * decoded and without path parameters, as with the default settings of the
+	 * {@link #getUrlPathHelper() UrlPathHelper}, since consumers of the request
+	 * attribute such as {@link MappedInterceptor}s and the
+	 * {@link #setCorsConfigurations CORS configuration} still match it against
+	 * String patterns. Otherwise, the lookup path is resolved through the
+	 * {@code UrlPathHelper}.
+	 * @param request the current request
+	 * @return the lookup path
+	 * @since 5.3
+	 */
+	protected String initLookupPath(HttpServletRequest request) {
+		String lookupPath;
+		if (usesPathPatterns()) {
+			RequestPath requestPath = (ServletRequestPathUtils.hasParsedRequestPath(request) ?
+					ServletRequestPathUtils.getParsedRequestPath(request) :
+					ServletRequestPathUtils.parseAndCache(request));
+			lookupPath = decodedValue(requestPath.pathWithinApplication());
+		}
+		else {
+			lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
+		}
+		request.setAttribute(LOOKUP_PATH, lookupPath);
+		return lookupPath;
+	}
+
+	/**
+	 * Return the value of the given parsed path with its segments decoded and
+	 * without path parameters.
+	 */
+	static String decodedValue(PathContainer path) {
+		StringBuilder sb = new StringBuilder(path.value().length());
+		for (PathContainer.Element element : path.elements()) {
+			sb.append(element instanceof PathContainer.PathSegment ?
+					((PathContainer.PathSegment) element).valueToMatch() : element.value());
+		}
+		return sb.toString();
+	}
+
 	/**
 	 * Build a {@link HandlerExecutionChain} for the given handler, including
 	 * applicable interceptors.
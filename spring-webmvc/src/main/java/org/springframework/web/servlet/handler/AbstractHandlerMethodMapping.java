@@ -360,8 +360,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 */
 	@Override
 	protected HandlerMethod getHandlerInternal(HttpServletRequest request) throws Exception {
-		String lookupPath = getUrlPathHelper().getLookupPathForRequest(request);
-		request.setAttribute(LOOKUP_PATH, lookupPath);
+		String lookupPath = initLookupPath(request);
 		this.mappingRegistry.acquireReadLock();
 		try {
 			HandlerMethod handlerMethod = lookupHandlerMethod(lookupPath, request);
@@ -389,8 +388,13 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			addMatchingMappings(directPathMatches, matches, request);
 		}
 		if (matches.isEmpty()) {
-			// No choice but to go through all mappings...
-			addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			if (isPatternIndexApplicable()) {
+				addMatchingMappings(this.mappingRegistry.getMappingsByPattern(lookupPath), matches, request);
+			}
+			else {
+				// No choice but to go through all mappings...
+				addMatchingMappings(this.mappingRegistry.getMappings().keySet(), matches, request);
+			}
 		}
 
 		if (!matches.isEmpty()) {
@@ -504,6 +508,21 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 	 */
 	protected abstract Set<String> getMappingPathPatterns(T mapping);
 
+	/**
+	 * Whether the URL patterns {@link #getMappingPathPatterns returned} for
+	 * mappings may be used to narrow down the mappings to check for a lookup
+	 * path without a direct URL match, based on an index over the literal
+	 * leading segments of the patterns.
+	 * <p>This requires a mapping to match only lookup paths that one of its
+	 * patterns matches in {@link org.springframework.util.AntPathMatcher} style,
+	 * possibly with a suffix or trailing slash, or any path if it has no patterns.
+	 * <p>The default implementation returns {@code false}, checking all mappings.
+	 * @since 5.3
+	 */
+	protected boolean isPatternIndexApplicable() {
+		return false;
+	}
+
 	/**
 	 * Check if a mapping matches the current request and return a (potentially
 	 * new) mapping with conditions relevant to the current request.
@@ -536,6 +555,8 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 
 		private final MultiValueMap<String, T> urlLookup = new LinkedMultiValueMap<>();
 
+		private final PatternSegmentIndex<T> patternIndex = new PatternSegmentIndex<>();
+
 		private final Map<String, List<HandlerMethod>> nameLookup = new ConcurrentHashMap<>();
 
 		private final Map<HandlerMethod, CorsConfiguration> corsLookup = new ConcurrentHashMap<>();
@@ -559,6 +580,16 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 			return this.urlLookup.get(urlPath);
 		}
 
+		/**
+		 * Return the mappings with a URL pattern that may match the given path,
+		 * as well as all mappings without URL patterns. Not thread-safe.
+		 * @since 5.3
+		 * @see #acquireReadLock()
+		 */
+		public Set<T> getMappingsByPattern(String urlPath) {
+			return this.patternIndex.getCandidates(urlPath);
+		}
+
 		/**
 		 * Return handler methods by mapping name. Thread-safe for concurrent use.
 		 */
@@ -576,14 +607,14 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 		}
 
 		/**
-		 * Acquire the read lock when using getMappings and getMappingsByUrl.
+		 * Acquire the read lock when using getMappings, getMappingsByUrl and getMappingsByPattern.
 		 */
 		public void acquireReadLock() {
 			this.readWriteLock.readLock().lock();
 		}
 
 		/**
-		 * Release the read lock after using getMappings and getMappingsByUrl.
+		 * Release the read lock after using getMappings, getMappingsByUrl and getMappingsByPattern.
 		 */
 		public void releaseReadLock() {
 			this.readWriteLock.readLock().unlock();
@@ -607,6 +638,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 				for (String url : directUrls) {
 					this.urlLookup.add(url, mapping);
 				}
+				this.patternIndex.add(mapping, getMappingPathPatterns(mapping));
 
 				String name = null;
 				if (getNamingStrategy() != null) {
@@ -684,6 +716,7 @@ public abstract class AbstractHandlerMethodMapping<T> extends AbstractHandlerMap
 						}
 					}
 				}
+				this.patternIndex.remove(definition.getMapping(), getMappingPathPatterns(definition.getMapping()));
 
 				removeMappingName(definition);
 
@@ -0,0 +1,225 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.handler;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Segment trie over the URL patterns of handler method mappings, narrowing
+ * down the mappings to evaluate for a lookup path without a direct URL match.
+ *
+ * <p>Each mapping is registered under the leading segments of each of its
+ * patterns, up to the first segment with a wildcard or URI variable. A lookup
+ * returns the mappings registered along the segments of the lookup path, which
+ * is a superset of the mappings with a pattern that may match the path in
+ * {@link org.springframework.util.AntPathMatcher} or parsed
+ * {@link org.springframework.web.util.pattern.PathPattern} style: segments are
+ * compared trimmed and ignoring case per character, as in
+ * {@link String#equalsIgnoreCase}, a path segment with a file extension also
+ * matches the segment up to any of its dots, to allow for suffix pattern
+ * matching, and an encoded path segment with path parameters also matches its
+ * decoded value without them. Mappings without patterns are candidates for
+ * every lookup path.
+ *
+ * <p>Not thread-safe: access is guarded by the read-write lock of the
+ * mapping registry in {@link AbstractHandlerMethodMapping}.
+ *
+ * @author agent
+ * @since 5.3
+ * @param <T> the mapping type
+ */
+final class PatternSegmentIndex<T> {
+
+	private static final String PATH_SEPARATOR = "/";
+
+
+	private final Node<T> root = new Node<>();
+
+
+	/**
+	 * Register the given mapping under the given URL patterns.
+	 * @param mapping the mapping to register
+	 * @param patterns the URL patterns of the mapping (may be empty)
+	 */
+	public void add(T mapping, Collection<String> patterns) {
+		if (patterns.isEmpty()) {
+			this.root.add(mapping);
+			return;
+		}
+		for (String pattern : patterns) {
+			Node<T> node = this.root;
+			for (String segment : StringUtils.tokenizeToStringArray(pattern, PATH_SEPARATOR)) {
+				if (isPatternSegment(segment)) {
+					break;
+				}
+				node = node.children.computeIfAbsent(normalize(segment), key -> new Node<>());
+			}
+			node.add(mapping);
+		}
+	}
+
+	/**
+	 * Remove the given mapping, as registered under the given URL patterns.
+	 * @param mapping the mapping to remove
+	 * @param patterns the URL patterns of the mapping (may be empty)
+	 */
+	public void remove(T mapping, Collection<String> patterns) {
+		if (patterns.isEmpty()) {
+			this.root.mappings.remove(mapping);
+			return;
+		}
+		for (String pattern : patterns) {
+			remove(this.root, mapping, StringUtils.tokenizeToStringArray(pattern, PATH_SEPARATOR), 0);
+		}
+	}
+
+	private boolean remove(Node<T> node, T mapping, String[] segments, int index) {
+		if (index == segments.length || isPatternSegment(segments[index])) {
+			node.mappings.remove(mapping);
+		}
+		else {
+			String key = normalize(segments[index]);
+			Node<T> child = node.children.get(key);
+			if (child != null && remove(child, mapping, segments, index + 1)) {
+				node.children.remove(key);
+			}
+		}
+		return node.isEmpty();
+	}
+
+	/**
+	 * Return the mappings with a URL pattern that may match the given lookup path.
+	 * @param lookupPath the lookup path within the current servlet mapping
+	 * @return the candidate mappings, without duplicates
+	 */
+	public Set<T> getCandidates(String lookupPath) {
+		Set<T> candidates = new LinkedHashSet<>();
+		collect(this.root, StringUtils.tokenizeToStringArray(lookupPath, PATH_SEPARATOR), 0, candidates);
+		return candidates;
+	}
+
+	private void collect(Node<T> node, String[] segments, int index, Set<T> candidates) {
+		candidates.addAll(node.mappings);
+		if (index == segments.length || node.children.isEmpty()) {
+			return;
+		}
+		String segment = normalize(segments[index]);
+		collect(node, segment, segments, index, candidates);
+		String matchableSegment = getMatchableSegment(segment);
+		if (!matchableSegment.equals(segment)) {
+			collect(node, matchableSegment, segments, index, candidates);
+		}
+	}
+
+	private void collect(Node<T> node, String segment, String[] segments, int index, Set<T> candidates) {
+		Node<T> child = node.children.get(segment);
+		if (child != null) {
+			collect(child, segments, index + 1, candidates);
+		}
+		int dotIndex = segment.indexOf('.');
+		while (dotIndex > 0) {
+			child = node.children.get(segment.substring(0, dotIndex));
+			if (child != null) {
+				collect(child, segments, index + 1, candidates);
+			}
+			dotIndex = segment.indexOf('.', dotIndex + 1);
+		}
+	}
+
+	/**
+	 * Return the number of distinct mappings in this index.
+	 */
+	public int size() {
+		Set<T> mappings = new LinkedHashSet<>();
+		this.root.collectAll(mappings);
+		return mappings.size();
+	}
+
+
+	private static boolean isPatternSegment(String segment) {
+		return (segment.indexOf('*') != -1 || segment.indexOf('?') != -1 || segment.indexOf('{') != -1);
+	}
+
+	/**
+	 * Fold the case of each character the way {@link String#equalsIgnoreCase}
+	 * compares characters, so that segments equal ignoring case have the same
+	 * key. Unlike {@link String#toLowerCase}, this never changes the length.
+	 */
+	private static String normalize(String segment) {
+		char[] chars = null;
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			char folded = Character.toLowerCase(Character.toUpperCase(c));
+			if (folded != c) {
+				if (chars == null) {
+					chars = segment.toCharArray();
+				}
+				chars[i] = folded;
+			}
+		}
+		return (chars != null ? new String(chars) : segment);
+	}
+
+	private static String getMatchableSegment(String segment) {
+		int semicolonIndex = segment.indexOf(';');
+		String result = (semicolonIndex != -1 ? segment.substring(0, semicolonIndex) : segment);
+		if (result.indexOf('%') != -1) {
+			try {
+				result = normalize(StringUtils.uriDecode(result, StandardCharsets.UTF_8));
+			}
+			catch (IllegalArgumentException ex) {
+				// Not an encoded segment: e.g. a decoded lookup path with a literal '%'
+			}
+		}
+		return result;
+	}
+
+
+	private static final class Node<T> {
+
+		final Map<String, Node<T>> children = new HashMap<>(4);
+
+		final List<T> mappings = new ArrayList<>(1);
+
+		void add(T mapping) {
+			if (!this.mappings.contains(mapping)) {
+				this.mappings.add(mapping);
+			}
+		}
+
+		boolean isEmpty() {
+			return (this.mappings.isEmpty() && this.children.isEmpty());
+		}
+
+		void collectAll(Set<T> result) {
+			result.addAll(this.mappings);
+			for (Node<T> child : this.children.values()) {
+				child.collectAll(result);
+			}
+		}
+	}
+
+}
@@ -22,18 +22,26 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import javax.servlet.http.HttpServletRequest;
 
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
 import org.springframework.lang.Nullable;
 import org.springframework.util.AntPathMatcher;
+import org.springframework.util.Assert;
 import org.springframework.util.PathMatcher;
 import org.springframework.util.StringUtils;
 import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.UrlPathHelper;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 /**
  * A logical disjunction (' || ') request condition that matches a request
@@ -56,6 +64,9 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 
 	private final List<String> fileExtensions = new ArrayList<>();
 
+	@Nullable
+	private final Map<String, PathPattern> pathPatterns;
+
 
 	/**
 	 * Creates a new instance with the given URL patterns. Each pattern that is
@@ -121,6 +132,29 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 				useTrailingSlashMatch, fileExtensions);
 	}
 
+	/**
+	 * Constructor for matching with pre-parsed {@link PathPattern}s rather than
+	 * with a {@link PathMatcher}. The patterns are parsed once with the given
+	 * parser, and matched against the path within the application of the
+	 * request path {@link ServletRequestPathUtils#parseAndCache parsed} for
+	 * the current request. Trailing slash matching follows the setting of the
+	 * parser, and suffix pattern matching is not supported.
+	 * @param patternParser the parser to use
+	 * @param patterns the URL patterns to use; if 0, the condition will match to every request.
+	 * @since 5.3
+	 */
+	public PatternsRequestCondition(PathPatternParser patternParser, String... patterns) {
+		this.pathPatterns = new LinkedHashMap<>();
+		for (String pattern : prependLeadingSlash(Arrays.asList(patterns))) {
+			this.pathPatterns.put(pattern, patternParser.parse(pattern));
+		}
+		this.patterns = Collections.unmodifiableSet(this.pathPatterns.keySet());
+		this.pathHelper = new UrlPathHelper();
+		this.pathMatcher = new AntPathMatcher();
+		this.useSuffixPatternMatch = false;
+		this.useTrailingSlashMatch = false;
+	}
+
 	/**
 	 * Private constructor accepting a collection of patterns.
 	 */
@@ -133,6 +167,7 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		this.pathMatcher = pathMatcher != null ? pathMatcher : new AntPathMatcher();
 		this.useSuffixPatternMatch = useSuffixPatternMatch;
 		this.useTrailingSlashMatch = useTrailingSlashMatch;
+		this.pathPatterns = null;
 
 		if (fileExtensions != null) {
 			for (String fileExtension : fileExtensions) {
@@ -154,6 +189,22 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		this.useSuffixPatternMatch = other.useSuffixPatternMatch;
 		this.useTrailingSlashMatch = other.useTrailingSlashMatch;
 		this.fileExtensions.addAll(other.fileExtensions);
+		this.pathPatterns = null;
+	}
+
+	/**
+	 * Private constructor for use when combining and matching parsed patterns.
+	 */
+	private PatternsRequestCondition(Collection<PathPattern> pathPatterns, PatternsRequestCondition other) {
+		this.pathPatterns = new LinkedHashMap<>(pathPatterns.size());
+		for (PathPattern pathPattern : pathPatterns) {
+			this.pathPatterns.put(pathPattern.getPatternString(), pathPattern);
+		}
+		this.patterns = Collections.unmodifiableSet(this.pathPatterns.keySet());
+		this.pathHelper = other.pathHelper;
+		this.pathMatcher = other.pathMatcher;
+		this.useSuffixPatternMatch = false;
+		this.useTrailingSlashMatch = false;
 	}
 
 
@@ -175,6 +226,18 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		return this.patterns;
 	}
 
+	/**
+	 * Return the parsed patterns, in the same order as {@link #getPatterns()},
+	 * if this condition was created with a {@link PathPatternParser}.
+	 * @return the parsed patterns, or {@code null} if matching with a
+	 * {@link PathMatcher}
+	 * @since 5.3
+	 */
+	@Nullable
+	public List<PathPattern> getPathPatterns() {
+		return (this.pathPatterns != null ? new ArrayList<>(this.pathPatterns.values()) : null);
+	}
+
 	@Override
 	protected Collection<String> getContent() {
 		return this.patterns;
@@ -197,6 +260,15 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 */
 	@Override
 	public PatternsRequestCondition combine(PatternsRequestCondition other) {
+		if (this.pathPatterns != null && other.pathPatterns != null) {
+			Set<PathPattern> result = new LinkedHashSet<>();
+			for (PathPattern pattern1 : this.pathPatterns.values()) {
+				for (PathPattern pattern2 : other.pathPatterns.values()) {
+					result.add(pattern1.combine(pattern2));
+				}
+			}
+			return new PatternsRequestCondition(result, this);
+		}
 		Set<String> result = new LinkedHashSet<>();
 		if (!this.patterns.isEmpty() && !other.patterns.isEmpty()) {
 			for (String pattern1 : this.patterns) {
@@ -239,6 +311,10 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		if (this.patterns.isEmpty()) {
 			return this;
 		}
+		if (this.pathPatterns != null) {
+			List<PathPattern> matches = getMatchingPathPatterns(getPathWithinApplication(request));
+			return (!matches.isEmpty() ? new PatternsRequestCondition(matches, this) : null);
+		}
 		String lookupPath = this.pathHelper.getLookupPathForRequest(request, HandlerMapping.LOOKUP_PATH);
 		List<String> matches = getMatchingPatterns(lookupPath);
 		return !matches.isEmpty() ? new PatternsRequestCondition(new LinkedHashSet<>(matches), this) : null;
@@ -253,6 +329,14 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 * @return a collection of matching patterns sorted with the closest match at the top
 	 */
 	public List<String> getMatchingPatterns(String lookupPath) {
+		if (this.pathPatterns != null) {
+			List<PathPattern> pathMatches = getMatchingPathPatterns(PathContainer.parsePath(lookupPath));
+			List<String> matches = new ArrayList<>(pathMatches.size());
+			for (PathPattern pathMatch : pathMatches) {
+				matches.add(pathMatch.getPatternString());
+			}
+			return matches;
+		}
 		List<String> matches = null;
 		for (String pattern : this.patterns) {
 			String match = getMatchingPattern(pattern, lookupPath);
@@ -270,6 +354,31 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 		return matches;
 	}
 
+	private List<PathPattern> getMatchingPathPatterns(PathContainer path) {
+		Assert.state(this.pathPatterns != null, "No parsed patterns");
+		List<PathPattern> matches = null;
+		for (PathPattern pattern : this.pathPatterns.values()) {
+			if (pattern.matches(path)) {
+				matches = (matches != null ? matches : new ArrayList<>());
+				matches.add(pattern);
+			}
+		}
+		if (matches == null) {
+			return Collections.emptyList();
+		}
+		if (matches.size() > 1) {
+			matches.sort(PathPattern.SPECIFICITY_COMPARATOR);
+		}
+		return matches;
+	}
+
+	private static PathContainer getPathWithinApplication(HttpServletRequest request) {
+		RequestPath requestPath = (ServletRequestPathUtils.hasParsedRequestPath(request) ?
+				ServletRequestPathUtils.getParsedRequestPath(request) :
+				ServletRequestPathUtils.parseAndCache(request));
+		return requestPath.pathWithinApplication();
+	}
+
 	@Nullable
 	private String getMatchingPattern(String pattern, String lookupPath) {
 		if (pattern.equals(lookupPath)) {
@@ -314,10 +423,16 @@ public final class PatternsRequestCondition extends AbstractRequestCondition<Pat
 	 */
 	@Override
 	public int compareTo(PatternsRequestCondition other, HttpServletRequest request) {
+		if (this.pathPatterns != null && other.pathPatterns != null) {
+			return compareTo(this.pathPatterns.values().iterator(), other.pathPatterns.values().iterator(),
+					PathPattern.SPECIFICITY_COMPARATOR);
+		}
 		String lookupPath = this.pathHelper.getLookupPathForRequest(request, HandlerMapping.LOOKUP_PATH);
 		Comparator<String> patternComparator = this.pathMatcher.getPatternComparator(lookupPath);
-		Iterator<String> iterator = this.patterns.iterator();
-		Iterator<String> iteratorOther = other.patterns.iterator();
+		return compareTo(this.patterns.iterator(), other.patterns.iterator(), patternComparator);
+	}
+
+	private static <P> int compareTo(Iterator<P> iterator, Iterator<P> iteratorOther, Comparator<P> patternComparator) {
 		while (iterator.hasNext() && iteratorOther.hasNext()) {
 			int result = patternComparator.compare(iterator.next(), iteratorOther.next());
 			if (result != 0) {
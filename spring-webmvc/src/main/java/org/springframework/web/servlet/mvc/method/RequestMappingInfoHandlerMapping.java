@@ -33,6 +33,8 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.InvalidMediaTypeException;
 import org.springframework.http.MediaType;
+import org.springframework.http.server.RequestPath;
+import org.springframework.util.AntPathMatcher;
 import org.springframework.util.CollectionUtils;
 import org.springframework.util.MultiValueMap;
 import org.springframework.util.StringUtils;
@@ -46,7 +48,9 @@ import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.handler.AbstractHandlerMethodMapping;
 import org.springframework.web.servlet.mvc.condition.NameValueExpression;
 import org.springframework.web.servlet.mvc.condition.ProducesRequestCondition;
+import org.springframework.web.util.ServletRequestPathUtils;
 import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPattern;
 
 /**
  * Abstract base class for classes for which {@link RequestMappingInfo} defines
@@ -84,6 +88,18 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		return info.getPatternsCondition().getPatterns();
 	}
 
+	/**
+	 * Narrow down the mappings to check for a lookup path via an index over
+	 * their URL patterns, as long as patterns are matched as parsed
+	 * {@link org.springframework.web.util.pattern.PathPattern}s or with an
+	 * {@link AntPathMatcher}.
+	 * @since 5.3
+	 */
+	@Override
+	protected boolean isPatternIndexApplicable() {
+		return (usesPathPatterns() || getPathMatcher() instanceof AntPathMatcher);
+	}
+
 	/**
 	 * Check if the given RequestMappingInfo matches the current request and
 	 * return a (potentially new) instance with conditions that match the
@@ -124,6 +140,12 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 	protected void handleMatch(RequestMappingInfo info, String lookupPath, HttpServletRequest request) {
 		super.handleMatch(info, lookupPath, request);
 
+		List<PathPattern> pathPatterns = info.getPatternsCondition().getPathPatterns();
+		if (pathPatterns != null) {
+			handleMatch(info, pathPatterns, request);
+			return;
+		}
+
 		String bestPattern;
 		Map<String, String> uriVariables;
 
@@ -153,6 +175,29 @@ public abstract class RequestMappingInfoHandlerMapping extends AbstractHandlerMe
 		}
 	}
 
+	/**
+	 * Variant of {@link #handleMatch(RequestMappingInfo, String, HttpServletRequest)}
+	 * for parsed patterns, extracting decoded URI variables and matrix variables
+	 * from the parsed request path.
+	 */
+	private void handleMatch(RequestMappingInfo info, List<PathPattern> pathPatterns, HttpServletRequest request) {
+		PathPattern bestPattern = pathPatterns.get(0);
+		request.setAttribute(BEST_MATCHING_PATTERN_ATTRIBUTE, bestPattern.getPatternString());
+
+		RequestPath path = ServletRequestPathUtils.getParsedRequestPath(request);
+		PathPattern.PathMatchInfo matchInfo = bestPattern.matchAndExtract(path.pathWithinApplication());
+		Map<String, String> uriVariables = (matchInfo != null ? matchInfo.getUriVariables() : Collections.emptyMap());
+		request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, uriVariables);
+		if (matchInfo != null && !matchInfo.getMatrixVariables().isEmpty()) {
+			request.setAttribute(HandlerMapping.MATRIX_VARIABLES_ATTRIBUTE, matchInfo.getMatrixVariables());
+		}
+
+		if (!info.getProducesCondition().getProducibleMediaTypes().isEmpty()) {
+			Set<MediaType> mediaTypes = info.getProducesCondition().getProducibleMediaTypes();
+			request.setAttribute(PRODUCIBLE_MEDIA_TYPES_ATTRIBUTE, mediaTypes);
+		}
+	}
+
 	private boolean isMatrixVariableContentAvailable() {
 		return !getUrlPathHelper().shouldRemoveSemicolonContent();
 	}
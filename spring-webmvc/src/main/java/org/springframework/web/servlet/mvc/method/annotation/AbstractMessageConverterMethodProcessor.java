@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Set;
 
 import javax.servlet.ServletRequest;
@@ -53,6 +54,7 @@ import org.springframework.http.server.ServletServerHttpResponse;
 import org.springframework.lang.Nullable;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.StringUtils;
 import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.accept.ContentNegotiationManager;
@@ -105,6 +107,9 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 
 	private final Set<String> safeExtensions = new HashSet<>();
 
+	private final Map<NegotiationKey, NegotiatedMediaType> negotiatedMediaTypeCache =
+			ConcurrentReferenceHashMap.forCache(64, 256);
+
 
 	/**
 	 * Constructor with list of converters only.
@@ -230,15 +235,8 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 				throw new HttpMessageNotWritableException(
 						"No converter found for return value of type: " + valueType);
 			}
-			List<MediaType> mediaTypesToUse = new ArrayList<>();
-			for (MediaType requestedType : acceptableTypes) {
-				for (MediaType producibleType : producibleTypes) {
-					if (requestedType.isCompatibleWith(producibleType)) {
-						mediaTypesToUse.add(getMostSpecificMediaType(requestedType, producibleType));
-					}
-				}
-			}
-			if (mediaTypesToUse.isEmpty()) {
+			NegotiatedMediaType negotiated = getNegotiatedMediaType(acceptableTypes, producibleTypes);
+			if (!negotiated.compatible) {
 				if (body != null) {
 					throw new HttpMediaTypeNotAcceptableException(producibleTypes);
 				}
@@ -247,19 +245,7 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 				}
 				return;
 			}
-
-			MediaType.sortBySpecificityAndQuality(mediaTypesToUse);
-
-			for (MediaType mediaType : mediaTypesToUse) {
-				if (mediaType.isConcrete()) {
-					selectedMediaType = mediaType;
-					break;
-				}
-				else if (mediaType.isPresentIn(ALL_APPLICATION_MEDIA_TYPES)) {
-					selectedMediaType = MediaType.APPLICATION_OCTET_STREAM;
-					break;
-				}
-			}
+			selectedMediaType = negotiated.mediaType;
 
 			if (logger.isDebugEnabled()) {
 				logger.debug("Using '" + selectedMediaType + "', given " +
@@ -396,6 +382,48 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 		return this.contentNegotiationManager.resolveMediaTypes(new ServletWebRequest(request));
 	}
 
+	/**
+	 * Negotiate the media type to write for the given acceptable and producible
+	 * media types, reusing the outcome of a previous negotiation for equal lists.
+	 */
+	private NegotiatedMediaType getNegotiatedMediaType(List<MediaType> acceptableTypes, List<MediaType> producibleTypes) {
+		NegotiatedMediaType negotiated =
+				this.negotiatedMediaTypeCache.get(new NegotiationKey(acceptableTypes, producibleTypes));
+		if (negotiated == null) {
+			negotiated = negotiateMediaType(acceptableTypes, producibleTypes);
+			// Copy the lists for the cache key: they may be mutable
+			this.negotiatedMediaTypeCache.put(new NegotiationKey(
+					new ArrayList<>(acceptableTypes), new ArrayList<>(producibleTypes)), negotiated);
+		}
+		return negotiated;
+	}
+
+	private NegotiatedMediaType negotiateMediaType(List<MediaType> acceptableTypes, List<MediaType> producibleTypes) {
+		List<MediaType> mediaTypesToUse = new ArrayList<>();
+		for (MediaType requestedType : acceptableTypes) {
+			for (MediaType producibleType : producibleTypes) {
+				if (requestedType.isCompatibleWith(producibleType)) {
+					mediaTypesToUse.add(getMostSpecificMediaType(requestedType, producibleType));
+				}
+			}
+		}
+		if (mediaTypesToUse.isEmpty()) {
+			return NegotiatedMediaType.NOT_COMPATIBLE;
+		}
+
+		MediaType.sortBySpecificityAndQuality(mediaTypesToUse);
+
+		for (MediaType mediaType : mediaTypesToUse) {
+			if (mediaType.isConcrete()) {
+				return new NegotiatedMediaType(mediaType);
+			}
+			else if (mediaType.isPresentIn(ALL_APPLICATION_MEDIA_TYPES)) {
+				return new NegotiatedMediaType(MediaType.APPLICATION_OCTET_STREAM);
+			}
+		}
+		return NegotiatedMediaType.NOT_SELECTED;
+	}
+
 	/**
 	 * Return the more specific of the acceptable and the producible media types
 	 * with the q-value of the former.
@@ -495,4 +523,65 @@ public abstract class AbstractMessageConverterMethodProcessor extends AbstractMe
 				mediaType.getSubtype().endsWith("+xml"));
 	}
 
+
+	/**
+	 * Cache key for the outcome of a media type negotiation.
+	 */
+	private static final class NegotiationKey {
+
+		private final List<MediaType> acceptableTypes;
+
+		private final List<MediaType> producibleTypes;
+
+		NegotiationKey(List<MediaType> acceptableTypes, List<MediaType> producibleTypes) {
+			this.acceptableTypes = acceptableTypes;
+			this.producibleTypes = producibleTypes;
+		}
+
+		@Override
+		public boolean equals(@Nullable Object other) {
+			if (this == other) {
+				return true;
+			}
+			if (!(other instanceof NegotiationKey)) {
+				return false;
+			}
+			NegotiationKey otherKey = (NegotiationKey) other;
+			return (this.acceptableTypes.equals(otherKey.acceptableTypes) &&
+					this.producibleTypes.equals(otherKey.producibleTypes));
+		}
+
+		@Override
+		public int hashCode() {
+			return this.acceptableTypes.hashCode() * 31 + this.producibleTypes.hashCode();
+		}
+	}
+
+
+	/**
+	 * Outcome of a media type negotiation.
+	 */
+	private static final class NegotiatedMediaType {
+
+		/** No acceptable media type is compatible with a producible one. */
+		static final NegotiatedMediaType NOT_COMPATIBLE = new NegotiatedMediaType(false, null);
+
+		/** Compatible media types found, but none of them concrete. */
+		static final NegotiatedMediaType NOT_SELECTED = new NegotiatedMediaType(true, null);
+
+		final boolean compatible;
+
+		@Nullable
+		final MediaType mediaType;
+
+		NegotiatedMediaType(MediaType mediaType) {
+			this(true, mediaType);
+		}
+
+		private NegotiatedMediaType(boolean compatible, @Nullable MediaType mediaType) {
+			this.compatible = compatible;
+			this.mediaType = mediaType;
+		}
+	}
+
 }
@@ -25,6 +25,7 @@ import java.util.Set;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 
+import javax.servlet.DispatcherType;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
@@ -34,6 +35,7 @@ import org.springframework.beans.factory.BeanFactoryAware;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.config.ConfigurableBeanFactory;
 import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.MethodParameter;
 import org.springframework.core.MethodIntrospector;
 import org.springframework.core.ParameterNameDiscoverer;
 import org.springframework.core.ReactiveAdapterRegistry;
@@ -48,7 +50,9 @@ import org.springframework.http.converter.support.AllEncompassingFormHttpMessage
 import org.springframework.http.converter.xml.SourceHttpMessageConverter;
 import org.springframework.lang.Nullable;
 import org.springframework.ui.ModelMap;
+import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
+import org.springframework.util.ConcurrentReferenceHashMap;
 import org.springframework.util.ReflectionUtils.MethodFilter;
 import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.InitBinder;
@@ -70,6 +74,7 @@ import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.method.ControllerAdviceBean;
 import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.annotation.AbstractNamedValueMethodArgumentResolver;
 import org.springframework.web.method.annotation.ErrorsMethodArgumentResolver;
 import org.springframework.web.method.annotation.ExpressionValueMethodArgumentResolver;
 import org.springframework.web.method.annotation.InitBinderDataBinderFactory;
@@ -173,6 +178,8 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 
 	private boolean synchronizeOnSession = false;
 
+	private boolean leanInvocation = false;
+
 	private SessionAttributeStore sessionAttributeStore = new DefaultSessionAttributeStore();
 
 	private ParameterNameDiscoverer parameterNameDiscoverer = new DefaultParameterNameDiscoverer();
@@ -191,6 +198,12 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 
 	private final Map<ControllerAdviceBean, Set<Method>> modelAttributeAdviceCache = new LinkedHashMap<>();
 
+	private final Map<HandlerMethod, HandlerMethodArgumentResolver[]> parameterResolverCache =
+			ConcurrentReferenceHashMap.forCache(64, 4096);
+
+	private final Map<HandlerMethod, LeanInvocation> leanInvocationCache =
+			ConcurrentReferenceHashMap.forCache(64, 4096);
+
 
 	public RequestMappingHandlerAdapter() {
 		this.messageConverters = new ArrayList<>(4);
@@ -524,6 +537,39 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		this.synchronizeOnSession = synchronizeOnSession;
 	}
 
+	/**
+	 * Set whether handler methods that write the response body directly
+	 * should be invoked through a lean path without model, flash attribute,
+	 * session attribute and async request setup.
+	 * <p>This applies to handler methods with an {@code @ResponseBody} or
+	 * {@code HttpEntity} return value whose arguments are all resolved without
+	 * access to the model, if no {@code @ModelAttribute} or {@code @InitBinder}
+	 * methods and no {@code @SessionAttributes} apply to the handler. Such
+	 * handler methods are analyzed on their first request, and the outcome is
+	 * kept in a cache bounded in size. On the lean path, the following
+	 * per-request steps of {@link #invokeHandlerMethod} are bypassed:
+	 * <ul>
+	 * <li>{@link #createInvocableHandlerMethod} and {@link #createDataBinderFactory}
+	 * are called once per handler method rather than per request. The resulting
+	 * invocable handler method is shared and invoked concurrently by all
+	 * request threads, so a custom subclass must be thread-safe.
+	 * <li>No {@code ModelFactory} is created, so the model is neither initialized
+	 * from the input flash map and session attributes nor updated afterwards.
+	 * <li>The {@code WebAsyncManager} of the request is not configured with an
+	 * {@code AsyncWebRequest}, the {@link #setTaskExecutor task executor},
+	 * {@link #setAsyncRequestTimeout timeout} and async interceptors of this
+	 * adapter. Note that this does not avoid the creation of the
+	 * {@code WebAsyncManager} itself, which {@code FrameworkServlet} performs
+	 * for every request.
+	 * </ul>
+	 * <p>The default is "false". Only switch this to "true" if none of the
+	 * above is customized to rely on being called per request.
+	 * @since 5.3
+	 */
+	public void setLeanInvocation(boolean leanInvocation) {
+		this.leanInvocation = leanInvocation;
+	}
+
 	/**
 	 * Set the ParameterNameDiscoverer to use for resolving method parameter names if needed
 	 * (e.g. for default attribute names).
@@ -836,20 +882,18 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 	protected ModelAndView invokeHandlerMethod(HttpServletRequest request,
 			HttpServletResponse response, HandlerMethod handlerMethod) throws Exception {
 
+		if (this.leanInvocation && request.getDispatcherType() != DispatcherType.ASYNC) {
+			ServletInvocableHandlerMethod invocableMethod = getLeanInvocableMethod(handlerMethod);
+			if (invocableMethod != null) {
+				return invokeLeanHandlerMethod(request, response, invocableMethod);
+			}
+		}
+
 		ServletWebRequest webRequest = new ServletWebRequest(request, response);
 		try {
 			WebDataBinderFactory binderFactory = getDataBinderFactory(handlerMethod);
 			ModelFactory modelFactory = getModelFactory(handlerMethod, binderFactory);
-
-			ServletInvocableHandlerMethod invocableMethod = createInvocableHandlerMethod(handlerMethod);
-			if (this.argumentResolvers != null) {
-				invocableMethod.setHandlerMethodArgumentResolvers(this.argumentResolvers);
-			}
-			if (this.returnValueHandlers != null) {
-				invocableMethod.setHandlerMethodReturnValueHandlers(this.returnValueHandlers);
-			}
-			invocableMethod.setDataBinderFactory(binderFactory);
-			invocableMethod.setParameterNameDiscoverer(this.parameterNameDiscoverer);
+			ServletInvocableHandlerMethod invocableMethod = initInvocableHandlerMethod(handlerMethod, binderFactory);
 
 			ModelAndViewContainer mavContainer = new ModelAndViewContainer();
 			mavContainer.addAllAttributes(RequestContextUtils.getInputFlashMap(request));
@@ -888,6 +932,165 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		}
 	}
 
+	/**
+	 * Invoke a handler method that writes the response body directly, with a
+	 * {@link ModelAndViewContainer} for the request handled status only.
+	 */
+	@Nullable
+	private ModelAndView invokeLeanHandlerMethod(HttpServletRequest request,
+			HttpServletResponse response, ServletInvocableHandlerMethod invocableMethod) throws Exception {
+
+		ServletWebRequest webRequest = new ServletWebRequest(request, response);
+		try {
+			ModelAndViewContainer mavContainer = new ModelAndViewContainer();
+			invocableMethod.invokeAndHandle(webRequest, mavContainer);
+			return getModelAndView(mavContainer, null, webRequest);
+		}
+		finally {
+			webRequest.requestCompleted();
+		}
+	}
+
+	/**
+	 * Return the shared invocable handler method for the lean invocation path,
+	 * or {@code null} if the given handler method requires the full path.
+	 */
+	@Nullable
+	private ServletInvocableHandlerMethod getLeanInvocableMethod(HandlerMethod handlerMethod) throws Exception {
+		// Key by the registered handler method, not by one with a per-request resolved bean
+		HandlerMethod key = handlerMethod.getResolvedFromHandlerMethod();
+		if (key == null) {
+			key = handlerMethod;
+		}
+		LeanInvocation invocation = this.leanInvocationCache.get(key);
+		if (invocation == null) {
+			invocation = createLeanInvocation(handlerMethod);
+			this.leanInvocationCache.put(key, invocation);
+		}
+		ServletInvocableHandlerMethod invocableMethod = invocation.invocableMethod;
+		if (invocableMethod != null && invocableMethod.getBean() != handlerMethod.getBean()) {
+			// Non-singleton handler bean: same binder factory, current bean instance
+			Assert.state(invocation.binderFactory != null, "No WebDataBinderFactory");
+			invocableMethod = initInvocableHandlerMethod(handlerMethod, invocation.binderFactory);
+		}
+		return invocableMethod;
+	}
+
+	private LeanInvocation createLeanInvocation(HandlerMethod handlerMethod) throws Exception {
+		if (this.argumentResolvers == null || this.returnValueHandlers == null) {
+			return LeanInvocation.NOT_APPLICABLE;
+		}
+		Class<?> handlerType = handlerMethod.getBeanType();
+		if (getSessionAttributesHandler(handlerMethod).hasSessionAttributes() ||
+				!getModelAttributeMethods(handlerType).isEmpty() || hasAdviceMethods(this.modelAttributeAdviceCache, handlerType) ||
+				!getInitBinderMethods(handlerType).isEmpty() || hasAdviceMethods(this.initBinderAdviceCache, handlerType)) {
+			return LeanInvocation.NOT_APPLICABLE;
+		}
+		for (MethodParameter parameter : handlerMethod.getMethodParameters()) {
+			if (!isLeanArgumentResolver(findArgumentResolver(parameter))) {
+				return LeanInvocation.NOT_APPLICABLE;
+			}
+		}
+		if (!isLeanReturnValueHandler(findReturnValueHandler(handlerMethod.getReturnType()))) {
+			return LeanInvocation.NOT_APPLICABLE;
+		}
+		// No @InitBinder methods: the data binder factory does not hold any handler state
+		WebDataBinderFactory binderFactory = createDataBinderFactory(new ArrayList<>());
+		return new LeanInvocation(initInvocableHandlerMethod(handlerMethod, binderFactory), binderFactory);
+	}
+
+	private static boolean hasAdviceMethods(Map<ControllerAdviceBean, Set<Method>> adviceCache, Class<?> handlerType) {
+		for (ControllerAdviceBean adviceBean : adviceCache.keySet()) {
+			if (adviceBean.isApplicableToBeanType(handlerType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Nullable
+	private HandlerMethodArgumentResolver findArgumentResolver(MethodParameter parameter) {
+		Assert.state(this.argumentResolvers != null, "No HandlerMethodArgumentResolvers");
+		return this.argumentResolvers.getArgumentResolver(parameter);
+	}
+
+	@Nullable
+	private HandlerMethodReturnValueHandler findReturnValueHandler(MethodParameter returnType) {
+		Assert.state(this.returnValueHandlers != null, "No HandlerMethodReturnValueHandlers");
+		if (!this.returnValueHandlers.isSelectionByReturnType()) {
+			// Selected by return value at runtime
+			return null;
+		}
+		return this.returnValueHandlers.getReturnValueHandler(null, returnType);
+	}
+
+	/**
+	 * Whether the given resolver is known to resolve arguments from the request
+	 * alone, without access to the model or to session attributes.
+	 */
+	private static boolean isLeanArgumentResolver(@Nullable HandlerMethodArgumentResolver resolver) {
+		return (resolver instanceof AbstractNamedValueMethodArgumentResolver ||
+				resolver instanceof RequestParamMapMethodArgumentResolver ||
+				resolver instanceof PathVariableMapMethodArgumentResolver ||
+				resolver instanceof MatrixVariableMapMethodArgumentResolver ||
+				resolver instanceof RequestHeaderMapMethodArgumentResolver ||
+				resolver instanceof AbstractMessageConverterMethodArgumentResolver ||
+				resolver instanceof ServletRequestMethodArgumentResolver ||
+				resolver instanceof ServletResponseMethodArgumentResolver ||
+				resolver instanceof UriComponentsBuilderMethodArgumentResolver);
+	}
+
+	/**
+	 * Whether the given handler is known to write the response body directly,
+	 * i.e. to mark the request as handled without view rendering or async processing.
+	 */
+	private static boolean isLeanReturnValueHandler(@Nullable HandlerMethodReturnValueHandler handler) {
+		return (handler instanceof RequestResponseBodyMethodProcessor || handler instanceof HttpEntityMethodProcessor);
+	}
+
+	/**
+	 * Create and configure a {@link ServletInvocableHandlerMethod} for the given
+	 * {@link HandlerMethod} definition and data binder factory.
+	 */
+	private ServletInvocableHandlerMethod initInvocableHandlerMethod(
+			HandlerMethod handlerMethod, WebDataBinderFactory binderFactory) {
+
+		ServletInvocableHandlerMethod invocableMethod = createInvocableHandlerMethod(handlerMethod);
+		if (this.argumentResolvers != null) {
+			invocableMethod.setHandlerMethodArgumentResolvers(this.argumentResolvers);
+			invocableMethod.setParameterResolvers(getParameterResolvers(handlerMethod));
+		}
+		if (this.returnValueHandlers != null) {
+			invocableMethod.setHandlerMethodReturnValueHandlers(this.returnValueHandlers);
+		}
+		invocableMethod.setDataBinderFactory(binderFactory);
+		invocableMethod.setParameterNameDiscoverer(this.parameterNameDiscoverer);
+		return invocableMethod;
+	}
+
+	/**
+	 * Return the argument resolver for each parameter of the given handler
+	 * method, selected once per handler method.
+	 */
+	private HandlerMethodArgumentResolver[] getParameterResolvers(HandlerMethod handlerMethod) {
+		// Key by the registered handler method, not by one with a per-request resolved bean
+		HandlerMethod key = handlerMethod.getResolvedFromHandlerMethod();
+		if (key == null) {
+			key = handlerMethod;
+		}
+		HandlerMethodArgumentResolver[] resolvers = this.parameterResolverCache.get(key);
+		if (resolvers == null) {
+			MethodParameter[] parameters = handlerMethod.getMethodParameters();
+			resolvers = new HandlerMethodArgumentResolver[parameters.length];
+			for (int i = 0; i < parameters.length; i++) {
+				parameters[i].initParameterNameDiscovery(this.parameterNameDiscoverer);
+				resolvers[i] = findArgumentResolver(parameters[i]);
+			}
+			this.parameterResolverCache.put(key, resolvers);
+		}
+		return resolvers;
+	}
+
 	/**
 	 * Create a {@link ServletInvocableHandlerMethod} from the given {@link HandlerMethod} definition.
 	 * @param handlerMethod the {@link HandlerMethod} definition
@@ -901,11 +1104,7 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 	private ModelFactory getModelFactory(HandlerMethod handlerMethod, WebDataBinderFactory binderFactory) {
 		SessionAttributesHandler sessionAttrHandler = getSessionAttributesHandler(handlerMethod);
 		Class<?> handlerType = handlerMethod.getBeanType();
-		Set<Method> methods = this.modelAttributeCache.get(handlerType);
-		if (methods == null) {
-			methods = MethodIntrospector.selectMethods(handlerType, MODEL_ATTRIBUTE_METHODS);
-			this.modelAttributeCache.put(handlerType, methods);
-		}
+		Set<Method> methods = getModelAttributeMethods(handlerType);
 		List<InvocableHandlerMethod> attrMethods = new ArrayList<>();
 		// Global methods first
 		this.modelAttributeAdviceCache.forEach((controllerAdviceBean, methodSet) -> {
@@ -923,6 +1122,15 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		return new ModelFactory(attrMethods, binderFactory, sessionAttrHandler);
 	}
 
+	private Set<Method> getModelAttributeMethods(Class<?> handlerType) {
+		Set<Method> methods = this.modelAttributeCache.get(handlerType);
+		if (methods == null) {
+			methods = MethodIntrospector.selectMethods(handlerType, MODEL_ATTRIBUTE_METHODS);
+			this.modelAttributeCache.put(handlerType, methods);
+		}
+		return methods;
+	}
+
 	private InvocableHandlerMethod createModelAttributeMethod(WebDataBinderFactory factory, Object bean, Method method) {
 		InvocableHandlerMethod attrMethod = new InvocableHandlerMethod(bean, method);
 		if (this.argumentResolvers != null) {
@@ -935,11 +1143,7 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 
 	private WebDataBinderFactory getDataBinderFactory(HandlerMethod handlerMethod) throws Exception {
 		Class<?> handlerType = handlerMethod.getBeanType();
-		Set<Method> methods = this.initBinderCache.get(handlerType);
-		if (methods == null) {
-			methods = MethodIntrospector.selectMethods(handlerType, INIT_BINDER_METHODS);
-			this.initBinderCache.put(handlerType, methods);
-		}
+		Set<Method> methods = getInitBinderMethods(handlerType);
 		List<InvocableHandlerMethod> initBinderMethods = new ArrayList<>();
 		// Global methods first
 		this.initBinderAdviceCache.forEach((controllerAdviceBean, methodSet) -> {
@@ -957,6 +1161,15 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		return createDataBinderFactory(initBinderMethods);
 	}
 
+	private Set<Method> getInitBinderMethods(Class<?> handlerType) {
+		Set<Method> methods = this.initBinderCache.get(handlerType);
+		if (methods == null) {
+			methods = MethodIntrospector.selectMethods(handlerType, INIT_BINDER_METHODS);
+			this.initBinderCache.put(handlerType, methods);
+		}
+		return methods;
+	}
+
 	private InvocableHandlerMethod createInitBinderMethod(Object bean, Method method) {
 		InvocableHandlerMethod binderMethod = new InvocableHandlerMethod(bean, method);
 		if (this.initBinderArgumentResolvers != null) {
@@ -983,9 +1196,11 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 
 	@Nullable
 	private ModelAndView getModelAndView(ModelAndViewContainer mavContainer,
-			ModelFactory modelFactory, NativeWebRequest webRequest) throws Exception {
+			@Nullable ModelFactory modelFactory, NativeWebRequest webRequest) throws Exception {
 
-		modelFactory.updateModel(webRequest, mavContainer);
+		if (modelFactory != null) {
+			modelFactory.updateModel(webRequest, mavContainer);
+		}
 		if (mavContainer.isRequestHandled()) {
 			return null;
 		}
@@ -1004,4 +1219,26 @@ public class RequestMappingHandlerAdapter extends AbstractHandlerMethodAdapter
 		return mav;
 	}
 
+
+	/**
+	 * Invocation state for a handler method on the lean invocation path.
+	 */
+	private static final class LeanInvocation {
+
+		static final LeanInvocation NOT_APPLICABLE = new LeanInvocation(null, null);
+
+		@Nullable
+		final ServletInvocableHandlerMethod invocableMethod;
+
+		@Nullable
+		final WebDataBinderFactory binderFactory;
+
+		LeanInvocation(@Nullable ServletInvocableHandlerMethod invocableMethod,
+				@Nullable WebDataBinderFactory binderFactory) {
+
+			this.invocableMethod = invocableMethod;
+			this.binderFactory = binderFactory;
+		}
+	}
+
 }
@@ -39,6 +39,7 @@ import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
 import org.springframework.web.servlet.support.WebContentGenerator;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -146,6 +147,26 @@ class CorsAbstractHandlerMappingTests {
 		assertThat(getRequiredCorsConfiguration(chain, false).getAllowedOrigins()).containsExactly("*");
 	}
 
+	@Test
+	void actualRequestWithMappedCorsConfigurationAndEncodedPath() throws Exception {
+		CorsConfiguration config = new CorsConfiguration();
+		config.addAllowedOrigin("*");
+		SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(
+				Collections.singletonMap("/my space/**", new SimpleHandler()));
+		mapping.setPatternParser(new PathPatternParser());
+		mapping.setCorsConfigurations(Collections.singletonMap("/my space/**", config));
+		mapping.setApplicationContext(new StaticWebApplicationContext());
+		this.request.setMethod(RequestMethod.GET.name());
+		this.request.setRequestURI("/my%20space;a=b/file");
+		this.request.addHeader(HttpHeaders.ORIGIN, "https://domain2.com");
+		this.request.addHeader(HttpHeaders.ACCESS_CONTROL_REQUEST_METHOD, "GET");
+		HandlerExecutionChain chain = mapping.getHandler(this.request);
+
+		assertThat(chain).isNotNull();
+		assertThat(chain.getHandler()).isInstanceOf(SimpleHandler.class);
+		assertThat(getRequiredCorsConfiguration(chain, false).getAllowedOrigins()).containsExactly("*");
+	}
+
 	@Test
 	void preflightRequestWithMappedCorsConfiguration() throws Exception {
 		CorsConfiguration config = new CorsConfiguration();
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -17,6 +17,7 @@
 package org.springframework.web.servlet.handler;
 
 import java.io.IOException;
+import java.util.Collections;
 
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -29,8 +30,10 @@ import org.springframework.web.HttpRequestHandler;
 import org.springframework.web.context.support.StaticWebApplicationContext;
 import org.springframework.web.servlet.HandlerExecutionChain;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.servlet.support.WebContentGenerator;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -62,6 +65,22 @@ public class HandlerMappingTests {
 				mappedInterceptor1.getInterceptor(), i2, mappedInterceptor3.getInterceptor(), i4);
 	}
 
+	@Test
+	public void mappedInterceptorWithEncodedPathAndPathPatterns() throws Exception {
+		HandlerInterceptor interceptor = mock(HandlerInterceptor.class);
+		SimpleUrlHandlerMapping mapping = new SimpleUrlHandlerMapping(
+				Collections.singletonMap("/my space/**", new SimpleHandler()));
+		mapping.setPatternParser(new PathPatternParser());
+		mapping.setInterceptors(new MappedInterceptor(new String[] {"/my space/**"}, interceptor));
+		mapping.setApplicationContext(this.context);
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/my%20space;a=b/file");
+		HandlerExecutionChain chain = mapping.getHandler(request);
+		assertThat(chain).isNotNull();
+		assertThat(chain.getInterceptors()).contains(interceptor);
+		assertThat(request.getAttribute(HandlerMapping.LOOKUP_PATH)).isEqualTo("/my space/file");
+	}
+
 	class TestHandlerMapping extends AbstractHandlerMapping {
 
 		@Override
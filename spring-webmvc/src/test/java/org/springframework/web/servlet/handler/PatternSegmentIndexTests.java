@@ -0,0 +1,132 @@
+/*
+ * Copyright 2002-2020 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.springframework.web.servlet.handler;
+
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link PatternSegmentIndex}.
+ *
+ * @author agent
+ */
+class PatternSegmentIndexTests {
+
+	private final PatternSegmentIndex<String> index = new PatternSegmentIndex<>();
+
+
+	@Test
+	void candidatesByLiteralSegments() {
+		this.index.add("users", asList("/users/{id}", "/users/{id}/orders"));
+		this.index.add("orders", Collections.singleton("/orders/{id}"));
+		this.index.add("userOrder", Collections.singleton("/users/{id}/orders/{orderId}"));
+
+		assertThat(this.index.getCandidates("/users/1")).containsExactlyInAnyOrder("users", "userOrder");
+		assertThat(this.index.getCandidates("/orders/1")).containsExactly("orders");
+		assertThat(this.index.getCandidates("/products/1")).isEmpty();
+	}
+
+	@Test
+	void leadingWildcardAndEmptyPatternsAlwaysCandidates() {
+		this.index.add("any", Collections.singleton("/**/list"));
+		this.index.add("variable", Collections.singleton("/{name}/list"));
+		this.index.add("none", Collections.emptySet());
+		this.index.add("users", Collections.singleton("/users/{id}"));
+
+		assertThat(this.index.getCandidates("/products/list"))
+				.containsExactlyInAnyOrder("any", "variable", "none");
+		assertThat(this.index.getCandidates("/users/1"))
+				.containsExactlyInAnyOrder("any", "variable", "none", "users");
+	}
+
+	@Test
+	void candidatesForDoubleWildcardPrefix() {
+		this.index.add("resources", Collections.singleton("/resources/**"));
+
+		assertThat(this.index.getCandidates("/resources")).containsExactly("resources");
+		assertThat(this.index.getCandidates("/resources/css/main.css")).containsExactly("resources");
+		assertThat(this.index.getCandidates("/other/resources")).isEmpty();
+	}
+
+	@Test
+	void candidatesForSuffixAndTrailingSlash() {
+		this.index.add("list", Collections.singleton("/users/list"));
+		this.index.add("file", Collections.singleton("/files/report.v1"));
+
+		assertThat(this.index.getCandidates("/users/list.json")).containsExactly("list");
+		assertThat(this.index.getCandidates("/users/list/")).containsExactly("list");
+		assertThat(this.index.getCandidates("/files/report.v1.json")).containsExactly("file");
+	}
+
+	@Test
+	void candidatesIgnoreCaseAndWhitespace() {
+		this.index.add("users", Collections.singleton("/Users/{id}"));
+
+		assertThat(this.index.getCandidates("/users/1")).containsExactly("users");
+		assertThat(this.index.getCandidates("/USERS /1")).containsExactly("users");
+	}
+
+	@Test
+	void candidatesIgnoreCasePerCharacter() {
+		// As in String#equalsIgnoreCase, unlike String#toLowerCase: "\u0130".toLowerCase() has two chars
+		this.index.add("dotted", Collections.singleton("/\u0130tems/{id}"));
+		this.index.add("sharp", Collections.singleton("/stra\u00dfe/{id}"));
+
+		assertThat(this.index.getCandidates("/items/1")).containsExactly("dotted");
+		assertThat(this.index.getCandidates("/\u0131tems/1")).containsExactly("dotted");
+		assertThat(this.index.getCandidates("/STRA\u00dfE/1")).containsExactly("sharp");
+	}
+
+	@Test
+	void candidatesForEncodedSegmentsWithPathParameters() {
+		this.index.add("cars", Collections.singleton("/cars/{id}"));
+		this.index.add("space", Collections.singleton("/my space/{id}"));
+
+		assertThat(this.index.getCandidates("/cars;color=red/1")).containsExactly("cars");
+		assertThat(this.index.getCandidates("/c%61rs/1")).containsExactly("cars");
+		assertThat(this.index.getCandidates("/my%20space;a=b/1")).containsExactly("space");
+		assertThat(this.index.getCandidates("/100%/1")).isEmpty();
+	}
+
+	@Test
+	void candidatesWithoutDuplicates() {
+		this.index.add("users", asList("/users/{id}", "/{path}/{id}"));
+
+		assertThat(this.index.getCandidates("/users/1")).containsExactly("users");
+		assertThat(this.index.size()).isEqualTo(1);
+	}
+
+	@Test
+	void remove() {
+		this.index.add("users", asList("/users/{id}", "/accounts/{id}"));
+		this.index.add("orders", Collections.singleton("/users/{id}/orders"));
+		this.index.add("none", Collections.emptySet());
+
+		this.index.remove("users", asList("/users/{id}", "/accounts/{id}"));
+		assertThat(this.index.getCandidates("/users/1")).containsExactlyInAnyOrder("orders", "none");
+		assertThat(this.index.getCandidates("/accounts/1")).containsExactly("none");
+
+		this.index.remove("orders", Collections.singleton("/users/{id}/orders"));
+		this.index.remove("none", Collections.emptySet());
+		assertThat(this.index.size()).isEqualTo(0);
+	}
+
+}
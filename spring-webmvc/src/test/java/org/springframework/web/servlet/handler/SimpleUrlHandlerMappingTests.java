@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -30,6 +30,7 @@ import org.springframework.web.servlet.HandlerMapping;
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
 import org.springframework.web.testfixture.servlet.MockServletContext;
 import org.springframework.web.util.WebUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
@@ -84,6 +85,21 @@ public class SimpleUrlHandlerMappingTests {
 		assertThat(hec.getHandler()).isSameAs(controller);
 	}
 
+	@Test
+	public void defaultHandlerWithEncodedPathAndPathPatterns() throws Exception {
+		Object controller = new Object();
+		SimpleUrlHandlerMapping handlerMapping = new SimpleUrlHandlerMapping();
+		handlerMapping.setDefaultHandler(controller);
+		handlerMapping.setPatternParser(new PathPatternParser());
+		handlerMapping.setApplicationContext(new StaticApplicationContext());
+
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/my%20space;a=b/file");
+		HandlerExecutionChain hec = handlerMapping.getHandler(request);
+		assertThat(hec).isNotNull();
+		assertThat(hec.getHandler()).isSameAs(controller);
+		assertThat(request.getAttribute(HandlerMapping.PATH_WITHIN_HANDLER_MAPPING_ATTRIBUTE)).isEqualTo("/my space/file");
+	}
+
 	@SuppressWarnings("resource")
 	private void checkMappings(String beanName) throws Exception {
 		MockServletContext sc = new MockServletContext("");
@@ -24,6 +24,8 @@ import javax.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.Test;
 
 import org.springframework.web.testfixture.servlet.MockHttpServletRequest;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPatternParser;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -223,4 +225,52 @@ public class PatternsRequestConditionTests {
 		assertThat(match1.compareTo(match2, request)).isEqualTo(1);
 	}
 
+	@Test
+	public void combineParsedPatterns() {
+		PathPatternParser parser = new PathPatternParser();
+		PatternsRequestCondition c1 = new PatternsRequestCondition(parser, "/t1", "/t2");
+		PatternsRequestCondition c2 = new PatternsRequestCondition(parser, "/m1", "{id}");
+
+		PatternsRequestCondition combined = c1.combine(c2);
+		assertThat(combined).isEqualTo(new PatternsRequestCondition("/t1/m1", "/t1/{id}", "/t2/m1", "/t2/{id}"));
+		assertThat(combined.getPathPatterns()).hasSize(4);
+		assertThat(c1.combine(new PatternsRequestCondition(parser)).getPatterns()).containsExactly("/t1", "/t2");
+	}
+
+	@Test
+	public void matchParsedPatterns() {
+		PatternsRequestCondition condition = new PatternsRequestCondition(new PathPatternParser(), "/cars/{id}", "/cars/*");
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/cars;color=red/a%20b");
+		request.setContextPath("/app");
+		PatternsRequestCondition match = condition.getMatchingCondition(request);
+
+		assertThat(match).isNotNull();
+		assertThat(match.getPatterns()).containsExactly("/cars/{id}", "/cars/*");
+		assertThat(match.getPathPatterns()).hasSize(2);
+		assertThat(ServletRequestPathUtils.hasParsedRequestPath(request)).isTrue();
+
+		assertThat(condition.getMatchingCondition(new MockHttpServletRequest("GET", "/cars/1/"))).isNotNull();
+		assertThat(condition.getMatchingCondition(new MockHttpServletRequest("GET", "/trucks/1"))).isNull();
+		assertThat(condition.getMatchingPatterns("/cars/1")).containsExactly("/cars/{id}", "/cars/*");
+	}
+
+	@Test
+	public void matchParsedPatternsWithoutSuffixPatternMatch() {
+		PatternsRequestCondition condition = new PatternsRequestCondition(new PathPatternParser(), "/cars");
+
+		assertThat(condition.getMatchingCondition(new MockHttpServletRequest("GET", "/cars"))).isNotNull();
+		assertThat(condition.getMatchingCondition(new MockHttpServletRequest("GET", "/cars.json"))).isNull();
+	}
+
+	@Test
+	public void compareParsedPatternSpecificity() {
+		PathPatternParser parser = new PathPatternParser();
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/foo");
+		PatternsRequestCondition c1 = new PatternsRequestCondition(parser, "/fo*").getMatchingCondition(request);
+		PatternsRequestCondition c2 = new PatternsRequestCondition(parser, "/foo").getMatchingCondition(request);
+
+		assertThat(c1.compareTo(c2, request)).isEqualTo(1);
+		assertThat(c2.compareTo(c1, request)).isEqualTo(-1);
+	}
+
 }
@@ -1,5 +1,5 @@
 /*
- * Copyright 2002-2019 the original author or authors.
+ * Copyright 2002-2020 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -45,7 +45,10 @@ import org.springframework.lang.Nullable;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 import org.springframework.web.bind.annotation.SessionAttributes;
+import org.springframework.web.context.request.async.WebAsyncUtils;
 import org.springframework.web.context.support.StaticWebApplicationContext;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.method.annotation.ModelMethodProcessor;
@@ -272,6 +275,64 @@ public class RequestMappingHandlerAdapterTests {
 		assertThat(this.response.getContentAsString()).isEqualTo("{\"status\":400,\"message\":\"body\"}");
 	}
 
+	@Test
+	public void leanInvocationForResponseBody() throws Exception {
+		HandlerMethod handlerMethod = handlerMethod(new ResponseBodyController(), "handle", String.class);
+		this.handlerAdapter.setLeanInvocation(true);
+		this.handlerAdapter.afterPropertiesSet();
+		this.request.setParameter("name", "lean");
+
+		for (int i = 0; i < 2; i++) {
+			this.response = new MockHttpServletResponse();
+			ModelAndView mav = this.handlerAdapter.handle(this.request, this.response, handlerMethod);
+
+			assertThat(mav).isNull();
+			assertThat(this.response.getContentAsString()).isEqualTo("Hello lean");
+			assertThat(this.request.getAttribute(WebAsyncUtils.WEB_ASYNC_MANAGER_ATTRIBUTE)).isNull();
+		}
+	}
+
+	@Test
+	public void leanInvocationDisabledByDefault() throws Exception {
+		HandlerMethod handlerMethod = handlerMethod(new ResponseBodyController(), "handle", String.class);
+		this.handlerAdapter.afterPropertiesSet();
+		this.request.setParameter("name", "full");
+
+		ModelAndView mav = this.handlerAdapter.handle(this.request, this.response, handlerMethod);
+
+		assertThat(mav).isNull();
+		assertThat(this.response.getContentAsString()).isEqualTo("Hello full");
+		assertThat(this.request.getAttribute(WebAsyncUtils.WEB_ASYNC_MANAGER_ATTRIBUTE)).isNotNull();
+	}
+
+	@Test
+	public void noLeanInvocationWithModelArgument() throws Exception {
+		HandlerMethod handlerMethod = handlerMethod(new ResponseBodyController(), "handleWithModel", Model.class);
+		this.handlerAdapter.setLeanInvocation(true);
+		this.handlerAdapter.afterPropertiesSet();
+
+		this.handlerAdapter.handle(this.request, this.response, handlerMethod);
+
+		assertThat(this.response.getContentAsString()).isEqualTo("model");
+		assertThat(this.request.getAttribute(WebAsyncUtils.WEB_ASYNC_MANAGER_ATTRIBUTE)).isNotNull();
+	}
+
+	@Test
+	public void noLeanInvocationWithModelAttributeAdvice() throws Exception {
+		this.webAppContext.registerSingleton("maa", ModelAttributeAdvice.class);
+		this.webAppContext.refresh();
+
+		HandlerMethod handlerMethod = handlerMethod(new ResponseBodyController(), "handle", String.class);
+		this.handlerAdapter.setLeanInvocation(true);
+		this.handlerAdapter.afterPropertiesSet();
+		this.request.setParameter("name", "advice");
+
+		this.handlerAdapter.handle(this.request, this.response, handlerMethod);
+
+		assertThat(this.response.getContentAsString()).isEqualTo("Hello advice");
+		assertThat(this.request.getAttribute(WebAsyncUtils.WEB_ASYNC_MANAGER_ATTRIBUTE)).isNotNull();
+	}
+
 	private HandlerMethod handlerMethod(Object handler, String methodName, Class<?>... paramTypes) throws Exception {
 		Method method = handler.getClass().getDeclaredMethod(methodName, paramTypes);
 		return new InvocableHandlerMethod(handler, method);
@@ -308,6 +369,21 @@ public class RequestMappingHandlerAdapterTests {
 	}
 
 
+	@SuppressWarnings("unused")
+	private static class ResponseBodyController {
+
+		@ResponseBody
+		public String handle(@RequestParam("name") String name) {
+			return "Hello " + name;
+		}
+
+		@ResponseBody
+		public String handleWithModel(Model model) {
+			return "model";
+		}
+	}
+
+
 	@SessionAttributes("attr1")
 	private static class SessionAttributeController {
 